@@ -3,6 +3,9 @@ package com.gerard.githubreposcorer.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 @Data
 @Component
@@ -10,4 +13,80 @@ import org.springframework.stereotype.Component;
 public class GitHubApiProperties {
     private String token = "";
     private String baseUrl = "https://api.github.com";
-}
\ No newline at end of file
+    /**
+     * Time to wait for a response, and for data on an open connection, plain numbers are milliseconds
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+    private Client client = Client.REST;
+    private Transport transport = new Transport();
+    private GraphQl graphql = new GraphQl();
+    private Revalidation revalidation = new Revalidation();
+
+    public enum Client {
+        /**
+         * RestClient on the pooled Apache HttpClient, HTTP/1.1
+         */
+        REST,
+        /**
+         * JDK HttpClient multiplexing concurrent searches over HTTP/2, only the connect timeout of the transport applies
+         */
+        HTTP2,
+        /**
+         * GraphQL search on the RestClient transport, fetching only the repository fields the scorer reads
+         */
+        GRAPHQL
+    }
+
+    @Data
+    public static class Transport {
+        private int maxConnections = 50;
+        private int maxConnectionsPerRoute = 20;
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        /**
+         * Time a request waits for a pooled connection when all of them are leased
+         */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+        /**
+         * Time an idle connection is kept open, shortened to the keep-alive announced by the server if lower
+         */
+        private Duration keepAlive = Duration.ofSeconds(30);
+        /**
+         * Idle time after which a pooled connection is checked for staleness before being reused
+         */
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+        /**
+         * Idle time after which a background task closes a pooled connection
+         */
+        private Duration evictIdleAfter = Duration.ofMinutes(1);
+        private Duration timeToLive = Duration.ofMinutes(10);
+        /**
+         * Connections opened to the base URL at startup, in the background, so the first requests skip the TLS handshake
+         */
+        private int prewarmConnections = 0;
+    }
+
+    @Data
+    public static class GraphQl {
+        private String url = "https://api.github.com/graphql";
+        /**
+         * Page end cursors kept to reach the next pages of a search without walking from the first one
+         */
+        private long cursorCacheSize = 10_000;
+        /**
+         * Time a page end cursor is reused, bounding how far pages drift as the search results change
+         */
+        private Duration cursorTtl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Revalidation {
+        /**
+         * Send REST searches as conditional requests against the stored response of the same URL
+         */
+        private boolean enabled = true;
+        /**
+         * Estimated memory held by the stored responses, least valuable entries are evicted beyond it
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(8);
+    }
+}
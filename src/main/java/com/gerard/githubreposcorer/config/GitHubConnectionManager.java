@@ -0,0 +1,90 @@
+package com.gerard.githubreposcorer.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Connection pool of the GitHub API client, recording how long requests wait to lease a connection
+ * and exposing the pool usage.
+ */
+public class GitHubConnectionManager extends PoolingHttpClientConnectionManager implements MeterBinder {
+
+    private volatile Timer leaseWait;
+
+    public GitHubConnectionManager(GitHubApiProperties properties) {
+        GitHubApiProperties.Transport transport = properties.getTransport();
+        setMaxTotal(transport.getMaxConnections());
+        setDefaultMaxPerRoute(transport.getMaxConnectionsPerRoute());
+        setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(transport.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(properties.getTimeout()))
+                .setValidateAfterInactivity(TimeValue.of(transport.getValidateAfterInactivity()))
+                .setTimeToLive(TimeValue.of(transport.getTimeToLive()))
+                .build());
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest request = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout) throws InterruptedException, ExecutionException, TimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return request.get(timeout);
+                } finally {
+                    Timer timer = leaseWait;
+                    if (timer != null) {
+                        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    /**
+     * @return The fraction of the maximum number of connections currently leased
+     */
+    public double getUtilization() {
+        return (double) getTotalStats().getLeased() / getMaxTotal();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("github.http.pool.utilization", this, GitHubConnectionManager::getUtilization)
+                .description("Fraction of the maximum number of GitHub API connections currently leased")
+                .register(registry);
+        Gauge.builder("github.http.pool.connections", this, manager -> manager.getTotalStats().getLeased())
+                .tag("state", "leased")
+                .register(registry);
+        Gauge.builder("github.http.pool.connections", this, manager -> manager.getTotalStats().getAvailable())
+                .tag("state", "available")
+                .register(registry);
+        Gauge.builder("github.http.pool.pending", this, manager -> manager.getTotalStats().getPending())
+                .description("Requests waiting for a GitHub API connection")
+                .register(registry);
+        Gauge.builder("github.http.pool.max", this, PoolingHttpClientConnectionManager::getMaxTotal)
+                .register(registry);
+        leaseWait = Timer.builder("github.http.pool.lease.wait")
+                .description("Time a request waited to lease a GitHub API connection")
+                .register(registry);
+    }
+}
@@ -0,0 +1,73 @@
+package com.gerard.githubreposcorer.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.methods.HttpHead;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens {@code github.api.transport.prewarm-connections} pooled connections to the GitHub API at startup, so
+ * the first requests don't pay for the TCP and TLS handshakes. Runs in the background: startup neither waits
+ * for the API nor fails when it cannot be reached. Off by default, since every start, test contexts included,
+ * would send requests to the API. Absent with the HTTP/2 client, which does not use the pool.
+ */
+@Component
+@Conditional(OnPooledClientCondition.class)
+@Slf4j
+public class GitHubConnectionPrewarmer implements SmartLifecycle {
+
+    private final CloseableHttpClient gitHubHttpClient;
+    private final GitHubApiProperties gitHubApiProperties;
+
+    private volatile boolean running;
+
+    public GitHubConnectionPrewarmer(CloseableHttpClient gitHubHttpClient, GitHubApiProperties gitHubApiProperties) {
+        this.gitHubHttpClient = gitHubHttpClient;
+        this.gitHubApiProperties = gitHubApiProperties;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        int connections = gitHubApiProperties.getTransport().getPrewarmConnections();
+        if (connections <= 0) {
+            return;
+        }
+        // All requests are started before any completes, so each one leases its own connection
+        CountDownLatch started = new CountDownLatch(connections);
+        AtomicInteger opened = new AtomicInteger();
+        long start = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            Thread.ofVirtual().name("github-prewarm-" + i).start(() -> {
+                started.countDown();
+                try {
+                    started.await();
+                    gitHubHttpClient.execute(new HttpHead(gitHubApiProperties.getBaseUrl()), response -> null);
+                    if (opened.incrementAndGet() == connections) {
+                        log.info("Pre-warmed {} connections to {} in {} ms", connections,
+                                gitHubApiProperties.getBaseUrl(), (System.nanoTime() - start) / 1_000_000);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    log.warn("Could not pre-warm a connection to {}: {}", gitHubApiProperties.getBaseUrl(), e.getMessage());
+                }
+            });
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,19 @@
+package com.gerard.githubreposcorer.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.NoneNestedConditions;
+
+/**
+ * Matches when {@code github.api.client} selects a client running on the pooled Apache HttpClient, that is any
+ * client but {@code http2}, which opens its own connections with the JDK {@code HttpClient}
+ */
+class OnPooledClientCondition extends NoneNestedConditions {
+
+    OnPooledClientCondition() {
+        super(ConfigurationPhase.REGISTER_BEAN);
+    }
+
+    @ConditionalOnProperty(prefix = "github.api", name = "client", havingValue = "http2")
+    static class OnHttp2Client {
+    }
+}
@@ -1,7 +1,12 @@
 package com.gerard.githubreposcorer.config;
 
 import com.gerard.githubreposcorer.data.GitHubApiClient;
+import com.gerard.githubreposcorer.data.GraphQlGitHubApiClient;
+import com.gerard.githubreposcorer.data.Http2GitHubApiClient;
 import com.gerard.githubreposcorer.data.RepositoriesSource;
+import com.gerard.githubreposcorer.data.SearchRevalidationCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestClient;
@@ -10,12 +15,27 @@ import org.springframework.web.client.RestClient;
 public class RepositorySourcesConfig {
 
     /**
-     * Registers the GitHub API client as the primary repository source implementation.
+     * Only the REST client sends conditional searches, the other clients get no cache nor its metrics
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "github.api", name = "client", havingValue = "rest", matchIfMissing = true)
+    public SearchRevalidationCache searchRevalidationCache(GitHubApiProperties gitHubApiProperties) {
+        return new SearchRevalidationCache(gitHubApiProperties);
+    }
+
+    /**
+     * Registers the GitHub API client selected by {@code github.api.client} as the repository source implementation.
      *
      * @return the repositories sources implementation
      */
     @Bean
-    public RepositoriesSource githubRepositoriesSource(RestClient restClient, GitHubApiProperties gitHubApiProperties) {
-        return new GitHubApiClient(restClient, gitHubApiProperties);
+    public RepositoriesSource githubRepositoriesSource(ObjectProvider<RestClient> restClient,
+                                                       GitHubApiProperties gitHubApiProperties,
+                                                       ObjectProvider<SearchRevalidationCache> searchRevalidationCache) {
+        return switch (gitHubApiProperties.getClient()) {
+            case REST -> new GitHubApiClient(restClient.getObject(), gitHubApiProperties, searchRevalidationCache.getObject());
+            case HTTP2 -> new Http2GitHubApiClient(Http2GitHubApiClient.createHttpClient(gitHubApiProperties), gitHubApiProperties);
+            case GRAPHQL -> new GraphQlGitHubApiClient(restClient.getObject(), gitHubApiProperties);
+        };
     }
 }
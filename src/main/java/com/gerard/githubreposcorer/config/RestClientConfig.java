@@ -1,20 +1,56 @@
 package com.gerard.githubreposcorer.config;
 
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+/**
+ * Pooled transport of the REST and GraphQL clients, neither the pool nor its metrics exist with the HTTP/2 client
+ */
 @Configuration
+@Conditional(OnPooledClientCondition.class)
 public class RestClientConfig {
 
+    @Bean(destroyMethod = "close")
+    public GitHubConnectionManager gitHubConnectionManager(GitHubApiProperties gitHubApiProperties) {
+        return new GitHubConnectionManager(gitHubApiProperties);
+    }
+
+    /**
+     * HTTP client of the GitHub API calls, sharing one connection pool. Connections are kept alive for the
+     * configured time, or less when the server says so, and closed by a background task once idle for too long.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient gitHubHttpClient(GitHubConnectionManager gitHubConnectionManager,
+                                                GitHubApiProperties gitHubApiProperties) {
+        GitHubApiProperties.Transport transport = gitHubApiProperties.getTransport();
+        TimeValue keepAlive = TimeValue.of(transport.getKeepAlive());
+        return HttpClients.custom()
+                .setConnectionManager(gitHubConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(transport.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(gitHubApiProperties.getTimeout()))
+                        .setConnectionKeepAlive(keepAlive)
+                        .build())
+                .setKeepAliveStrategy((response, context) ->
+                        DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context).min(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(transport.getEvictIdleAfter()))
+                .build();
+    }
+
     @Bean
-    public RestClient restClient() {
-        CloseableHttpClient httpClient = HttpClients.createDefault();
+    public RestClient restClient(CloseableHttpClient gitHubHttpClient) {
         return RestClient.builder()
-            .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+            .requestFactory(new HttpComponentsClientHttpRequestFactory(gitHubHttpClient))
             .build();
     }
-}
\ No newline at end of file
+}
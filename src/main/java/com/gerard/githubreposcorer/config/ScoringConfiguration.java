@@ -4,18 +4,52 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableConfigurationProperties(ScoringProperties.class)
 public class ScoringConfiguration {
     public static final String SCORING_EXECUTOR_BEAN_NAME = "scoringExecutor";
+    public static final String SHADOW_SCORING_EXECUTOR_BEAN_NAME = "shadowScoringExecutor";
+    public static final String RANKING_FETCH_EXECUTOR_BEAN_NAME = "rankingFetchExecutor";
 
     @Bean(SCORING_EXECUTOR_BEAN_NAME)
-    ExecutorService scoringExecutor() {
-        return Executors.newFixedThreadPool(
-                Runtime.getRuntime().availableProcessors()
+    ExecutorService scoringExecutor(ScoringProperties scoringProperties) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        // Bounded queue: when saturated a rule is rejected rather than queued without limit, and the composite
+        // runs it inline or, when it has a time budget it could not enforce inline, records its fallback score
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(scoringProperties.getExecution().getQueueCapacity()),
+                new ThreadPoolExecutor.AbortPolicy()
         );
     }
+
+    @Bean(SHADOW_SCORING_EXECUTOR_BEAN_NAME)
+    ExecutorService shadowScoringExecutor(ScoringProperties scoringProperties) {
+        int threads = Math.max(1, scoringProperties.getShadow().getThreads());
+        // No queue: shadow work only starts on an idle thread and is rejected otherwise
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Bean(RANKING_FETCH_EXECUTOR_BEAN_NAME)
+    ExecutorService rankingFetchExecutor() {
+        // Upstream page fetches only wait on I/O, a virtual thread each is enough
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ranking-fetch-", 0).factory());
+    }
 }
@@ -1,7 +1,14 @@
 package com.gerard.githubreposcorer.config;
 
+import com.gerard.githubreposcorer.scoring.rule.CompositeScoringRule;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Data
 @ConfigurationProperties(prefix = "scoring")
@@ -11,27 +18,228 @@ public class ScoringProperties {
     private Stars stars = new Stars();
     private Forks forks = new Forks();
     private Freshness freshness = new Freshness();
+    private LookupTables lookupTables = new LookupTables();
+    private Execution execution = new Execution();
+    private Reload reload = new Reload();
+    private Shadow shadow = new Shadow();
+    private Cache cache = new Cache();
+    private Ranking ranking = new Ranking();
+    private Percentile percentile = new Percentile();
+    private Explain explain = new Explain();
+    private Map<String, WeightProfile> profiles = new LinkedHashMap<>();
+
+    /**
+     * Copy of these properties with independent stars, forks and freshness sections, the parts
+     * of the configuration that can be reloaded at runtime
+     */
+    public ScoringProperties copyWithWeights() {
+        ScoringProperties copy = new ScoringProperties();
+        copy.setStrategy(strategy);
+        copy.setStars(stars.copy());
+        copy.setForks(forks.copy());
+        copy.setFreshness(freshness.copy());
+        copy.setLookupTables(lookupTables);
+        copy.setExecution(execution);
+        copy.setReload(reload);
+        copy.setShadow(shadow);
+        copy.setCache(cache);
+        copy.setRanking(ranking);
+        copy.setPercentile(percentile);
+        copy.setExplain(explain);
+        copy.setProfiles(profiles);
+        return copy;
+    }
+
+    /**
+     * Copy of these properties with the stars, forks and freshness sections of the given profile
+     */
+    public ScoringProperties copyWithProfile(WeightProfile profile) {
+        ScoringProperties copy = copyWithWeights();
+        copy.setStars(profile.getStars().copy());
+        copy.setForks(profile.getForks().copy());
+        copy.setFreshness(profile.getFreshness().copy());
+        return copy;
+    }
+
+    /**
+     * Fingerprint of the stars, forks and freshness sections, equal for equal weights and caps
+     */
+    public long weightsFingerprint() {
+        double[] values = {
+                stars.getWeight(), stars.getCap(),
+                forks.getWeight(), forks.getCap(),
+                freshness.getWeight(), freshness.getHalfLifeDays()
+        };
+        long hash = 1L;
+        for (double value : values) {
+            hash = 31 * hash + Double.doubleToLongBits(value);
+        }
+        return hash;
+    }
 
     @Data
     public static class Strategy {
         private String version = "v1";
+        private Backend backend = Backend.SCALAR;
+        private boolean compileRules = true;
+        private Map<String, String> formulas = new LinkedHashMap<>();
+        /**
+         * Synthetic batches scored by every registered strategy before the server accepts requests
+         */
+        private int warmupIterations = 200;
+
+        public enum Backend {
+            SCALAR,
+            VECTOR
+        }
     }
 
     @Data
     public static class Stars {
         private int cap = 10000;
         private double weight = 0.45;
+
+        public Stars copy() {
+            Stars copy = new Stars();
+            copy.setCap(cap);
+            copy.setWeight(weight);
+            return copy;
+        }
     }
 
     @Data
     public static class Forks {
         private int cap = 10000;
         private double weight = 0.2;
+
+        public Forks copy() {
+            Forks copy = new Forks();
+            copy.setCap(cap);
+            copy.setWeight(weight);
+            return copy;
+        }
     }
 
     @Data
     public static class Freshness {
         private int halfLifeDays = 90;
         private double weight = 0.35;
+
+        public Freshness copy() {
+            Freshness copy = new Freshness();
+            copy.setHalfLifeDays(halfLifeDays);
+            copy.setWeight(weight);
+            return copy;
+        }
+    }
+
+    /**
+     * Named set of weights and caps a client can select per request. Unset values take the defaults.
+     */
+    @Data
+    public static class WeightProfile {
+        private Stars stars = new Stars();
+        private Forks forks = new Forks();
+        private Freshness freshness = new Freshness();
+    }
+
+    @Data
+    public static class LookupTables {
+        private boolean enabled = false;
+        private int freshnessHorizonDays = 3650;
+        private int maxEntries = 1_000_000;
+    }
+
+    @Data
+    public static class Execution {
+        private int queueCapacity = 1024;
+        private Duration inlineThreshold = CompositeScoringRule.DEFAULT_INLINE_THRESHOLD;
+        /**
+         * Time a rule running off the calling thread may take before it is cancelled and given its fallback score
+         */
+        private Duration ruleTimeout = Duration.ofSeconds(2);
+        private double ruleFallbackScore = 0.0;
+        /**
+         * Budgets overriding the defaults above, by rule name
+         */
+        private Map<String, RuleBudgetProperties> ruleBudgets = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class RuleBudgetProperties {
+        private Duration timeout;
+        private Double fallbackScore;
+    }
+
+    @Data
+    public static class Reload {
+        /**
+         * YAML file with a {@code scoring} section whose weights and caps are applied on every change
+         */
+        private Path file;
+    }
+
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        /**
+         * Estimated memory held by the cached scores, least valuable entries are evicted beyond it
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(16);
+    }
+
+    @Data
+    public static class Ranking {
+        /**
+         * Upstream pages fetched in parallel and ranked together, GitHub search serves at most 1000 results
+         */
+        private int upstreamPages = 10;
+        private int upstreamPageSize = 100;
+        /**
+         * Upstream repositories scanned for each repository up to the end of the requested page, every upstream
+         * page fetched costing one request of the GitHub search rate limit
+         */
+        private int candidatesPerResult = 5;
+    }
+
+    @Data
+    public static class Percentile {
+        /**
+         * Register the {@code percentile} strategy and record the stars and forks distributions per language
+         */
+        private boolean enabled = false;
+        private double relativeAccuracy = 0.02;
+        /**
+         * Samples a language needs before its own distribution is used instead of the all-languages one
+         */
+        private long minSamples = 100;
+        private int maxLanguages = 256;
+        /**
+         * Repositories remembered as already recorded, so that popular ones are not counted on every request
+         */
+        private int maxRecordedRepositories = 100_000;
+        /**
+         * File the sketches are saved to periodically and on shutdown, and loaded from at startup
+         */
+        private Path snapshotFile;
+        private Duration snapshotInterval = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Explain {
+        /**
+         * Fraction of scored batches logging the explanation of one of their repositories at DEBUG level
+         */
+        private double logSampleRate = 0.01;
+    }
+
+    @Data
+    public static class Shadow {
+        /**
+         * Candidate strategy version scored in the shadow of the primary one, disabled when not set
+         */
+        private String version;
+        private double sampleRate = 0.01;
+        private int threads = 1;
     }
 }
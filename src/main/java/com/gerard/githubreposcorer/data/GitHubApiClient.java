@@ -1,18 +1,17 @@
 package com.gerard.githubreposcorer.data;
 
 import com.gerard.githubreposcorer.config.GitHubApiProperties;
-import com.gerard.githubreposcorer.domain.model.GitHubRepository;
 import com.gerard.githubreposcorer.domain.model.RepositorySearchRequest;
 import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.Map;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -20,11 +19,12 @@ public class GitHubApiClient implements RepositoriesSource {
 
     private final RestClient restClient;
     private final GitHubApiProperties gitHubApiProperties;
+    private final SearchRevalidationCache revalidationCache;
 
     @Override
     public RepositorySearchResponse searchRepositories(RepositorySearchRequest request) {
         String query = buildSearchQuery(request);
-        String url = buildSearchUrl(query, request.getPage(), request.getSize());
+        String url = buildSearchUrl(gitHubApiProperties.getBaseUrl(), query, request.getPage(), request.getSize());
 
         try {
             RestClient.RequestHeadersSpec<?> requestSpec = restClient.get()
@@ -35,25 +35,36 @@ public class GitHubApiClient implements RepositoriesSource {
                 requestSpec = requestSpec.header("Authorization", "token " + gitHubApiProperties.getToken());
             }
 
-            Map<String, Object> responseBody = requestSpec.retrieve().body(Map.class);
-
-            if (responseBody != null && responseBody.containsKey("items")) {
-                List<Map<String, Object>> items = (List<Map<String, Object>>) responseBody.get("items");
-                int totalCount = (Integer) responseBody.getOrDefault("total_count", 0);
-                List<GitHubRepository> repositories = items.stream()
-                        .map(this::mapToGitHubRepository)
-                        .toList();
-
-                return new RepositorySearchResponse(totalCount, repositories);
+            SearchRevalidationCache.Entry stored = revalidationCache.get(url);
+            if (stored != null && stored.etag() != null) {
+                requestSpec = requestSpec.header(HttpHeaders.IF_NONE_MATCH, stored.etag());
+            } else if (stored != null) {
+                requestSpec = requestSpec.header(HttpHeaders.IF_MODIFIED_SINCE, stored.lastModified());
             }
-            return new RepositorySearchResponse(0, List.of());
+
+            // The body is decoded as it streams in, without building the response tree
+            return requestSpec.exchange((httpRequest, response) -> {
+                if (stored != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                    revalidationCache.recordRevalidation(true);
+                    return stored.response();
+                }
+                if (response.getStatusCode().isError()) {
+                    throw new IllegalStateException("GitHub API responded with status " + response.getStatusCode().value());
+                }
+                if (stored != null) {
+                    revalidationCache.recordRevalidation(false);
+                }
+                HttpHeaders headers = response.getHeaders();
+                return revalidationCache.put(url, headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED),
+                        SearchResponseDecoder.decode(response.getBody()));
+            });
         } catch (Exception e) {
             log.error("Error calling GitHub API: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to fetch repositories from GitHub API", e);
         }
     }
 
-    private String buildSearchQuery(RepositorySearchRequest request) {
+    static String buildSearchQuery(RepositorySearchRequest request) {
         StringBuilder query = new StringBuilder();
 
         if (request.getOrg() != null && !request.getOrg().isEmpty()) {
@@ -79,8 +90,8 @@ public class GitHubApiClient implements RepositoriesSource {
         return query.toString().trim();
     }
 
-    private String buildSearchUrl(String query, int page, int size) {
-        return UriComponentsBuilder.fromUriString(gitHubApiProperties.getBaseUrl() + "/search/repositories")
+    static String buildSearchUrl(String baseUrl, String query, int page, int size) {
+        return UriComponentsBuilder.fromUriString(baseUrl + "/search/repositories")
                 .queryParam("q", query)
                 .queryParam("page", page + 1) // GitHub API uses 1-based pagination
                 .queryParam("per_page", size)
@@ -88,23 +99,7 @@ public class GitHubApiClient implements RepositoriesSource {
                 .toUriString();
     }
 
-    private GitHubRepository mapToGitHubRepository(Map<String, Object> item) {
-        Map<String, Object> owner = (Map<String, Object>) item.get("owner");
-
-        return GitHubRepository.builder()
-                .name((String) item.get("name"))
-                .fullName((String) item.get("full_name"))
-                .htmlUrl((String) item.get("html_url"))
-                .language((String) item.get("language"))
-                .stars((Integer) item.get("stargazers_count"))
-                .forks((Integer) item.get("forks_count"))
-                .createdAt(parseDateTime((String) item.get("created_at")))
-                .updatedAt(parseDateTime((String) item.get("updated_at")))
-                .owner((String) owner.get("login"))
-                .build();
-    }
-
-    private LocalDateTime parseDateTime(String dateTimeStr) {
+    static LocalDateTime parseDateTime(String dateTimeStr) {
         if (dateTimeStr == null) {
             return null;
         }
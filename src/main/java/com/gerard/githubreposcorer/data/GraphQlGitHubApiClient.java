@@ -0,0 +1,185 @@
+package com.gerard.githubreposcorer.data;
+
+import com.gerard.githubreposcorer.config.GitHubApiProperties;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchRequest;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * GitHub search client on the GraphQL API, selecting only the repository fields the scorer reads so that
+ * a page weighs a small fraction of the REST search response.
+ * <p>
+ * GraphQL pages are addressed by cursor rather than by number: the end cursor of every page fetched is
+ * cached, and a page whose predecessor is unknown is reached by walking the cursors from the nearest
+ * known page with queries selecting no repository. Each query is costed with {@link GraphQlQueryCost}
+ * beforehand and refused while the rate limit reported by the previous response cannot cover it.
+ */
+@Slf4j
+public class GraphQlGitHubApiClient implements RepositoriesSource {
+
+    static final String SEARCH_QUERY = """
+            query($query: String!, $first: Int!, $after: String) {
+              search(query: $query, type: REPOSITORY, first: $first, after: $after) {
+                repositoryCount
+                pageInfo { endCursor hasNextPage }
+                nodes {
+                  ... on Repository {
+                    name nameWithOwner url stargazerCount forkCount createdAt updatedAt
+                    primaryLanguage { name }
+                    owner { login }
+                  }
+                }
+              }
+              rateLimit { cost remaining resetAt }
+            }""";
+
+    static final String CURSOR_QUERY = """
+            query($query: String!, $first: Int!, $after: String) {
+              search(query: $query, type: REPOSITORY, first: $first, after: $after) {
+                repositoryCount
+                pageInfo { endCursor hasNextPage }
+              }
+              rateLimit { cost remaining resetAt }
+            }""";
+
+    /**
+     * @param query the search query
+     * @param size the page size
+     * @param page the page number, 0-based
+     */
+    private record PageKey(String query, int size, int page) {
+    }
+
+    /**
+     * @param cursor the cursor to request the next page after
+     * @param hasNextPage whether more repositories follow the page
+     * @param repositoryCount the total number of matching repositories
+     */
+    private record PageEnd(String cursor, boolean hasNextPage, int repositoryCount) {
+    }
+
+    private final RestClient restClient;
+    private final GitHubApiProperties gitHubApiProperties;
+    private final AsyncCache<PageKey, PageEnd> pageEnds;
+    private volatile GraphQlSearchDecoder.RateLimit rateLimit;
+
+    public GraphQlGitHubApiClient(RestClient restClient, GitHubApiProperties gitHubApiProperties) {
+        this.restClient = restClient;
+        this.gitHubApiProperties = gitHubApiProperties;
+        GitHubApiProperties.GraphQl graphQl = gitHubApiProperties.getGraphql();
+        this.pageEnds = Caffeine.newBuilder()
+                .maximumSize(graphQl.getCursorCacheSize())
+                .expireAfterWrite(graphQl.getCursorTtl())
+                .buildAsync();
+    }
+
+    @Override
+    public RepositorySearchResponse searchRepositories(RepositorySearchRequest request) {
+        String query = GitHubApiClient.buildSearchQuery(request);
+        int size = request.getSize();
+        int page = request.getPage();
+
+        try {
+            String after = null;
+            if (page > 0) {
+                PageEnd previous = pageEnd(new PageKey(query, size, page - 1));
+                if (!previous.hasNextPage()) {
+                    return new RepositorySearchResponse(previous.repositoryCount(), List.of());
+                }
+                after = previous.cursor();
+            }
+            GraphQlSearchDecoder.Page result = execute(SEARCH_QUERY, query, size, after);
+            pageEnds.asMap().putIfAbsent(new PageKey(query, size, page), CompletableFuture.completedFuture(toPageEnd(result)));
+            return result.response();
+        } catch (Exception e) {
+            log.error("Error calling GitHub GraphQL API: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch repositories from GitHub API", e);
+        }
+    }
+
+    /**
+     * Resolve the end of a page, walking the cursors from the nearest cached page when it is unknown.
+     * Concurrent searches needing the same page end share a single query, failed queries are not cached.
+     */
+    private PageEnd pageEnd(PageKey key) {
+        CompletableFuture<PageEnd> cached = pageEnds.getIfPresent(key);
+        if (cached != null) {
+            return cached.join();
+        }
+        String after = null;
+        if (key.page() > 0) {
+            PageEnd previous = pageEnd(new PageKey(key.query(), key.size(), key.page() - 1));
+            if (!previous.hasNextPage()) {
+                return previous;
+            }
+            after = previous.cursor();
+        }
+
+        CompletableFuture<PageEnd> resolving = new CompletableFuture<>();
+        CompletableFuture<PageEnd> existing = pageEnds.asMap().putIfAbsent(key, resolving);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            resolving.complete(toPageEnd(execute(CURSOR_QUERY, key.query(), key.size(), after)));
+        } catch (RuntimeException e) {
+            resolving.completeExceptionally(e);
+            throw e;
+        }
+        return resolving.join();
+    }
+
+    private GraphQlSearchDecoder.Page execute(String document, String query, int first, String after) {
+        GraphQlQueryCost cost = GraphQlQueryCost.estimate(first);
+        GraphQlSearchDecoder.RateLimit limit = rateLimit;
+        if (limit != null && limit.remaining() < cost.points()
+                && limit.resetAt() != null && Instant.now().isBefore(limit.resetAt())) {
+            throw new IllegalStateException("GitHub GraphQL rate limit exhausted until " + limit.resetAt());
+        }
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("query", query);
+        variables.put("first", first);
+        variables.put("after", after);
+
+        RestClient.RequestBodySpec requestSpec = restClient.post()
+                .uri(gitHubApiProperties.getGraphql().getUrl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON);
+        if (gitHubApiProperties.getToken() != null && !gitHubApiProperties.getToken().isEmpty()) {
+            requestSpec = requestSpec.header("Authorization", "bearer " + gitHubApiProperties.getToken());
+        }
+
+        GraphQlSearchDecoder.Page result = requestSpec
+                .body(Map.of("query", document, "variables", variables))
+                .exchange((httpRequest, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        throw new IllegalStateException("GitHub API responded with status " + response.getStatusCode().value());
+                    }
+                    return GraphQlSearchDecoder.decode(response.getBody());
+                });
+
+        if (result.rateLimit() != null) {
+            rateLimit = result.rateLimit();
+            if (result.rateLimit().cost() != cost.points()) {
+                log.debug("GitHub GraphQL search cost {} points, estimated {}", result.rateLimit().cost(), cost.points());
+            }
+        }
+        return result;
+    }
+
+    private static PageEnd toPageEnd(GraphQlSearchDecoder.Page page) {
+        return new PageEnd(page.endCursor(), page.hasNextPage() && page.endCursor() != null,
+                page.response().totalCount());
+    }
+}
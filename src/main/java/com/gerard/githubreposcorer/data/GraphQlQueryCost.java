@@ -0,0 +1,56 @@
+package com.gerard.githubreposcorer.data;
+
+/**
+ * Rate limit cost of a GitHub GraphQL query, estimated before sending it the way GitHub calculates it:
+ * every connection is assumed to return as many nodes as its {@code first} argument, each connection
+ * costs one request per parent node, and every 100 requests cost one point, with a minimum of one.
+ *
+ * @param requests the requests needed to resolve every connection of the query
+ * @param nodes the maximum number of nodes the query can return
+ */
+public record GraphQlQueryCost(long requests, long nodes) {
+
+    /**
+     * Largest {@code first} argument GitHub accepts on a connection
+     */
+    public static final int MAX_CONNECTION_SIZE = 100;
+
+    /**
+     * Largest number of nodes GitHub allows a single query to return
+     */
+    public static final long MAX_NODES = 500_000;
+
+    /**
+     * Estimate the cost of a query made of a chain of nested connections
+     *
+     * @param connectionSizes the {@code first} argument of each connection, outermost first
+     * @return the estimated cost
+     * @throws IllegalArgumentException if a connection size is out of range or the query exceeds the node limit
+     */
+    public static GraphQlQueryCost estimate(int... connectionSizes) {
+        long requests = 0;
+        long nodes = 0;
+        long parents = 1;
+        for (int size : connectionSizes) {
+            if (size < 1 || size > MAX_CONNECTION_SIZE) {
+                throw new IllegalArgumentException("GraphQL connection size must be between 1 and "
+                        + MAX_CONNECTION_SIZE + ", got " + size);
+            }
+            requests += parents;
+            parents *= size;
+            nodes += parents;
+        }
+        if (nodes > MAX_NODES) {
+            throw new IllegalArgumentException("GraphQL query can return " + nodes + " nodes, more than the limit of "
+                    + MAX_NODES);
+        }
+        return new GraphQlQueryCost(requests, nodes);
+    }
+
+    /**
+     * @return The rate limit points the query is expected to cost
+     */
+    public int points() {
+        return (int) Math.max(1, Math.round(requests / 100.0));
+    }
+}
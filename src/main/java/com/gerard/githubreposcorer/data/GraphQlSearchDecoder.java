@@ -0,0 +1,210 @@
+package com.gerard.githubreposcorer.data;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.gerard.githubreposcorer.domain.model.GitHubRepository;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes responses of the GitHub GraphQL {@code search} query with a streaming parser, reading the
+ * repositories, the page cursor and the rate limit status.
+ */
+final class GraphQlSearchDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * @param response the repositories of the page and the total number of matching repositories
+     * @param endCursor the cursor to request the next page after, null when the page is empty
+     * @param hasNextPage whether more repositories follow the page
+     * @param rateLimit the rate limit status after the query, null when not requested
+     */
+    record Page(RepositorySearchResponse response, String endCursor, boolean hasNextPage, RateLimit rateLimit) {
+    }
+
+    /**
+     * @param cost the points the query cost
+     * @param remaining the points left in the current window
+     * @param resetAt the end of the current window
+     */
+    record RateLimit(int cost, int remaining, Instant resetAt) {
+    }
+
+    private record PageInfo(String endCursor, boolean hasNextPage) {
+    }
+
+    private GraphQlSearchDecoder() {
+    }
+
+    /**
+     * @throws IllegalStateException if the response reports GraphQL errors
+     */
+    static Page decode(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return decode(parser);
+        }
+    }
+
+    private static Page decode(JsonParser parser) throws IOException {
+        Page page = new Page(new RepositorySearchResponse(0, List.of()), null, false, null);
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return page;
+        }
+        String error = null;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "data" -> page = readData(parser, page);
+                case "errors" -> error = readFirstErrorMessage(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        if (error != null) {
+            throw new IllegalStateException("GitHub GraphQL API responded with an error: " + error);
+        }
+        return page;
+    }
+
+    private static Page readData(JsonParser parser, Page page) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return page;
+        }
+        Page search = page;
+        RateLimit rateLimit = null;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "search" -> search = readSearch(parser, page);
+                case "rateLimit" -> rateLimit = readRateLimit(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Page(search.response(), search.endCursor(), search.hasNextPage(), rateLimit);
+    }
+
+    private static Page readSearch(JsonParser parser, Page page) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return page;
+        }
+        int repositoryCount = 0;
+        String endCursor = null;
+        boolean hasNextPage = false;
+        List<GitHubRepository> repositories = List.of();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "repositoryCount" -> repositoryCount = parser.getValueAsInt();
+                case "nodes" -> repositories = readRepositories(parser);
+                case "pageInfo" -> {
+                    PageInfo pageInfo = readPageInfo(parser);
+                    endCursor = pageInfo.endCursor();
+                    hasNextPage = pageInfo.hasNextPage();
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return new Page(new RepositorySearchResponse(repositoryCount, repositories), endCursor, hasNextPage, null);
+    }
+
+    private static PageInfo readPageInfo(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return new PageInfo(null, false);
+        }
+        String endCursor = null;
+        boolean hasNextPage = false;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "endCursor" -> endCursor = parser.getValueAsString();
+                case "hasNextPage" -> hasNextPage = parser.getValueAsBoolean();
+                default -> parser.skipChildren();
+            }
+        }
+        return new PageInfo(endCursor, hasNextPage);
+    }
+
+    private static List<GitHubRepository> readRepositories(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return List.of();
+        }
+        List<GitHubRepository> repositories = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                repositories.add(readRepository(parser));
+            }
+        }
+        return repositories;
+    }
+
+    private static GitHubRepository readRepository(JsonParser parser) throws IOException {
+        GitHubRepository.GitHubRepositoryBuilder repository = GitHubRepository.builder();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "name" -> repository.name(parser.getValueAsString());
+                case "nameWithOwner" -> repository.fullName(parser.getValueAsString());
+                case "url" -> repository.htmlUrl(parser.getValueAsString());
+                case "primaryLanguage" -> repository.language(SearchResponseDecoder.readStringField(parser, "name"));
+                case "stargazerCount" -> repository.stars(parser.getValueAsInt());
+                case "forkCount" -> repository.forks(parser.getValueAsInt());
+                case "createdAt" -> repository.createdAt(GitHubApiClient.parseDateTime(parser.getValueAsString()));
+                case "updatedAt" -> repository.updatedAt(GitHubApiClient.parseDateTime(parser.getValueAsString()));
+                case "owner" -> repository.owner(SearchResponseDecoder.readStringField(parser, "login"));
+                default -> parser.skipChildren();
+            }
+        }
+        return repository.build();
+    }
+
+    private static RateLimit readRateLimit(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        int cost = 0;
+        int remaining = 0;
+        Instant resetAt = null;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "cost" -> cost = parser.getValueAsInt();
+                case "remaining" -> remaining = parser.getValueAsInt();
+                case "resetAt" -> resetAt = parser.getValueAsString() != null ? Instant.parse(parser.getValueAsString()) : null;
+                default -> parser.skipChildren();
+            }
+        }
+        return new RateLimit(cost, remaining, resetAt);
+    }
+
+    private static String readFirstErrorMessage(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        String message = null;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            String errorMessage = SearchResponseDecoder.readStringField(parser, "message");
+            if (message == null) {
+                message = errorMessage != null ? errorMessage : "unknown error";
+            }
+        }
+        return message;
+    }
+}
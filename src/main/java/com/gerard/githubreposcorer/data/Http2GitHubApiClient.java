@@ -0,0 +1,95 @@
+package com.gerard.githubreposcorer.data;
+
+import com.gerard.githubreposcorer.config.GitHubApiProperties;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchRequest;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * GitHub search client on the JDK {@link HttpClient}, negotiating HTTP/2 so that concurrent searches are
+ * multiplexed as streams over a single connection instead of each holding a pooled HTTP/1.1 connection.
+ * Falls back to HTTP/1.1 when the server does not support HTTP/2.
+ */
+@Slf4j
+public class Http2GitHubApiClient implements RepositoriesSource, AutoCloseable {
+
+    private final HttpClient httpClient;
+    private final GitHubApiProperties gitHubApiProperties;
+
+    public Http2GitHubApiClient(HttpClient httpClient, GitHubApiProperties gitHubApiProperties) {
+        this.httpClient = httpClient;
+        this.gitHubApiProperties = gitHubApiProperties;
+    }
+
+    public static HttpClient createHttpClient(GitHubApiProperties gitHubApiProperties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(gitHubApiProperties.getTransport().getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public RepositorySearchResponse searchRepositories(RepositorySearchRequest request) {
+        CompletableFuture<RepositorySearchResponse> response = searchRepositoriesAsync(request);
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching repositories from GitHub API", e);
+        } catch (ExecutionException e) {
+            log.error("Error calling GitHub API: {}", e.getCause().getMessage(), e.getCause());
+            throw new RuntimeException("Failed to fetch repositories from GitHub API", e.getCause());
+        }
+    }
+
+    /**
+     * Send the search without blocking the calling thread
+     *
+     * @param request the search criteria
+     * @return the search response, completed by the client threads
+     */
+    public CompletableFuture<RepositorySearchResponse> searchRepositoriesAsync(RepositorySearchRequest request) {
+        String url = GitHubApiClient.buildSearchUrl(gitHubApiProperties.getBaseUrl(),
+                GitHubApiClient.buildSearchQuery(request), request.getPage(), request.getSize());
+        URI uri = UriComponentsBuilder.fromUriString(url).encode().build().toUri();
+
+        HttpRequest.Builder httpRequest = HttpRequest.newBuilder(uri)
+                .timeout(gitHubApiProperties.getTimeout())
+                .header("Accept", "application/vnd.github.v3+json")
+                .GET();
+        if (gitHubApiProperties.getToken() != null && !gitHubApiProperties.getToken().isEmpty()) {
+            httpRequest.header("Authorization", "token " + gitHubApiProperties.getToken());
+        }
+
+        return httpClient.sendAsync(httpRequest.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(Http2GitHubApiClient::toSearchResponse);
+    }
+
+    private static RepositorySearchResponse toSearchResponse(HttpResponse<byte[]> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("GitHub API responded with status " + response.statusCode());
+        }
+        try {
+            return SearchResponseDecoder.decode(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,119 @@
+package com.gerard.githubreposcorer.data;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.gerard.githubreposcorer.domain.model.GitHubRepository;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes GitHub search responses with a streaming parser, reading the few fields of {@link GitHubRepository}
+ * straight into it. Every other value, the nested {@code license} and {@code permissions} objects and all but the
+ * login of the {@code owner} included, is skipped token by token without being materialized.
+ */
+final class SearchResponseDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private SearchResponseDecoder() {
+    }
+
+    static RepositorySearchResponse decode(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return decode(parser);
+        }
+    }
+
+    static RepositorySearchResponse decode(byte[] body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return decode(parser);
+        }
+    }
+
+    /**
+     * @return The response, with no repository and a total count of 0 when the body has no {@code items}
+     */
+    private static RepositorySearchResponse decode(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return new RepositorySearchResponse(0, List.of());
+        }
+        int totalCount = 0;
+        List<GitHubRepository> items = null;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "total_count" -> totalCount = parser.getValueAsInt();
+                case "items" -> items = readRepositories(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return items != null ? new RepositorySearchResponse(totalCount, items) : new RepositorySearchResponse(0, List.of());
+    }
+
+    private static List<GitHubRepository> readRepositories(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return List.of();
+        }
+        List<GitHubRepository> repositories = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                repositories.add(readRepository(parser));
+            } else {
+                // Null or malformed items are skipped rather than ending the page
+                parser.skipChildren();
+            }
+        }
+        return repositories;
+    }
+
+    private static GitHubRepository readRepository(JsonParser parser) throws IOException {
+        GitHubRepository.GitHubRepositoryBuilder repository = GitHubRepository.builder();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "name" -> repository.name(parser.getValueAsString());
+                case "full_name" -> repository.fullName(parser.getValueAsString());
+                case "html_url" -> repository.htmlUrl(parser.getValueAsString());
+                case "language" -> repository.language(parser.getValueAsString());
+                case "stargazers_count" -> repository.stars(parser.getValueAsInt());
+                case "forks_count" -> repository.forks(parser.getValueAsInt());
+                case "created_at" -> repository.createdAt(GitHubApiClient.parseDateTime(parser.getValueAsString()));
+                case "updated_at" -> repository.updatedAt(GitHubApiClient.parseDateTime(parser.getValueAsString()));
+                case "owner" -> repository.owner(readStringField(parser, "login"));
+                default -> parser.skipChildren();
+            }
+        }
+        return repository.build();
+    }
+
+    /**
+     * Read a single string field of the object at the current token, skipping all the others
+     *
+     * @return The field value, null when missing or when the current value is not an object
+     */
+    static String readStringField(JsonParser parser, String name) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String value = null;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            if (field.equals(name)) {
+                value = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,116 @@
+package com.gerard.githubreposcorer.data;
+
+import com.gerard.githubreposcorer.config.GitHubApiProperties;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded store of the last decoded response of each search URL with its validators, so that searches can
+ * be sent as conditional requests and a {@code 304 Not Modified}, which GitHub does not count against the
+ * rate limit, answered from the stored response without downloading or decoding it again.
+ */
+public class SearchRevalidationCache implements MeterBinder {
+
+    static final String CACHE_NAME = "github.search.responses";
+
+    /**
+     * Estimated size of one entry besides the URL and the repositories: key, validators and cache node
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    /**
+     * Estimated size of one decoded repository: the object, its strings and timestamps
+     */
+    static final int REPOSITORY_BYTES = 480;
+
+    /**
+     * @param etag the entity tag of the response, null when the response had none
+     * @param lastModified the Last-Modified header of the response, null when the response had none
+     * @param response the decoded response
+     */
+    public record Entry(String etag, String lastModified, RepositorySearchResponse response) {
+    }
+
+    private final Cache<String, Entry> cache;
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder modified = new LongAdder();
+
+    public SearchRevalidationCache(GitHubApiProperties gitHubApiProperties) {
+        GitHubApiProperties.Revalidation config = gitHubApiProperties.getRevalidation();
+        this.cache = config.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumWeight(config.getMaxSize().toBytes())
+                        .weigher((String url, Entry entry) -> ENTRY_OVERHEAD_BYTES + url.length()
+                                + entry.response().items().size() * REPOSITORY_BYTES)
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * @return The stored entry of the URL, null when there is none or the store is disabled
+     */
+    public Entry get(String url) {
+        return cache == null ? null : cache.getIfPresent(url);
+    }
+
+    /**
+     * Store the response of the URL when it carries a validator, replacing the previous one
+     *
+     * @return The response, with its repositories made unmodifiable since it may be shared by later searches
+     */
+    public RepositorySearchResponse put(String url, String etag, String lastModified, RepositorySearchResponse response) {
+        if (cache == null || (etag == null && lastModified == null)) {
+            return response;
+        }
+        RepositorySearchResponse stored = new RepositorySearchResponse(response.totalCount(), List.copyOf(response.items()));
+        cache.put(url, new Entry(etag, lastModified, stored));
+        return stored;
+    }
+
+    /**
+     * Record the outcome of a conditional request
+     *
+     * @param hit whether the server answered that the stored response is still current
+     */
+    public void recordRevalidation(boolean hit) {
+        (hit ? notModified : modified).increment();
+    }
+
+    /**
+     * @return The fraction of conditional requests answered from the stored response, 0 before the first one
+     */
+    public double getHitRate() {
+        long hits = notModified.sum();
+        long total = hits + modified.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache == null) {
+            return;
+        }
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        FunctionCounter.builder("github.search.revalidations", notModified, LongAdder::sum)
+                .tag("outcome", "not_modified")
+                .description("Conditional searches answered with 304 Not Modified")
+                .register(registry);
+        FunctionCounter.builder("github.search.revalidations", modified, LongAdder::sum)
+                .tag("outcome", "modified")
+                .description("Conditional searches answered with a new response")
+                .register(registry);
+        Gauge.builder("github.search.revalidation.hit.rate", this, SearchRevalidationCache::getHitRate)
+                .description("Fraction of conditional searches answered from the stored response")
+                .register(registry);
+    }
+}
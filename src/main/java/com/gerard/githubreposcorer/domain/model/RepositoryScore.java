@@ -1,11 +1,13 @@
 package com.gerard.githubreposcorer.domain.model;
 
+import com.gerard.githubreposcorer.scoring.model.ScoreExplanation;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 @Data
 @Builder
@@ -15,4 +17,12 @@ public class RepositoryScore {
     private String name;
     private String url;
     private BigDecimal score;
-}
\ No newline at end of file
+    /**
+     * Only set when the request asked for explanations
+     */
+    private ScoreExplanation explanation;
+    /**
+     * Score with every additional weight profile of the request by profile name, only set when the request asked for some
+     */
+    private Map<String, BigDecimal> profileScores;
+}
@@ -6,9 +6,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class RepositorySearchRequest {
@@ -18,4 +19,12 @@ public class RepositorySearchRequest {
     private String repo;
     private int page;
     private int size;
-}
\ No newline at end of file
+    private String strategyVersion;
+    private String weightProfile;
+    /**
+     * Additional weight profiles every returned repository is also scored with, null or empty for none
+     */
+    private List<String> weightProfiles;
+    private boolean ranked;
+    private boolean explain;
+}
@@ -1,18 +1,53 @@
 package com.gerard.githubreposcorer.scoring;
 
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import com.gerard.githubreposcorer.scoring.model.ScoreExplanation;
 import com.gerard.githubreposcorer.scoring.model.ScoringContext;
 
-import java.math.BigDecimal;
+import java.util.List;
 
 public interface ScoringStrategy {
     
     /**
      * Calculate the score for a repository based on the scoring context
      * @param context The scoring context containing repository metrics
-     * @return The calculated score
+     * @return The calculated, unrounded score
      */
-    BigDecimal calculateScore(ScoringContext context);
+    double calculateScore(ScoringContext context);
+
+    /**
+     * Calculate the scores of a whole batch of repositories, writing them into the batch scores.
+     * The default implementation scores each repository separately, reusing one context.
+     * @param batch The scoring batch containing repository metrics
+     */
+    default void calculateScores(ScoringBatch batch) {
+        ScoringContext context = ScoringContext.builder().build();
+        for (int i = 0; i < batch.getSize(); i++) {
+            context.reset(null, batch.getStars()[i], batch.getForks()[i], batch.getDaysSinceUpdate()[i]);
+            batch.getScores()[i] = calculateScore(context);
+        }
+    }
     
+    /**
+     * Score one repository and break the score down by rule. Slower than {@link #calculateScore},
+     * meant for explain requests and sampled logging only.
+     * The default implementation reports the score without any rule contribution.
+     * @param context The scoring context containing repository metrics
+     * @return The score explanation
+     */
+    default ScoreExplanation explain(ScoringContext context) {
+        return new ScoreExplanation(getVersion(), calculateScore(context), List.of());
+    }
+
+    /**
+     * Get a fingerprint of the parameters this strategy currently scores with, such as its weights.
+     * Two instances of the same version scoring differently must have different fingerprints.
+     * @return The parameters fingerprint, 0 for strategies without parameters
+     */
+    default long getWeightsFingerprint() {
+        return 0L;
+    }
+
     /**
      * Get the version of this scoring strategy
      * @return The strategy version
@@ -1,9 +1,15 @@
 package com.gerard.githubreposcorer.scoring;
 
 import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.formula.FormulaCompiler;
+import com.gerard.githubreposcorer.scoring.strategy.FormulaScoringStrategy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -15,17 +21,109 @@ public class ScoringStrategyFactory {
 
     private final ScoringProperties scoringProperties;
     private final Map<String, ScoringStrategy> scoringStrategies;
+    private final Map<String, Map<String, ScoringStrategy>> profileStrategies = new HashMap<>();
+    private final ScoringStrategy defaultStrategy;
 
     public ScoringStrategyFactory(ScoringProperties scoringProperties,
                                   List<ScoringStrategy> scoringStrategies) {
         this.scoringProperties = scoringProperties;
         this.scoringStrategies = scoringStrategies.stream().collect(
-                Collectors.toMap(ScoringStrategy::getVersion, strategy -> strategy)
+                Collectors.toMap(ScoringStrategy::getVersion, strategy -> strategy, (first, second) -> {
+                    throw new IllegalStateException("Duplicate scoring strategy version: " + first.getVersion());
+                }, HashMap::new)
         );
+        registerFormulaStrategies();
+        registerProfileStrategies();
+        this.defaultStrategy = this.scoringStrategies.get(scoringProperties.getStrategy().getVersion().toLowerCase());
+    }
+
+    private void registerFormulaStrategies() {
+        scoringProperties.getStrategy().getFormulas().forEach((name, formula) -> {
+            String version = name.toLowerCase();
+            if (scoringStrategies.containsKey(version)) {
+                throw new IllegalStateException("Scoring strategy version already registered: " + version);
+            }
+            scoringStrategies.put(version, new FormulaScoringStrategy(version, FormulaCompiler.compile(formula)));
+            log.info("Compiled formula scoring strategy {}: {}", version, formula);
+        });
+    }
+
+    private void registerProfileStrategies() {
+        scoringStrategies.values().stream()
+                .filter(WeightedScoringStrategy.class::isInstance)
+                .map(WeightedScoringStrategy.class::cast)
+                .forEach(strategy -> {
+                    Map<String, ScoringStrategy> profiles = new HashMap<>();
+                    scoringProperties.getProfiles().forEach((name, profile) -> {
+                        profiles.put(name.toLowerCase(), strategy.withWeights(scoringProperties.copyWithProfile(profile)));
+                        log.info("Built scoring strategy {} with weight profile {}", strategy.getVersion(), name);
+                    });
+                    profileStrategies.put(strategy.getVersion().toLowerCase(), profiles);
+                });
+    }
+
+    /**
+     * Resolve the strategy of one request. Every candidate is built when the factory is created,
+     * so this is only a couple of map lookups.
+     *
+     * @param version The strategy version, case-insensitive, or null for the configured one
+     * @param weightProfile The weight profile, case-insensitive, or null for the strategy weights
+     * @return The strategy
+     * @throws IllegalArgumentException If the version or the weight profile is unknown
+     */
+    public ScoringStrategy resolveStrategy(@Nullable String version, @Nullable String weightProfile) {
+        ScoringStrategy strategy = version == null
+                ? createStrategy()
+                : findStrategy(version).orElseThrow(() -> new IllegalArgumentException("Unknown scoring strategy version: " + version));
+        if (weightProfile == null) {
+            return strategy;
+        }
+        return Optional.ofNullable(profileStrategies.get(strategy.getVersion().toLowerCase()))
+                .map(profiles -> profiles.get(weightProfile.toLowerCase()))
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Unknown weight profile " + weightProfile + " for scoring strategy version: " + strategy.getVersion()));
+    }
+
+    /**
+     * Resolve the strategies of several weight profiles of the same version
+     *
+     * @param version The strategy version, case-insensitive, or null for the configured one
+     * @param weightProfiles The weight profiles, case-insensitive
+     * @return The strategy of every distinct profile by profile name, as requested, in request order
+     * @throws IllegalArgumentException If the version or one of the weight profiles is unknown
+     */
+    public Map<String, ScoringStrategy> resolveProfiles(@Nullable String version, List<String> weightProfiles) {
+        Map<String, ScoringStrategy> profiles = new LinkedHashMap<>();
+        for (String weightProfile : weightProfiles) {
+            profiles.putIfAbsent(weightProfile, resolveStrategy(version, weightProfile));
+        }
+        return profiles;
+    }
+
+    /**
+     * @return Every strategy that can be resolved, including the weight profile variants
+     */
+    public List<ScoringStrategy> getAllStrategies() {
+        List<ScoringStrategy> strategies = new ArrayList<>(scoringStrategies.values());
+        profileStrategies.values().forEach(profiles -> strategies.addAll(profiles.values()));
+        return strategies;
+    }
+
+    /**
+     * Find a registered strategy without falling back to the default one
+     *
+     * @param version The strategy version, case-insensitive
+     * @return The strategy, or empty if no strategy is registered under this version
+     */
+    public Optional<ScoringStrategy> findStrategy(String version) {
+        return Optional.ofNullable(scoringStrategies.get(version.toLowerCase()));
     }
 
     public ScoringStrategy createStrategy() {
-        return createStrategy(Optional.empty());
+        if (defaultStrategy == null) {
+            throw new IllegalStateException("No scoring strategy found for name: " + scoringProperties.getStrategy().getVersion());
+        }
+        return defaultStrategy;
     }
 
     public ScoringStrategy createStrategy(Optional<String> strategyName) {
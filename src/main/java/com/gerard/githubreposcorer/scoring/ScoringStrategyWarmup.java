@@ -0,0 +1,74 @@
+package com.gerard.githubreposcorer.scoring;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Scores synthetic batches with every registered strategy before the web server starts, so the
+ * first requests selecting a strategy don't pay for its class loading and JIT compilation.
+ */
+@Component
+@Slf4j
+public class ScoringStrategyWarmup implements SmartLifecycle {
+
+    static final int BATCH_SIZE = 100;
+
+    private final ScoringStrategyFactory scoringStrategyFactory;
+    private final int iterations;
+
+    private volatile boolean running;
+
+    public ScoringStrategyWarmup(ScoringProperties scoringProperties, ScoringStrategyFactory scoringStrategyFactory) {
+        this.scoringStrategyFactory = scoringStrategyFactory;
+        this.iterations = scoringProperties.getStrategy().getWarmupIterations();
+    }
+
+    @Override
+    public void start() {
+        List<ScoringStrategy> strategies = scoringStrategyFactory.getAllStrategies();
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < iterations; i++) {
+            ScoringBatch batch = syntheticBatch(random);
+            for (ScoringStrategy strategy : strategies) {
+                batch.resetScores();
+                strategy.calculateScores(batch);
+            }
+        }
+        running = true;
+        log.info("Warmed up {} scoring strategies with {} batches in {} ms",
+                strategies.size(), iterations, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static ScoringBatch syntheticBatch(SplittableRandom random) {
+        ScoringBatch batch = new ScoringBatch(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(random.nextInt(100_000), random.nextInt(20_000), random.nextInt(3_650));
+        }
+        return batch;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start before the web server, which starts in one of the last phases
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.gerard.githubreposcorer.scoring;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+
+public interface WeightedScoringStrategy extends ScoringStrategy {
+
+    /**
+     * Build an independent, ready to use instance of this strategy scoring with other weights
+     * @param weights Properties holding the stars, forks and freshness sections to score with
+     * @return The new strategy instance, with the same version
+     */
+    ScoringStrategy withWeights(ScoringProperties weights);
+}
@@ -0,0 +1,103 @@
+package com.gerard.githubreposcorer.scoring.compiler;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Method handle combinators used by rules to describe their weighted score as a handle of
+ * type {@link #SCORE_TYPE}, so a whole rule chain can be compiled into one {@link ScoringFunction}.
+ */
+@Slf4j
+public final class ScoreHandles {
+
+    /**
+     * (int stars, int forks, int daysSinceUpdate) -> double
+     */
+    public static final MethodType SCORE_TYPE = MethodType.methodType(double.class, int.class, int.class, int.class);
+
+    public static final int STARS = 0;
+    public static final int FORKS = 1;
+    public static final int DAYS_SINCE_UPDATE = 2;
+
+    private static final MethodHandle APPLY_AS_DOUBLE;
+    private static final MethodHandle MULTIPLY;
+    private static final MethodHandle ADD;
+    private static final MethodHandle FAILED;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            APPLY_AS_DOUBLE = lookup.findVirtual(IntToDoubleFunction.class, "applyAsDouble",
+                    MethodType.methodType(double.class, int.class));
+            MULTIPLY = lookup.findStatic(ScoreHandles.class, "multiply",
+                    MethodType.methodType(double.class, double.class, double.class));
+            ADD = lookup.findStatic(ScoreHandles.class, "add",
+                    MethodType.methodType(double.class, double.class, double.class));
+            FAILED = lookup.findStatic(ScoreHandles.class, "failed",
+                    MethodType.methodType(double.class, String.class, RuntimeException.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private ScoreHandles() {
+    }
+
+    /**
+     * Weighted score of a single input: {@code normalizer(input) * weight}. A failing normalizer
+     * contributes 0, like a failed rule result in the interpreted chain.
+     *
+     * @param ruleName      The rule name, used when logging failures
+     * @param normalizer    The normalization function
+     * @param weight        The rule weight
+     * @param argumentIndex The input, one of {@link #STARS}, {@link #FORKS} or {@link #DAYS_SINCE_UPDATE}
+     * @return A handle of type {@link #SCORE_TYPE}
+     */
+    public static MethodHandle weighted(String ruleName, IntToDoubleFunction normalizer, double weight, int argumentIndex) {
+        MethodHandle normalize = APPLY_AS_DOUBLE.bindTo(normalizer);
+        MethodHandle term = MethodHandles.filterReturnValue(normalize, MethodHandles.insertArguments(MULTIPLY, 1, weight));
+        MethodHandle selected = MethodHandles.permuteArguments(term, SCORE_TYPE, argumentIndex);
+
+        MethodHandle fallback = MethodHandles.dropArguments(
+                MethodHandles.insertArguments(FAILED, 0, ruleName), 1, SCORE_TYPE.parameterList());
+        return MethodHandles.catchException(selected, RuntimeException.class, fallback);
+    }
+
+    /**
+     * Sum of the given terms, evaluated left to right
+     *
+     * @param terms Handles of type {@link #SCORE_TYPE}
+     * @return A handle of type {@link #SCORE_TYPE}
+     */
+    public static MethodHandle sum(List<MethodHandle> terms) {
+        if (terms.isEmpty()) {
+            return MethodHandles.dropArguments(MethodHandles.constant(double.class, 0.0), 0, SCORE_TYPE.parameterList());
+        }
+        MethodHandle total = terms.get(0);
+        for (int i = 1; i < terms.size(); i++) {
+            // (double, double) -> (int, int, int, double) -> (int, int, int, int, int, int)
+            MethodHandle pair = MethodHandles.collectArguments(
+                    MethodHandles.collectArguments(ADD, 0, total), SCORE_TYPE.parameterCount(), terms.get(i));
+            total = MethodHandles.permuteArguments(pair, SCORE_TYPE, 0, 1, 2, 0, 1, 2);
+        }
+        return total;
+    }
+
+    private static double multiply(double value, double weight) {
+        return value * weight;
+    }
+
+    private static double add(double left, double right) {
+        return left + right;
+    }
+
+    private static double failed(String ruleName, RuntimeException e) {
+        log.error("Error executing compiled scoring rule {}: {}", ruleName, e.getMessage(), e);
+        return 0.0;
+    }
+}
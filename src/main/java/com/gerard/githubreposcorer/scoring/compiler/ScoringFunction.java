@@ -0,0 +1,17 @@
+package com.gerard.githubreposcorer.scoring.compiler;
+
+/**
+ * A scoring formula specialized for a fixed set of rules and weights
+ */
+@FunctionalInterface
+public interface ScoringFunction {
+
+    /**
+     * Calculate the unrounded score of a repository
+     * @param stars           The number of stars
+     * @param forks           The number of forks
+     * @param daysSinceUpdate The number of days since the last update
+     * @return The weighted score
+     */
+    double score(int stars, int forks, int daysSinceUpdate);
+}
@@ -0,0 +1,121 @@
+package com.gerard.githubreposcorer.scoring.compiler;
+
+import com.gerard.githubreposcorer.scoring.rule.ScoringRule;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+
+/**
+ * Compiles a rule chain into a {@link ScoringFunction}. The combined method handle of the rules is
+ * stored as a {@code static final} constant of a generated hidden class, which lets the JIT inline the
+ * whole chain into the call site. Each compilation defines a new hidden class from the same bytecode;
+ * hidden classes are unloaded with their instances, so recompiling after a configuration change is cheap.
+ */
+public final class ScoringFunctionCompiler {
+
+    private static final String CLASS_NAME =
+            ScoringFunctionCompiler.class.getPackageName().replace('.', '/') + "/CompiledScoringFunction";
+    private static final String HANDLE_FIELD = "HANDLE";
+    private static final String HANDLE_DESCRIPTOR = Type.getDescriptor(MethodHandle.class);
+
+    private static final byte[] CLASS_BYTES = generateClass();
+
+    private ScoringFunctionCompiler() {
+    }
+
+    /**
+     * Compile the rule chain
+     *
+     * @param rule The root of the rule chain
+     * @return The compiled function, or empty when a rule of the chain can only be interpreted
+     */
+    public static Optional<ScoringFunction> compile(ScoringRule rule) {
+        return rule.toScoreHandle().map(ScoringFunctionCompiler::compile);
+    }
+
+    /**
+     * Compile a method handle into a scoring function
+     *
+     * @param scoreHandle A handle of type {@link ScoreHandles#SCORE_TYPE}
+     * @return The compiled function
+     */
+    public static ScoringFunction compile(MethodHandle scoreHandle) {
+        if (!scoreHandle.type().equals(ScoreHandles.SCORE_TYPE)) {
+            throw new IllegalArgumentException("Score handle must be of type " + ScoreHandles.SCORE_TYPE
+                    + ", but was: " + scoreHandle.type());
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup()
+                    .defineHiddenClassWithClassData(CLASS_BYTES, scoreHandle, true);
+            return (ScoringFunction) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to compile scoring function", e);
+        }
+    }
+
+    /**
+     * <pre>
+     * final class CompiledScoringFunction implements ScoringFunction {
+     *     static final MethodHandle HANDLE = MethodHandles.classData(MethodHandles.lookup(), "_", MethodHandle.class);
+     *
+     *     public double score(int stars, int forks, int daysSinceUpdate) {
+     *         return (double) HANDLE.invokeExact(stars, forks, daysSinceUpdate);
+     *     }
+     * }
+     * </pre>
+     */
+    private static byte[] generateClass() {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+        writer.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, CLASS_NAME, null,
+                Type.getInternalName(Object.class), new String[]{Type.getInternalName(ScoringFunction.class)});
+
+        writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+                HANDLE_FIELD, HANDLE_DESCRIPTOR, null, null).visitEnd();
+
+        MethodVisitor clinit = writer.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+        clinit.visitCode();
+        clinit.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(MethodHandles.class), "lookup",
+                Type.getMethodDescriptor(Type.getType(MethodHandles.Lookup.class)), false);
+        clinit.visitLdcInsn("_");
+        clinit.visitLdcInsn(Type.getType(MethodHandle.class));
+        clinit.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(MethodHandles.class), "classData",
+                Type.getMethodDescriptor(Type.getType(Object.class), Type.getType(MethodHandles.Lookup.class),
+                        Type.getType(String.class), Type.getType(Class.class)), false);
+        clinit.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(MethodHandle.class));
+        clinit.visitFieldInsn(Opcodes.PUTSTATIC, CLASS_NAME, HANDLE_FIELD, HANDLE_DESCRIPTOR);
+        clinit.visitInsn(Opcodes.RETURN);
+        clinit.visitMaxs(0, 0);
+        clinit.visitEnd();
+
+        MethodVisitor constructor = writer.visitMethod(0, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        String scoreDescriptor = ScoreHandles.SCORE_TYPE.toMethodDescriptorString();
+        MethodVisitor score = writer.visitMethod(Opcodes.ACC_PUBLIC, "score", scoreDescriptor, null, null);
+        score.visitCode();
+        score.visitFieldInsn(Opcodes.GETSTATIC, CLASS_NAME, HANDLE_FIELD, HANDLE_DESCRIPTOR);
+        score.visitVarInsn(Opcodes.ILOAD, 1);
+        score.visitVarInsn(Opcodes.ILOAD, 2);
+        score.visitVarInsn(Opcodes.ILOAD, 3);
+        score.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(MethodHandle.class), "invokeExact",
+                scoreDescriptor, false);
+        score.visitInsn(Opcodes.DRETURN);
+        score.visitMaxs(0, 0);
+        score.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+}
@@ -0,0 +1,15 @@
+package com.gerard.githubreposcorer.scoring.exception;
+
+/**
+ * Exception thrown when a scoring formula cannot be parsed or compiled.
+ */
+public class InvalidFormulaException extends RuntimeException {
+
+    public InvalidFormulaException(String message) {
+        super(message);
+    }
+
+    public InvalidFormulaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,24 @@
+package com.gerard.githubreposcorer.scoring.formula;
+
+import java.util.List;
+
+/**
+ * Syntax tree of a scoring formula
+ */
+public sealed interface Expression {
+
+    record Constant(double value) implements Expression {
+    }
+
+    record Variable(FormulaVariable variable) implements Expression {
+    }
+
+    record Negate(Expression operand) implements Expression {
+    }
+
+    record Binary(char operator, Expression left, Expression right) implements Expression {
+    }
+
+    record Call(FormulaFunction function, List<Expression> arguments) implements Expression {
+    }
+}
@@ -0,0 +1,124 @@
+package com.gerard.githubreposcorer.scoring.formula;
+
+import com.gerard.githubreposcorer.scoring.compiler.ScoringFunction;
+import com.gerard.githubreposcorer.scoring.exception.InvalidFormulaException;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+
+/**
+ * Compiles a scoring formula into a hidden class implementing {@link ScoringFunction}, with the
+ * expression emitted as straight-line bytecode in {@code score}. Hidden classes are unloaded with
+ * their instances, so formulas can be recompiled without leaking classes.
+ */
+public final class FormulaCompiler {
+
+    private static final String CLASS_NAME =
+            FormulaCompiler.class.getPackageName().replace('.', '/') + "/CompiledFormula";
+    private static final String SCORE_DESCRIPTOR =
+            Type.getMethodDescriptor(Type.DOUBLE_TYPE, Type.INT_TYPE, Type.INT_TYPE, Type.INT_TYPE);
+
+    private FormulaCompiler() {
+    }
+
+    /**
+     * Parse and compile a formula
+     *
+     * @param formula The formula text
+     * @return The compiled function
+     * @throws InvalidFormulaException If the formula is not valid
+     */
+    public static ScoringFunction compile(String formula) {
+        return compile(FormulaParser.parse(formula), formula);
+    }
+
+    /**
+     * Compile a parsed formula
+     *
+     * @param expression The syntax tree
+     * @param formula    The formula text, returned by {@code toString()} of the compiled function
+     * @return The compiled function
+     */
+    public static ScoringFunction compile(Expression expression, String formula) {
+        byte[] bytes = generateClass(expression, formula);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            return (ScoringFunction) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (Throwable e) {
+            throw new InvalidFormulaException("Failed to compile formula: " + formula, e);
+        }
+    }
+
+    private static byte[] generateClass(Expression expression, String formula) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+        writer.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, CLASS_NAME, null,
+                Type.getInternalName(Object.class), new String[]{Type.getInternalName(ScoringFunction.class)});
+
+        MethodVisitor constructor = writer.visitMethod(0, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        MethodVisitor score = writer.visitMethod(Opcodes.ACC_PUBLIC, "score", SCORE_DESCRIPTOR, null, null);
+        score.visitCode();
+        emit(score, expression);
+        score.visitInsn(Opcodes.DRETURN);
+        score.visitMaxs(0, 0);
+        score.visitEnd();
+
+        MethodVisitor toString = writer.visitMethod(Opcodes.ACC_PUBLIC, "toString",
+                Type.getMethodDescriptor(Type.getType(String.class)), null, null);
+        toString.visitCode();
+        toString.visitLdcInsn(formula);
+        toString.visitInsn(Opcodes.ARETURN);
+        toString.visitMaxs(0, 0);
+        toString.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /**
+     * Emit the expression, leaving its double value on the operand stack
+     */
+    private static void emit(MethodVisitor method, Expression expression) {
+        switch (expression) {
+            case Expression.Constant constant -> method.visitLdcInsn(constant.value());
+            case Expression.Variable variable -> {
+                method.visitVarInsn(Opcodes.ILOAD, variable.variable().getParameterSlot());
+                method.visitInsn(Opcodes.I2D);
+            }
+            case Expression.Negate negate -> {
+                emit(method, negate.operand());
+                method.visitInsn(Opcodes.DNEG);
+            }
+            case Expression.Binary binary -> {
+                emit(method, binary.left());
+                emit(method, binary.right());
+                method.visitInsn(switch (binary.operator()) {
+                    case '+' -> Opcodes.DADD;
+                    case '-' -> Opcodes.DSUB;
+                    case '*' -> Opcodes.DMUL;
+                    case '/' -> Opcodes.DDIV;
+                    default -> throw new InvalidFormulaException("Unsupported operator: " + binary.operator());
+                });
+            }
+            case Expression.Call call -> {
+                call.arguments().forEach(argument -> emit(method, argument));
+                Type[] parameters = new Type[call.arguments().size()];
+                Arrays.fill(parameters, Type.DOUBLE_TYPE);
+                method.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(call.function().getOwner()),
+                        call.function().getMethodName(), Type.getMethodDescriptor(Type.DOUBLE_TYPE, parameters), false);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.gerard.githubreposcorer.scoring.formula;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Functions available to a scoring formula. Every function takes and returns doubles and is
+ * compiled to a static method call.
+ */
+public enum FormulaFunction {
+    NORM_LOG("normLog", 2, FormulaFunctions.class, "normLog"),
+    DECAY("decay", 2, FormulaFunctions.class, "decay"),
+    MIN("min", 2, Math.class, "min"),
+    MAX("max", 2, Math.class, "max"),
+    LOG1P("log1p", 1, Math.class, "log1p"),
+    EXP("exp", 1, Math.class, "exp"),
+    SQRT("sqrt", 1, Math.class, "sqrt");
+
+    private final String name;
+    private final int arity;
+    private final Class<?> owner;
+    private final String methodName;
+
+    FormulaFunction(String name, int arity, Class<?> owner, String methodName) {
+        this.name = name;
+        this.arity = arity;
+        this.owner = owner;
+        this.methodName = methodName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    Class<?> getOwner() {
+        return owner;
+    }
+
+    String getMethodName() {
+        return methodName;
+    }
+
+    static Optional<FormulaFunction> byName(String name) {
+        return Arrays.stream(values())
+                .filter(function -> function.name.equals(name))
+                .findFirst();
+    }
+}
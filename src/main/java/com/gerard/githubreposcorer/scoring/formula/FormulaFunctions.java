@@ -0,0 +1,32 @@
+package com.gerard.githubreposcorer.scoring.formula;
+
+/**
+ * Scoring functions called from compiled formulas, with the same results as
+ * {@link com.gerard.githubreposcorer.util.MathUtils} for integer inputs.
+ */
+final class FormulaFunctions {
+
+    private static final double LN_2 = Math.log(2.0);
+
+    private FormulaFunctions() {
+    }
+
+    /**
+     * Logarithmic normalization, {@code log1p(x) / log1p(cap)}. A negative value scores 0,
+     * like a failed rule in the rule chain.
+     */
+    static double normLog(double x, double cap) {
+        if (cap <= 0 || x < 0) {
+            return 0.0;
+        }
+        return Math.log1p(x) / Math.log1p(cap);
+    }
+
+    /**
+     * Exponential decay with the given half-life, 1.0 for 0 days
+     */
+    static double decay(double days, double halfLifeDays) {
+        double lambda = LN_2 / Math.max(1.0, halfLifeDays);
+        return Math.exp(-lambda * Math.max(0.0, days));
+    }
+}
@@ -0,0 +1,178 @@
+package com.gerard.githubreposcorer.scoring.formula;
+
+import com.gerard.githubreposcorer.scoring.exception.InvalidFormulaException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recursive descent parser for scoring formulas such as
+ * {@code 0.45*normLog(stars,10000) + 0.2*normLog(forks,10000) + 0.35*decay(days,90)}.
+ *
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/') unary)*
+ * unary      := '-' unary | primary
+ * primary    := number | variable | function '(' expression (',' expression)* ')' | '(' expression ')'
+ * </pre>
+ */
+public final class FormulaParser {
+
+    private final String formula;
+    private int position;
+
+    private FormulaParser(String formula) {
+        this.formula = formula;
+    }
+
+    /**
+     * Parse a formula
+     *
+     * @param formula The formula text
+     * @return The syntax tree
+     * @throws InvalidFormulaException If the formula is not valid
+     */
+    public static Expression parse(String formula) {
+        if (formula == null || formula.isBlank()) {
+            throw new InvalidFormulaException("Formula must not be empty");
+        }
+        FormulaParser parser = new FormulaParser(formula);
+        Expression expression = parser.parseExpression();
+        parser.skipWhitespace();
+        if (parser.position < formula.length()) {
+            throw parser.error("Unexpected '" + formula.charAt(parser.position) + "'");
+        }
+        return expression;
+    }
+
+    private Expression parseExpression() {
+        Expression expression = parseTerm();
+        while (true) {
+            if (consume('+')) {
+                expression = new Expression.Binary('+', expression, parseTerm());
+            } else if (consume('-')) {
+                expression = new Expression.Binary('-', expression, parseTerm());
+            } else {
+                return expression;
+            }
+        }
+    }
+
+    private Expression parseTerm() {
+        Expression expression = parseUnary();
+        while (true) {
+            if (consume('*')) {
+                expression = new Expression.Binary('*', expression, parseUnary());
+            } else if (consume('/')) {
+                expression = new Expression.Binary('/', expression, parseUnary());
+            } else {
+                return expression;
+            }
+        }
+    }
+
+    private Expression parseUnary() {
+        if (consume('-')) {
+            return new Expression.Negate(parseUnary());
+        }
+        return parsePrimary();
+    }
+
+    private Expression parsePrimary() {
+        skipWhitespace();
+        if (position >= formula.length()) {
+            throw error("Unexpected end of formula");
+        }
+        char current = formula.charAt(position);
+        if (consume('(')) {
+            Expression expression = parseExpression();
+            expect(')');
+            return expression;
+        }
+        if (Character.isDigit(current) || current == '.') {
+            return parseNumber();
+        }
+        if (Character.isLetter(current)) {
+            return parseIdentifier();
+        }
+        throw error("Unexpected '" + current + "'");
+    }
+
+    private Expression parseNumber() {
+        int start = position;
+        while (position < formula.length() && isNumberPart(formula.charAt(position))) {
+            position++;
+        }
+        String text = formula.substring(start, position);
+        try {
+            return new Expression.Constant(Double.parseDouble(text));
+        } catch (NumberFormatException e) {
+            throw new InvalidFormulaException("Invalid number '" + text + "' at position " + start + " in formula: " + formula, e);
+        }
+    }
+
+    private boolean isNumberPart(char c) {
+        if (Character.isDigit(c) || c == '.' || c == 'e' || c == 'E') {
+            return true;
+        }
+        // Exponent sign, as in 1e-3
+        char previous = formula.charAt(position - 1);
+        return (c == '+' || c == '-') && (previous == 'e' || previous == 'E');
+    }
+
+    private Expression parseIdentifier() {
+        int start = position;
+        while (position < formula.length() && Character.isLetterOrDigit(formula.charAt(position))) {
+            position++;
+        }
+        String name = formula.substring(start, position);
+
+        if (!consume('(')) {
+            return FormulaVariable.byName(name)
+                    .<Expression>map(Expression.Variable::new)
+                    .orElseThrow(() -> new InvalidFormulaException("Unknown variable '" + name + "' at position "
+                            + start + " in formula: " + formula));
+        }
+
+        FormulaFunction function = FormulaFunction.byName(name)
+                .orElseThrow(() -> new InvalidFormulaException("Unknown function '" + name + "' at position "
+                        + start + " in formula: " + formula));
+        List<Expression> arguments = new ArrayList<>();
+        if (!consume(')')) {
+            do {
+                arguments.add(parseExpression());
+            } while (consume(','));
+            expect(')');
+        }
+        if (arguments.size() != function.getArity()) {
+            throw new InvalidFormulaException(String.format("Function '%s' expects %d arguments, but got %d in formula: %s",
+                    name, function.getArity(), arguments.size(), formula));
+        }
+        return new Expression.Call(function, List.copyOf(arguments));
+    }
+
+    private boolean consume(char expected) {
+        skipWhitespace();
+        if (position < formula.length() && formula.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!consume(expected)) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < formula.length() && Character.isWhitespace(formula.charAt(position))) {
+            position++;
+        }
+    }
+
+    private InvalidFormulaException error(String message) {
+        return new InvalidFormulaException(message + " at position " + position + " in formula: " + formula);
+    }
+}
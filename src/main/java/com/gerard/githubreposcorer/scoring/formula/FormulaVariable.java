@@ -0,0 +1,38 @@
+package com.gerard.githubreposcorer.scoring.formula;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Repository metrics available to a scoring formula
+ */
+public enum FormulaVariable {
+    STARS("stars", 1),
+    FORKS("forks", 2),
+    DAYS("days", 3);
+
+    private final String name;
+    private final int parameterSlot;
+
+    FormulaVariable(String name, int parameterSlot) {
+        this.name = name;
+        this.parameterSlot = parameterSlot;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The local variable slot of the metric in {@code ScoringFunction.score}
+     */
+    int getParameterSlot() {
+        return parameterSlot;
+    }
+
+    static Optional<FormulaVariable> byName(String name) {
+        return Arrays.stream(values())
+                .filter(variable -> variable.name.equals(name))
+                .findFirst();
+    }
+}
@@ -0,0 +1,122 @@
+package com.gerard.githubreposcorer.scoring.kernel;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scores a batch with several weight profiles of the stars, forks and freshness score in a single pass.
+ * The distinct features of the profiles, normLog of the stars and forks per cap and the freshness decay per
+ * half-life, are computed once per repository; each profile score is then the product of its weight row
+ * with that feature vector.
+ * <p>
+ * A negative count gets a zero feature, like the failed rule result of the scalar chain.
+ */
+public class ProfileMatrixKernel {
+
+    private static final double LN_2 = Math.log(2.0);
+
+    private final Feature[] features;
+    private final double[][] weights;
+
+    public ProfileMatrixKernel(List<ScoringProperties> profiles) {
+        Map<Feature, Integer> columns = new LinkedHashMap<>();
+        List<int[]> profileColumns = new ArrayList<>(profiles.size());
+        for (ScoringProperties profile : profiles) {
+            profileColumns.add(new int[]{
+                    columns.computeIfAbsent(Feature.stars(profile.getStars().getCap()), feature -> columns.size()),
+                    columns.computeIfAbsent(Feature.forks(profile.getForks().getCap()), feature -> columns.size()),
+                    columns.computeIfAbsent(Feature.freshness(profile.getFreshness().getHalfLifeDays()),
+                            feature -> columns.size())
+            });
+        }
+        this.features = columns.keySet().toArray(new Feature[0]);
+        this.weights = new double[profiles.size()][features.length];
+        for (int p = 0; p < profiles.size(); p++) {
+            ScoringProperties profile = profiles.get(p);
+            int[] column = profileColumns.get(p);
+            weights[p][column[0]] += profile.getStars().getWeight();
+            weights[p][column[1]] += profile.getForks().getWeight();
+            weights[p][column[2]] += profile.getFreshness().getWeight();
+        }
+    }
+
+    /**
+     * Calculate the score of every repository of the batch with every profile
+     * @param batch The scoring batch, its own scores are left untouched
+     * @return The scores by profile, in profile order, then by repository, in batch order
+     */
+    public double[][] calculateScores(ScoringBatch batch) {
+        int[] stars = batch.getStars();
+        int[] forks = batch.getForks();
+        int[] daysSinceUpdate = batch.getDaysSinceUpdate();
+        double[][] scores = new double[weights.length][batch.getSize()];
+        double[] vector = new double[features.length];
+
+        for (int i = 0; i < batch.getSize(); i++) {
+            for (int f = 0; f < features.length; f++) {
+                vector[f] = features[f].value(stars[i], forks[i], daysSinceUpdate[i]);
+            }
+            for (int p = 0; p < weights.length; p++) {
+                double[] row = weights[p];
+                double score = 0.0;
+                for (int f = 0; f < vector.length; f++) {
+                    score += row[f] * vector[f];
+                }
+                scores[p][i] = score;
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * @return The number of distinct features computed per repository, at most 3 per profile
+     */
+    public int getFeatureCount() {
+        return features.length;
+    }
+
+    private enum Kind {
+        STARS,
+        FORKS,
+        FRESHNESS
+    }
+
+    /**
+     * One column of the feature vector. The scale is the log1p of the cap for normLog features and the
+     * negated decay rate for the freshness one, computed once here rather than per repository.
+     */
+    private record Feature(Kind kind, int parameter, double scale) {
+
+        static Feature stars(int cap) {
+            return new Feature(Kind.STARS, cap, Math.log1p(cap));
+        }
+
+        static Feature forks(int cap) {
+            return new Feature(Kind.FORKS, cap, Math.log1p(cap));
+        }
+
+        static Feature freshness(int halfLifeDays) {
+            return new Feature(Kind.FRESHNESS, halfLifeDays, -(LN_2 / Math.max(1, halfLifeDays)));
+        }
+
+        double value(int stars, int forks, int daysSinceUpdate) {
+            return switch (kind) {
+                case STARS -> normLog(stars);
+                case FORKS -> normLog(forks);
+                case FRESHNESS -> Math.exp(scale * Math.max(0, daysSinceUpdate));
+            };
+        }
+
+        private double normLog(int x) {
+            if (parameter <= 0 || x < 0) {
+                return 0.0;
+            }
+            return Math.log1p(x) / scale;
+        }
+    }
+}
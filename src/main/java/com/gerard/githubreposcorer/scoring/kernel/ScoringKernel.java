@@ -0,0 +1,49 @@
+package com.gerard.githubreposcorer.scoring.kernel;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+
+import java.util.Optional;
+
+/**
+ * Specialized implementation of the weighted stars, forks and freshness score over a whole batch.
+ */
+public interface ScoringKernel {
+
+    String VECTOR_MODULE_NAME = "jdk.incubator.vector";
+
+    /**
+     * Calculate the scores of every repository of the batch, overwriting the batch scores
+     * @param batch The scoring batch
+     */
+    void calculateScores(ScoringBatch batch);
+
+    /**
+     * The Vector API is an incubator module and is only resolved when the JVM runs with
+     * {@code --add-modules jdk.incubator.vector}.
+     * @return Whether the Vector API can be used in this JVM
+     */
+    static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE_NAME).isPresent();
+    }
+
+    /**
+     * The vector kernel is compiled on its own against the incubator module and looked up by name, so that
+     * it is only linked once the module is known to be resolved.
+     * @param properties The scoring weights and caps
+     * @return The vector kernel, empty when the Vector API cannot be used in this JVM
+     */
+    static Optional<ScoringKernel> loadVectorKernel(ScoringProperties properties) {
+        if (!isVectorApiAvailable()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Class.forName(ScoringKernel.class.getPackageName() + ".VectorScoringKernel")
+                    .asSubclass(ScoringKernel.class)
+                    .getConstructor(ScoringProperties.class)
+                    .newInstance(properties));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Vector scoring kernel cannot be loaded", e);
+        }
+    }
+}
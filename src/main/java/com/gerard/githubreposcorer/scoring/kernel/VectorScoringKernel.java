@@ -0,0 +1,95 @@
+package com.gerard.githubreposcorer.scoring.kernel;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernel computing normLog of stars and forks and the freshness decay for a full vector of
+ * repositories at a time. Only loaded through {@link ScoringKernel#loadVectorKernel(ScoringProperties)}.
+ * <p>
+ * Operations are applied in the same order as the scalar rule chain, so results only differ by the
+ * last-ulp accuracy of the vectorized log1p and exp.
+ */
+public class VectorScoringKernel implements ScoringKernel {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    // Same lane count as DOUBLES, ints being half the width of doubles
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+    private static final double LN_2 = Math.log(2.0);
+
+    private final int starsCap;
+    private final double starsLogCap;
+    private final double starsWeight;
+    private final int forksCap;
+    private final double forksLogCap;
+    private final double forksWeight;
+    private final double negativeLambda;
+    private final double freshnessWeight;
+
+    public VectorScoringKernel(ScoringProperties scoringProperties) {
+        this.starsCap = scoringProperties.getStars().getCap();
+        this.starsLogCap = Math.log1p(starsCap);
+        this.starsWeight = scoringProperties.getStars().getWeight();
+        this.forksCap = scoringProperties.getForks().getCap();
+        this.forksLogCap = Math.log1p(forksCap);
+        this.forksWeight = scoringProperties.getForks().getWeight();
+        this.negativeLambda = -(LN_2 / Math.max(1, scoringProperties.getFreshness().getHalfLifeDays()));
+        this.freshnessWeight = scoringProperties.getFreshness().getWeight();
+    }
+
+    @Override
+    public void calculateScores(ScoringBatch batch) {
+        int[] stars = batch.getStars();
+        int[] forks = batch.getForks();
+        int[] daysSinceUpdate = batch.getDaysSinceUpdate();
+        double[] scores = batch.getScores();
+        int size = batch.getSize();
+
+        int i = 0;
+        int upperBound = DOUBLES.loopBound(size);
+        for (; i < upperBound; i += DOUBLES.length()) {
+            DoubleVector total = DoubleVector.zero(DOUBLES);
+            if (starsCap > 0) {
+                total = total.add(normLogContribution(toDoubles(stars, i), starsLogCap, starsWeight));
+            }
+            if (forksCap > 0) {
+                total = total.add(normLogContribution(toDoubles(forks, i), forksLogCap, forksWeight));
+            }
+            DoubleVector days = toDoubles(daysSinceUpdate, i).max(0.0);
+            DoubleVector freshness = days.mul(negativeLambda).lanewise(VectorOperators.EXP);
+            total = total.add(freshness.mul(freshnessWeight));
+
+            total.intoArray(scores, i);
+        }
+
+        // Scalar tail for the repositories that do not fill a whole vector
+        for (; i < size; i++) {
+            double total = 0.0;
+            if (starsCap > 0 && stars[i] >= 0) {
+                total += starsWeight * (Math.log1p(stars[i]) / starsLogCap);
+            }
+            if (forksCap > 0 && forks[i] >= 0) {
+                total += forksWeight * (Math.log1p(forks[i]) / forksLogCap);
+            }
+            total += freshnessWeight * Math.exp(negativeLambda * Math.max(0, daysSinceUpdate[i]));
+            scores[i] = total;
+        }
+    }
+
+    private static DoubleVector normLogContribution(DoubleVector values, double logCap, double weight) {
+        DoubleVector normalized = values.lanewise(VectorOperators.LOG1P).div(logCap);
+        // Negative counts fail the scalar rule, which then contributes nothing
+        return normalized.mul(weight).blend(0.0, values.lt(0.0));
+    }
+
+    private static DoubleVector toDoubles(int[] values, int offset) {
+        return (DoubleVector) IntVector.fromArray(INTS, values, offset)
+                .convertShape(VectorOperators.I2D, DOUBLES, 0);
+    }
+}
@@ -0,0 +1,27 @@
+package com.gerard.githubreposcorer.scoring.model;
+
+import java.util.Map;
+
+/**
+ * Contribution of one rule to a score, with the inputs and parameters it was computed from
+ *
+ * @param rule          The rule name
+ * @param score         The raw rule score, 0 when the rule failed
+ * @param weight        The rule weight
+ * @param weightedScore The score multiplied by the weight, added to the final score
+ * @param error         The failure message, or null when the rule succeeded
+ * @param inputs        Inputs and parameters of the rule by name, such as stars and cap
+ */
+public record RuleContribution(
+        String rule,
+        double score,
+        double weight,
+        double weightedScore,
+        String error,
+        Map<String, Double> inputs
+) {
+
+    public static RuleContribution success(String rule, double score, double weight, Map<String, Double> inputs) {
+        return new RuleContribution(rule, score, weight, score * weight, null, inputs);
+    }
+}
@@ -0,0 +1,13 @@
+package com.gerard.githubreposcorer.scoring.model;
+
+import java.util.List;
+
+/**
+ * Breakdown of the score of one repository
+ *
+ * @param strategyVersion The version of the strategy that computed the score
+ * @param score           The unrounded score
+ * @param rules           The contribution of each rule, empty when the strategy cannot break its score down
+ */
+public record ScoreExplanation(String strategyVersion, double score, List<RuleContribution> rules) {
+}
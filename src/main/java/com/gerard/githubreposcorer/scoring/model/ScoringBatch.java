@@ -0,0 +1,140 @@
+package com.gerard.githubreposcorer.scoring.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+
+/**
+ * Repository metrics of a whole page or dataset laid out as parallel primitive arrays.
+ * Rules read the input arrays and accumulate their weighted score into {@link #getScores()}.
+ */
+@Getter
+public class ScoringBatch {
+    private final int[] stars;
+    private final int[] forks;
+    private final int[] daysSinceUpdate;
+    /**
+     * Primary language of each repository, null when unknown
+     */
+    private final String[] languages;
+    /**
+     * Full name of each repository, null when unknown. Needed by rules fetching more data about the repository.
+     */
+    private final String[] names;
+    private final double[] scores;
+    /**
+     * Repositories whose expensive rules were skipped because they could not reach the score threshold
+     */
+    private final boolean[] pruned;
+    private int size;
+    private int prunedCount;
+    /**
+     * Score a repository must be able to reach for its expensive rules to run, negative infinity to run all rules
+     */
+    @Setter
+    private double scoreThreshold = Double.NEGATIVE_INFINITY;
+
+    public ScoringBatch(int capacity) {
+        this.stars = new int[capacity];
+        this.forks = new int[capacity];
+        this.daysSinceUpdate = new int[capacity];
+        this.languages = new String[capacity];
+        this.names = new String[capacity];
+        this.scores = new double[capacity];
+        this.pruned = new boolean[capacity];
+    }
+
+    public ScoringBatch(int[] stars, int[] forks, int[] daysSinceUpdate) {
+        this(stars, forks, daysSinceUpdate, new String[stars.length]);
+    }
+
+    public ScoringBatch(int[] stars, int[] forks, int[] daysSinceUpdate, String[] languages) {
+        this(stars, forks, daysSinceUpdate, languages, new String[stars.length]);
+    }
+
+    public ScoringBatch(int[] stars, int[] forks, int[] daysSinceUpdate, String[] languages, String[] names) {
+        if (stars.length != forks.length || stars.length != daysSinceUpdate.length || stars.length != languages.length
+                || stars.length != names.length) {
+            throw new IllegalArgumentException("Batch arrays must have the same length");
+        }
+        this.stars = stars;
+        this.forks = forks;
+        this.daysSinceUpdate = daysSinceUpdate;
+        this.languages = languages;
+        this.names = names;
+        this.scores = new double[stars.length];
+        this.pruned = new boolean[stars.length];
+        this.size = stars.length;
+    }
+
+    public void add(int stars, int forks, int daysSinceUpdate) {
+        add(stars, forks, daysSinceUpdate, null);
+    }
+
+    public void add(int stars, int forks, int daysSinceUpdate, String language) {
+        add(stars, forks, daysSinceUpdate, language, null);
+    }
+
+    public void add(int stars, int forks, int daysSinceUpdate, String language, String name) {
+        if (size == this.stars.length) {
+            throw new IllegalStateException("Batch capacity exceeded: " + size);
+        }
+        this.stars[size] = stars;
+        this.forks[size] = forks;
+        this.daysSinceUpdate[size] = daysSinceUpdate;
+        this.languages[size] = language;
+        this.names[size] = name;
+        size++;
+    }
+
+    public double getScore(int index) {
+        return scores[index];
+    }
+
+    /**
+     * Copy the inputs of the given repositories into a new batch, in the given order, with the same threshold
+     * @param indices The indices of the repositories in this batch
+     * @param count The number of indices to copy
+     */
+    public ScoringBatch select(int[] indices, int count) {
+        ScoringBatch selection = new ScoringBatch(count);
+        for (int j = 0; j < count; j++) {
+            int i = indices[j];
+            selection.add(stars[i], forks[i], daysSinceUpdate[i], languages[i], names[i]);
+        }
+        selection.setScoreThreshold(scoreThreshold);
+        return selection;
+    }
+
+    /**
+     * Copy the inputs of every repository into a new batch with scores of its own and no threshold
+     */
+    public ScoringBatch copyInputs() {
+        ScoringBatch copy = new ScoringBatch(size);
+        for (int i = 0; i < size; i++) {
+            copy.add(stars[i], forks[i], daysSinceUpdate[i], languages[i], names[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * Mark a repository whose score is incomplete, lacking the expensive rules, and below the threshold
+     */
+    public void markPruned(int index) {
+        if (!pruned[index]) {
+            pruned[index] = true;
+            prunedCount++;
+        }
+    }
+
+    public boolean isPruned(int index) {
+        return pruned[index];
+    }
+
+    public void resetScores() {
+        Arrays.fill(scores, 0, size, 0.0);
+        Arrays.fill(pruned, 0, size, false);
+        prunedCount = 0;
+    }
+}
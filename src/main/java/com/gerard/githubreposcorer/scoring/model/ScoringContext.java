@@ -4,24 +4,189 @@ import lombok.Builder;
 import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
-@Builder
-@Getter
+/**
+ * Inputs of a repository and the results of the rules scoring it. Every rule writes to its own slot,
+ * assigned when the rule chain is built, so recording results allocates nothing. A context can be
+ * {@link #reset reset} and reused for the next repository.
+ */
 public class ScoringContext {
-    private final String name;
-    private final int stars;
-    private final int forks;
-    private final int daysSinceUpdate;
-    private final ConcurrentMap<String, ScoringResult> results = new ConcurrentHashMap<>();
 
-    public void addResult(ScoringResult result) {
-        this.results.put(result.ruleName(), result);
+    public static final int DEFAULT_SLOTS = 4;
+
+    private static final byte EMPTY = 0;
+    private static final byte SUCCESS = 1;
+    private static final byte FAILURE = 2;
+    private static final byte FALLBACK = 3;
+
+    @Getter
+    private String name;
+    /**
+     * Language of the repository, only set for explanations
+     */
+    @Getter
+    private String language;
+    @Getter
+    private int stars;
+    @Getter
+    private int forks;
+    @Getter
+    private int daysSinceUpdate;
+
+    private String[] ruleNames;
+    private double[] scores;
+    private double[] weights;
+    private String[] errorMessages;
+    private byte[] states;
+
+    @Builder
+    private ScoringContext(String name, String language, int stars, int forks, int daysSinceUpdate, int slots) {
+        this.name = name;
+        this.language = language;
+        this.stars = stars;
+        this.forks = forks;
+        this.daysSinceUpdate = daysSinceUpdate;
+        allocateSlots(slots > 0 ? slots : DEFAULT_SLOTS);
+    }
+
+    /**
+     * Clear all results and set the inputs of the next repository
+     */
+    public void reset(String name, int stars, int forks, int daysSinceUpdate) {
+        this.name = name;
+        this.language = null;
+        this.stars = stars;
+        this.forks = forks;
+        this.daysSinceUpdate = daysSinceUpdate;
+        Arrays.fill(states, EMPTY);
+    }
+
+    /**
+     * Make sure the slots 0..slots-1 exist. Must be called before rules write concurrently.
+     */
+    public void ensureSlots(int slots) {
+        if (slots > states.length) {
+            int previous = states.length;
+            ruleNames = Arrays.copyOf(ruleNames, slots);
+            scores = Arrays.copyOf(scores, slots);
+            weights = Arrays.copyOf(weights, slots);
+            errorMessages = Arrays.copyOf(errorMessages, slots);
+            states = Arrays.copyOf(states, slots);
+            Arrays.fill(states, previous, slots, EMPTY);
+        }
+    }
+
+    public void recordSuccess(int slot, String ruleName, double score, double weight) {
+        ensureSlots(slot + 1);
+        ruleNames[slot] = ruleName;
+        scores[slot] = score;
+        weights[slot] = weight;
+        errorMessages[slot] = null;
+        states[slot] = SUCCESS;
+    }
+
+    public void recordFailure(int slot, String ruleName, String errorMessage) {
+        ensureSlots(slot + 1);
+        ruleNames[slot] = ruleName;
+        scores[slot] = 0.0;
+        weights[slot] = 0.0;
+        errorMessages[slot] = errorMessage;
+        states[slot] = FAILURE;
+    }
+
+    /**
+     * Record a failed rule whose fallback score still counts in the weighted score
+     */
+    public void recordFallback(int slot, String ruleName, double score, double weight, String errorMessage) {
+        ensureSlots(slot + 1);
+        ruleNames[slot] = ruleName;
+        scores[slot] = score;
+        weights[slot] = weight;
+        errorMessages[slot] = errorMessage;
+        states[slot] = FALLBACK;
+    }
+
+    /**
+     * Copy of this context with the same inputs and results, for a rule that may have to be abandoned
+     * while it still writes to its context
+     */
+    public ScoringContext copy() {
+        ScoringContext copy = new ScoringContext(name, language, stars, forks, daysSinceUpdate, states.length);
+        copyResults(this, 0, states.length, copy);
+        return copy;
+    }
+
+    /**
+     * Copy the results of the slots from..to-1 of another context into this one
+     */
+    public void copyResults(ScoringContext source, int from, int to) {
+        ensureSlots(to);
+        copyResults(source, from, to, this);
+    }
+
+    private static void copyResults(ScoringContext source, int from, int to, ScoringContext target) {
+        int end = Math.min(to, source.states.length);
+        if (from >= end) {
+            return;
+        }
+        System.arraycopy(source.ruleNames, from, target.ruleNames, from, end - from);
+        System.arraycopy(source.scores, from, target.scores, from, end - from);
+        System.arraycopy(source.weights, from, target.weights, from, end - from);
+        System.arraycopy(source.errorMessages, from, target.errorMessages, from, end - from);
+        System.arraycopy(source.states, from, target.states, from, end - from);
     }
 
+    /**
+     * Read the result of a rule already executed on this context, used by rules depending on others
+     * @param ruleName The name of the rule
+     * @return The raw score of the rule, NaN when the rule has not run or has failed
+     */
+    public double getRuleScore(String ruleName) {
+        for (int slot = 0; slot < states.length; slot++) {
+            if (states[slot] == SUCCESS && ruleName.equals(ruleNames[slot])) {
+                return scores[slot];
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * @return The sum of score * weight of the successful and fallback results, in slot order
+     */
+    public double getWeightedScore() {
+        double total = 0.0;
+        for (int slot = 0; slot < states.length; slot++) {
+            if (states[slot] == SUCCESS || states[slot] == FALLBACK) {
+                total += scores[slot] * weights[slot];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Materialize the recorded results, in slot order. Allocates, meant for reports and tests.
+     */
     public List<ScoringResult> getResults() {
-        return new ArrayList<>(this.results.values());
+        List<ScoringResult> results = new ArrayList<>();
+        for (int slot = 0; slot < states.length; slot++) {
+            if (states[slot] == SUCCESS) {
+                results.add(ScoringResult.success(ruleNames[slot], scores[slot], weights[slot]));
+            } else if (states[slot] == FAILURE) {
+                results.add(ScoringResult.failure(ruleNames[slot], errorMessages[slot]));
+            } else if (states[slot] == FALLBACK) {
+                results.add(ScoringResult.fallback(ruleNames[slot], scores[slot], weights[slot], errorMessages[slot]));
+            }
+        }
+        return results;
+    }
+
+    private void allocateSlots(int slots) {
+        ruleNames = new String[slots];
+        scores = new double[slots];
+        weights = new double[slots];
+        errorMessages = new String[slots];
+        states = new byte[slots];
     }
-}
\ No newline at end of file
+}
@@ -1,20 +1,25 @@
 package com.gerard.githubreposcorer.scoring.model;
 
-import java.math.BigDecimal;
-
 public record ScoringResult(
         String ruleName,
-        BigDecimal score,
-        BigDecimal weight,
+        double score,
+        double weight,
         boolean success,
         String errorMessage
 ) {
 
-    public static ScoringResult success(String ruleName, BigDecimal score, BigDecimal weight) {
+    public static ScoringResult success(String ruleName, double score, double weight) {
         return new ScoringResult(ruleName, score, weight, true, null);
     }
 
     public static ScoringResult failure(String ruleName, String errorMessage) {
-        return new ScoringResult(ruleName, BigDecimal.ZERO, BigDecimal.ZERO, false, errorMessage);
+        return new ScoringResult(ruleName, 0.0, 0.0, false, errorMessage);
+    }
+
+    /**
+     * A failed rule whose fallback score still counts in the final score, such as a timed out rule
+     */
+    public static ScoringResult fallback(String ruleName, double score, double weight, String errorMessage) {
+        return new ScoringResult(ruleName, score, weight, false, errorMessage);
     }
 }
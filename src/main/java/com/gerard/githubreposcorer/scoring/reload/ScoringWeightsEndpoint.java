@@ -0,0 +1,72 @@
+package com.gerard.githubreposcorer.scoring.reload;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.exception.InvalidWeightsException;
+import com.gerard.githubreposcorer.scoring.strategy.ScoringStrategyV1;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint to read and change the scoring weights and caps at runtime.
+ * Omitted values keep their current setting. The endpoint is read-only unless
+ * {@code management.endpoint.scoringweights.access} is set to {@code unrestricted}.
+ */
+@Component
+@Endpoint(id = "scoringweights", defaultAccess = Access.READ_ONLY)
+@RequiredArgsConstructor
+public class ScoringWeightsEndpoint {
+
+    private final ScoringStrategyV1 scoringStrategy;
+
+    @ReadOperation
+    public ScoringWeights weights() {
+        return ScoringWeights.of(scoringStrategy.getCurrentWeights());
+    }
+
+    @WriteOperation
+    public ScoringWeights updateWeights(@Nullable Double starsWeight, @Nullable Integer starsCap,
+                                        @Nullable Double forksWeight, @Nullable Integer forksCap,
+                                        @Nullable Double freshnessWeight, @Nullable Integer freshnessHalfLifeDays) {
+        ScoringProperties candidate = scoringStrategy.getCurrentWeights();
+        if (starsWeight != null) {
+            candidate.getStars().setWeight(starsWeight);
+        }
+        if (starsCap != null) {
+            candidate.getStars().setCap(starsCap);
+        }
+        if (forksWeight != null) {
+            candidate.getForks().setWeight(forksWeight);
+        }
+        if (forksCap != null) {
+            candidate.getForks().setCap(forksCap);
+        }
+        if (freshnessWeight != null) {
+            candidate.getFreshness().setWeight(freshnessWeight);
+        }
+        if (freshnessHalfLifeDays != null) {
+            candidate.getFreshness().setHalfLifeDays(freshnessHalfLifeDays);
+        }
+
+        try {
+            scoringStrategy.reload(candidate);
+        } catch (InvalidWeightsException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return weights();
+    }
+
+    public record ScoringWeights(ScoringProperties.Stars stars,
+                                 ScoringProperties.Forks forks,
+                                 ScoringProperties.Freshness freshness) {
+
+        static ScoringWeights of(ScoringProperties properties) {
+            return new ScoringWeights(properties.getStars(), properties.getForks(), properties.getFreshness());
+        }
+    }
+}
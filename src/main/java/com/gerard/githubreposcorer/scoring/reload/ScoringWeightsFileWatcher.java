@@ -0,0 +1,119 @@
+package com.gerard.githubreposcorer.scoring.reload;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.strategy.ScoringStrategyV1;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+
+/**
+ * Applies the weights and caps of {@code scoring.reload.file} at startup and whenever the file changes.
+ * Invalid files are logged and ignored, the current rule chain stays in place.
+ */
+@Component
+@ConditionalOnProperty(prefix = "scoring.reload", name = "file")
+@Slf4j
+public class ScoringWeightsFileWatcher implements SmartLifecycle {
+
+    private final ScoringStrategyV1 scoringStrategy;
+    private final Path file;
+
+    private volatile WatchService watchService;
+
+    public ScoringWeightsFileWatcher(ScoringProperties scoringProperties, ScoringStrategyV1 scoringStrategy) {
+        this.scoringStrategy = scoringStrategy;
+        this.file = scoringProperties.getReload().getFile().toAbsolutePath();
+    }
+
+    @Override
+    public void start() {
+        if (Files.exists(file)) {
+            reloadFromFile();
+        }
+        WatchService service;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+            file.getParent().register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to watch scoring weights file " + file, e);
+        }
+        watchService = service;
+        Thread.ofPlatform()
+                .name("scoring-weights-watcher")
+                .daemon()
+                .start(() -> watch(service));
+        log.info("Watching scoring weights file {}", file);
+    }
+
+    @Override
+    public void stop() {
+        WatchService current = watchService;
+        watchService = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.warn("Failed to close scoring weights watcher: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return watchService != null;
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = key.pollEvents().stream()
+                        .anyMatch(event -> file.getFileName().equals(event.context()));
+                key.reset();
+                if (changed) {
+                    reloadFromFile();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Stopped
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void reloadFromFile() {
+        try {
+            List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                    .load("scoring-weights", new FileSystemResource(file));
+            // Only the reloadable sections are bound, onto the copies the candidate owns, the other
+            // sections of the candidate are shared with the running configuration
+            ScoringProperties candidate = scoringStrategy.getCurrentWeights();
+            Binder binder = new Binder(ConfigurationPropertySources.from(sources));
+            binder.bind("scoring.stars", Bindable.ofInstance(candidate.getStars()));
+            binder.bind("scoring.forks", Bindable.ofInstance(candidate.getForks()));
+            binder.bind("scoring.freshness", Bindable.ofInstance(candidate.getFreshness()));
+            scoringStrategy.reload(candidate);
+        } catch (Exception e) {
+            log.warn("Rejected scoring weights from {}: {}", file, e.getMessage());
+        }
+    }
+}
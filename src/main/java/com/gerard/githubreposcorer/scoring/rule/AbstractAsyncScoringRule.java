@@ -0,0 +1,80 @@
+package com.gerard.githubreposcorer.scoring.rule;
+
+import com.gerard.githubreposcorer.scoring.model.ScoringContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Base of the asynchronous rules scoring one fetched value. Subclasses only start their request;
+ * this class bounds the requests in flight and records the result or the failure in the rule slot.
+ */
+@Slf4j
+public abstract class AbstractAsyncScoringRule implements AsyncScoringRule {
+
+    private final double weight;
+    private final InFlightLimiter limiter;
+    private int slot;
+
+    protected AbstractAsyncScoringRule(double weight, int maxInFlight) {
+        this.weight = weight;
+        this.limiter = new InFlightLimiter(maxInFlight);
+    }
+
+    /**
+     * Start fetching the data of the repository of the context, without blocking
+     * @param context The scoring context
+     * @return Completes with the raw score of the repository, before weighting
+     */
+    protected abstract CompletionStage<Double> fetchScore(ScoringContext context);
+
+    @Override
+    public CompletionStage<Void> executeAsync(ScoringContext context) {
+        CompletableFuture<Double> fetch = limiter.submit(() -> fetchScore(context));
+        CompletableFuture<Void> recorded = fetch
+                .handle((score, error) -> {
+                    if (error == null) {
+                        context.recordSuccess(slot, getName(), score, weight);
+                    } else {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause()
+                                : error;
+                        log.warn("Error executing rule {} for {}: {}", getName(), context.getName(), cause.getMessage());
+                        context.recordFailure(slot, getName(), cause.getMessage());
+                    }
+                    return null;
+                });
+        // Cancelling the returned stage, as a rule timeout does, cancels the fetch
+        recorded.whenComplete((ignored, error) -> {
+            if (recorded.isCancelled()) {
+                fetch.cancel(true);
+            }
+        });
+        return recorded;
+    }
+
+    @Override
+    public int bindSlots(int firstSlot) {
+        slot = firstSlot;
+        return firstSlot + 1;
+    }
+
+    /**
+     * @return The number of requests of this rule currently in flight
+     */
+    public int getInFlight() {
+        return limiter.getInFlight();
+    }
+
+    @Override
+    public double getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+}
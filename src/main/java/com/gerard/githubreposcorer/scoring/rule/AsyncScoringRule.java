@@ -0,0 +1,78 @@
+package com.gerard.githubreposcorer.scoring.rule;
+
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import com.gerard.githubreposcorer.scoring.model.ScoringContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Scoring rule waiting on I/O, such as contributor counts, open issues or release cadence fetched
+ * from GitHub. The rule starts its request and returns; the result is recorded in the context when
+ * the request completes, so no scoring thread is held while waiting. {@link CompositeScoringRule}
+ * composes the returned stages instead of calling {@link #execute}.
+ */
+public interface AsyncScoringRule extends ScoringRule {
+
+    /**
+     * Start the rule and record its result in the context once the data it needs has arrived
+     * @param context The scoring context
+     * @return Completes when the result is recorded
+     */
+    CompletionStage<Void> executeAsync(ScoringContext context);
+
+    /**
+     * Blocking adapter for synchronous callers, waits for {@link #executeAsync} on the calling thread
+     */
+    @Override
+    default void execute(ScoringContext context) {
+        executeAsync(context).toCompletableFuture().join();
+    }
+
+    /**
+     * Start the rule for every repository of the batch before waiting for any of them, so the requests
+     * overlap. A repository whose rule fails contributes nothing, like a failed rule result.
+     * Cancelling the returned stage cancels the executions still running.
+     * @param batch The scoring batch
+     * @return Completes with the weighted score of this rule per repository, in batch order
+     */
+    default CompletionStage<double[]> calculateScoresAsync(ScoringBatch batch) {
+        int size = batch.getSize();
+        double[] weightedScores = new double[size];
+        CompletableFuture<?>[] executions = new CompletableFuture<?>[size];
+        CompletableFuture<?>[] pending = new CompletableFuture<?>[size];
+        for (int i = 0; i < size; i++) {
+            ScoringContext context = ScoringContext.builder()
+                    .name(batch.getNames()[i])
+                    .language(batch.getLanguages()[i])
+                    .stars(batch.getStars()[i])
+                    .forks(batch.getForks()[i])
+                    .daysSinceUpdate(batch.getDaysSinceUpdate()[i])
+                    .build();
+            int index = i;
+            executions[i] = executeAsync(context).toCompletableFuture();
+            pending[i] = executions[i]
+                    .thenRun(() -> weightedScores[index] = context.getWeightedScore())
+                    .exceptionally(e -> null);
+        }
+        CompletableFuture<double[]> result = CompletableFuture.allOf(pending).thenApply(ignored -> weightedScores);
+        // Cancelling the batch, as a timeout does, cancels the executions still running
+        result.whenComplete((ignored, error) -> {
+            if (result.isCancelled()) {
+                for (CompletableFuture<?> execution : executions) {
+                    execution.cancel(true);
+                }
+            }
+        });
+        return result;
+    }
+
+    @Override
+    default void calculateScores(ScoringBatch batch) {
+        double[] weightedScores = calculateScoresAsync(batch).toCompletableFuture().join();
+        double[] scores = batch.getScores();
+        for (int i = 0; i < batch.getSize(); i++) {
+            scores[i] += weightedScores[i];
+        }
+    }
+}
@@ -1,51 +1,559 @@
 package com.gerard.githubreposcorer.scoring.rule;
 
+import com.gerard.githubreposcorer.scoring.compiler.ScoreHandles;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
 import com.gerard.githubreposcorer.scoring.model.ScoringContext;
-import com.gerard.githubreposcorer.scoring.model.ScoringResult;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigDecimal;
+import java.lang.invoke.MethodHandle;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
-@RequiredArgsConstructor
+/**
+ * Runs a list of rules against the same context. Rules declaring {@link ScoringRule#getDependencies()
+ * dependencies} run in a later level than the rules they read, levels run in order. Within a level, cheap
+ * rules are fused into a single pass on the calling thread; only rules that are declared
+ * {@link RuleCost#EXPENSIVE}, or whose measured execution time exceeds the inline threshold, are fanned
+ * out to the executor. {@link AsyncScoringRule Asynchronous rules} are started first and composed without blocking.
+ * Rules running off the calling thread are bounded by their {@link RuleBudget}, and so is the first run of a
+ * budgeted rule of unknown cost, before it has been measured.
+ */
 @Slf4j
-public class CompositeScoringRule implements ScoringRule {
+public class CompositeScoringRule implements AsyncScoringRule {
+
+    public static final Duration DEFAULT_INLINE_THRESHOLD = Duration.of(20, ChronoUnit.MICROS);
+
+    /**
+     * Weight of the newest sample in the moving average of the measured execution time, as a shift
+     */
+    private static final int EWMA_SHIFT = 3;
+
+    private static final CompletionStage<Void> COMPLETED = CompletableFuture.completedStage(null);
 
     private final List<ScoringRule> rules;
     private final ExecutorService executorService;
+    private final long inlineThresholdNanos;
+    private final AtomicLongArray measuredNanos;
+    private final RuleBudget[] budgets;
+    private final RuleListener listener;
+    private final int[] ruleSlots;
+    /**
+     * Rule indices by dependency level, see {@link #buildLevels}
+     */
+    private final int[][] levels;
+    private int slot;
+    private int slotCount;
+
+    public CompositeScoringRule(List<ScoringRule> rules, ExecutorService executorService) {
+        this(rules, executorService, DEFAULT_INLINE_THRESHOLD);
+    }
+
+    public CompositeScoringRule(List<ScoringRule> rules, ExecutorService executorService, Duration inlineThreshold) {
+        this(rules, executorService, inlineThreshold, rule -> RuleBudget.UNLIMITED, RuleListener.NONE);
+    }
+
+    /**
+     * @param budgets  The time budget of each rule, applied when the rule runs off the calling thread
+     * @param listener Notified of the rules skipped or timed out
+     */
+    public CompositeScoringRule(List<ScoringRule> rules, ExecutorService executorService, Duration inlineThreshold,
+                                Function<ScoringRule, RuleBudget> budgets, RuleListener listener) {
+        this.rules = List.copyOf(rules);
+        this.budgets = this.rules.stream().map(budgets).toArray(RuleBudget[]::new);
+        this.listener = listener;
+        this.executorService = executorService;
+        this.inlineThresholdNanos = inlineThreshold.toNanos();
+        this.measuredNanos = new AtomicLongArray(this.rules.size());
+        this.ruleSlots = new int[this.rules.size()];
+        this.levels = buildLevels(this.rules);
+        bindSlots(0);
+    }
+
+    /**
+     * Group the rules by dependency depth: level 0 holds the rules without dependencies, level n the rules
+     * whose deepest dependency is in level n - 1. Rules keep their list order within a level.
+     *
+     * @throws IllegalArgumentException If a dependency is not in the list or the dependencies form a cycle
+     */
+    static int[][] buildLevels(List<ScoringRule> rules) {
+        Map<String, Integer> indexByName = new HashMap<>();
+        for (int i = 0; i < rules.size(); i++) {
+            indexByName.put(rules.get(i).getName(), i);
+        }
+        int[][] dependencies = new int[rules.size()][];
+        for (int i = 0; i < rules.size(); i++) {
+            ScoringRule rule = rules.get(i);
+            dependencies[i] = rule.getDependencies().stream()
+                    .mapToInt(name -> {
+                        Integer index = indexByName.get(name);
+                        if (index == null) {
+                            throw new IllegalArgumentException(
+                                    "Unknown dependency " + name + " of scoring rule " + rule.getName());
+                        }
+                        return index;
+                    })
+                    .toArray();
+        }
+
+        int[] depths = new int[rules.size()];
+        Arrays.fill(depths, -1);
+        int maxDepth = 0;
+        for (int i = 0; i < rules.size(); i++) {
+            maxDepth = Math.max(maxDepth, depth(i, rules, dependencies, depths, new boolean[rules.size()]));
+        }
+
+        int[][] levels = new int[rules.isEmpty() ? 0 : maxDepth + 1][];
+        for (int level = 0; level < levels.length; level++) {
+            int depth = level;
+            levels[level] = IntStream.range(0, rules.size()).filter(i -> depths[i] == depth).toArray();
+        }
+        return levels;
+    }
+
+    private static int depth(int index, List<ScoringRule> rules, int[][] dependencies, int[] depths, boolean[] visiting) {
+        if (depths[index] >= 0) {
+            return depths[index];
+        }
+        if (visiting[index]) {
+            throw new IllegalArgumentException("Cycle in the dependencies of scoring rule " + rules.get(index).getName());
+        }
+        visiting[index] = true;
+        int depth = 0;
+        for (int dependency : dependencies[index]) {
+            depth = Math.max(depth, depth(dependency, rules, dependencies, depths, visiting) + 1);
+        }
+        visiting[index] = false;
+        depths[index] = depth;
+        return depth;
+    }
+
+    /**
+     * Bind the slots of the child rules in order, then the slot of this composite for its own failures
+     */
+    @Override
+    public int bindSlots(int firstSlot) {
+        int next = firstSlot;
+        for (int i = 0; i < rules.size(); i++) {
+            ruleSlots[i] = next;
+            next = rules.get(i).bindSlots(next);
+        }
+        slot = next;
+        slotCount = next + 1;
+        return slotCount;
+    }
+
+    /**
+     * @return The number of context slots used by the chain, starting from slot 0
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Evaluates the dependency levels in order. Within a level, starts the asynchronous rules and fans out
+     * the expensive ones, then runs the cheap rules inline. The returned stage completes when every rule
+     * has recorded its result, without any thread waiting for the asynchronous ones.
+     */
+    @Override
+    public CompletionStage<Void> executeAsync(ScoringContext context) {
+        // Size the context up front, fanned out and asynchronous rules write their slots concurrently
+        context.ensureSlots(slotCount);
+        return executeLevels(0, context);
+    }
+
+    private CompletionStage<Void> executeLevels(int firstLevel, ScoringContext context) {
+        for (int level = firstLevel; level < levels.length; level++) {
+            CompletionStage<Void> pending = executeLevel(levels[level], context);
+            if (pending != COMPLETED) {
+                // The next level reads the results of this one. It starts on the executor rather than on the
+                // thread completing this level, which may be the JDK timer thread enforcing the budgets
+                int nextLevel = level + 1;
+                return nextLevel == levels.length
+                        ? pending
+                        : pending.thenComposeAsync(ignored -> executeLevels(nextLevel, context), this::executeContinuation);
+            }
+        }
+        return COMPLETED;
+    }
+
+    private CompletionStage<Void> executeLevel(int[] level, ScoringContext context) {
+        try {
+            // Start the I/O and fan out the expensive rules first so they overlap with the inline pass.
+            // An unbudgeted rule alone in its level is waited for anyway, so it runs inline rather than paying
+            // a handoff; a budgeted one is always fanned out, only off the calling thread can it be timed out.
+            List<CompletableFuture<Void>> pending = null;
+            boolean[] started = null;
+            for (int i : level) {
+                CompletableFuture<Void> future = null;
+                if (rules.get(i) instanceof AsyncScoringRule
+                        || (shouldFanOut(i) && level.length > 1)
+                        || (budgets[i].isLimited() && (shouldFanOut(i) || isUnmeasured(i)))) {
+                    future = startWithinBudget(i, context);
+                }
+                if (future != null) {
+                    if (pending == null) {
+                        pending = new ArrayList<>();
+                        started = new boolean[rules.size()];
+                    }
+                    pending.add(future);
+                    started[i] = true;
+                }
+            }
+
+            // Fused single pass over the cheap rules on the calling thread
+            for (int i : level) {
+                if (started == null || !started[i]) {
+                    executeRule(i, context);
+                }
+            }
+
+            return pending != null
+                    ? CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                    : COMPLETED;
+
+        } catch (Exception e) {
+            log.error("Error executing composite scoring rule {}: {}", getName(), e.getMessage(), e);
+            context.recordFailure(slot, getName(), e.getMessage());
+            return COMPLETED;
+        }
+    }
 
     @Override
     public void execute(ScoringContext context) {
+        CompletionStage<Void> completion = executeAsync(context);
+        // A chain of inline rules is already complete, skip the join and its allocation
+        if (completion != COMPLETED) {
+            completion.toCompletableFuture().join();
+        }
+    }
+
+    /**
+     * Start an asynchronous or fanned out rule. A rule with a limited budget writes to a copy of the context,
+     * copied back if the rule completes in time. Otherwise the rule is cancelled and its fallback score
+     * recorded, and a late completion only ever writes to the abandoned copy. The fallback score is also
+     * recorded when the saturated executor rejects the rule.
+     */
+    private CompletableFuture<Void> startWithinBudget(int index, ScoringContext context) {
+        RuleBudget budget = budgets[index];
+        if (!budget.isLimited()) {
+            return start(index, context);
+        }
+        ScoringContext ruleContext = context.copy();
+        CompletableFuture<Void> execution = start(index, ruleContext);
+        return execution.copy()
+                .orTimeout(budget.timeout().toNanos(), TimeUnit.NANOSECONDS)
+                .handle((ignored, error) -> {
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof TimeoutException) {
+                        execution.cancel(true);
+                        recordTimeout(index, context);
+                    } else if (cause instanceof RejectedExecutionException) {
+                        recordRejection(index, context);
+                    } else {
+                        context.copyResults(ruleContext, ruleSlots[index], slotEnd(index));
+                    }
+                    return null;
+                });
+    }
+
+    private CompletableFuture<Void> start(int index, ScoringContext context) {
+        return rules.get(index) instanceof AsyncScoringRule asyncRule
+                ? startAsyncRule(index, asyncRule, context)
+                : fanOut(index, context);
+    }
+
+    private CompletableFuture<Void> fanOut(int index, ScoringContext context) {
+        CompletableFuture<Void> execution = new CompletableFuture<>();
+        Future<?> task;
         try {
-            // Execute all rules in parallel
-            List<CompletableFuture<Void>> futures = rules.stream()
-                    .map(rule -> CompletableFuture.runAsync(() -> {
-                        try {
-                            rule.execute(context);
-                        } catch (Exception e) {
-                            log.error("Error executing rule {}: {}", rule.getName(), e.getMessage(), e);
-                            ScoringResult result = ScoringResult.failure(rule.getName(), e.getMessage());
-                            context.addResult(result);
-                        }
-                    }, executorService))
-                    .toList();
+            task = executorService.submit(() -> {
+                executeRule(index, context);
+                execution.complete(null);
+            });
+        } catch (RejectedExecutionException e) {
+            if (budgets[index].isLimited()) {
+                return CompletableFuture.failedFuture(e);
+            }
+            // An unbudgeted rule runs on the calling thread, as it would inline
+            executeRule(index, context);
+            return CompletableFuture.completedFuture(null);
+        }
+        // Cancelling the execution, as a timeout does, interrupts the rule
+        execution.whenComplete((ignored, error) -> {
+            if (execution.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return execution;
+    }
 
-            // Wait for all rules to complete
-            futures.forEach(CompletableFuture::join);
+    private CompletableFuture<Void> startAsyncRule(int index, AsyncScoringRule rule, ScoringContext context) {
+        CompletableFuture<Void> execution;
+        try {
+            execution = rule.executeAsync(context).toCompletableFuture();
+        } catch (Exception e) {
+            execution = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<Void> ruleExecution = execution;
+        CompletableFuture<Void> recorded = execution.exceptionally(error -> {
+            Throwable cause = unwrap(error);
+            log.error("Error executing rule {}: {}", rule.getName(), cause.getMessage(), cause);
+            context.recordFailure(ruleSlots[index], rule.getName(), cause.getMessage());
+            return null;
+        });
+        // Cancelling the recorded stage, as a timeout does, cancels the rule
+        recorded.whenComplete((ignored, error) -> {
+            if (recorded.isCancelled()) {
+                ruleExecution.cancel(true);
+            }
+        });
+        return recorded;
+    }
+
+    private void recordTimeout(int index, ScoringContext context) {
+        ScoringRule rule = rules.get(index);
+        RuleBudget budget = budgets[index];
+        context.recordFallback(ruleSlots[index], rule.getName(), budget.fallbackScore(), rule.getWeight(),
+                timeoutMessage(budget));
+        listener.onTimeout(rule);
+    }
+
+    private void recordRejection(int index, ScoringContext context) {
+        ScoringRule rule = rules.get(index);
+        context.recordFallback(ruleSlots[index], rule.getName(), budgets[index].fallbackScore(), rule.getWeight(),
+                "Rejected by the saturated scoring executor");
+        listener.onRejected(rule);
+    }
+
+    /**
+     * Run a continuation on the executor, or on the completing thread when the executor is saturated
+     */
+    private void executeContinuation(Runnable continuation) {
+        try {
+            executorService.execute(continuation);
+        } catch (RejectedExecutionException e) {
+            continuation.run();
+        }
+    }
+
+    private static String timeoutMessage(RuleBudget budget) {
+        return "Timed out after " + budget.timeout().toMillis() + " ms";
+    }
 
+    /**
+     * @return The slot after the last one of the rule at the given index
+     */
+    private int slotEnd(int index) {
+        return index + 1 < rules.size() ? ruleSlots[index + 1] : slot;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Whether the rule at the given index should run on the executor rather than inline
+     */
+    boolean shouldFanOut(int index) {
+        return switch (rules.get(index).getCost()) {
+            case CHEAP -> false;
+            case EXPENSIVE -> true;
+            case UNKNOWN -> measuredNanos.get(index) > inlineThresholdNanos;
+        };
+    }
+
+    /**
+     * Whether the rule's cost is unknown and it has not completed a run yet, so it may hang on its first call
+     */
+    private boolean isUnmeasured(int index) {
+        return rules.get(index).getCost() == RuleCost.UNKNOWN && measuredNanos.get(index) == 0L;
+    }
+
+    private void executeRule(int index, ScoringContext context) {
+        ScoringRule rule = rules.get(index);
+        boolean measured = rule.getCost() == RuleCost.UNKNOWN;
+        long start = measured ? System.nanoTime() : 0L;
+        try {
+            rule.execute(context);
         } catch (Exception e) {
-            log.error("Error executing parallel scoring rule {}: {}", getName(), e.getMessage(), e);
-            ScoringResult result = ScoringResult.failure(getName(), e.getMessage());
-            context.addResult(result);
+            log.error("Error executing rule {}: {}", rule.getName(), e.getMessage(), e);
+            context.recordFailure(ruleSlots[index], rule.getName(), e.getMessage());
+        }
+        if (measured) {
+            recordExecutionTime(index, System.nanoTime() - start);
+        }
+    }
+
+    private void recordExecutionTime(int index, long nanos) {
+        long previous = measuredNanos.get(index);
+        // The first sample seeds the average, later samples move it by 1/8th; lost updates are harmless
+        long average = previous == 0L ? nanos : previous + ((nanos - previous) >> EWMA_SHIFT);
+        measuredNanos.lazySet(index, Math.max(1L, average));
+    }
+
+    /**
+     * Scores the batch rule by rule, or repository by repository when rules depend on others. With a score
+     * threshold, expensive rules only run for the repositories that can still reach it after the cheap rules,
+     * the others are marked pruned.
+     */
+    @Override
+    public void calculateScores(ScoringBatch batch) {
+        if (levels.length > 1) {
+            // Dependent rules read the results of their dependencies, which only a context keeps, so every
+            // repository goes through the levels with its own context, all started before any is waited for
+            AsyncScoringRule.super.calculateScores(batch);
+            return;
+        }
+        boolean[] expensive = new boolean[rules.size()];
+        boolean anyExpensive = false;
+        double expensiveBound = 0.0;
+        for (int i = 0; i < rules.size(); i++) {
+            ScoringRule rule = rules.get(i);
+            if (rule instanceof AsyncScoringRule || shouldFanOut(i)) {
+                expensive[i] = true;
+                anyExpensive = true;
+                if (rule.getWeight() != 0.0) {
+                    expensiveBound += rule.getWeight() * rule.getMaxScore();
+                }
+            }
+        }
+        if (!anyExpensive || batch.getScoreThreshold() == Double.NEGATIVE_INFINITY || !Double.isFinite(expensiveBound)) {
+            calculateScores(batch, null);
+            return;
+        }
+
+        boolean[] cheap = new boolean[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            cheap[i] = !expensive[i];
+        }
+        calculateScores(batch, cheap);
+
+        double[] scores = batch.getScores();
+        int[] candidates = new int[batch.getSize()];
+        int candidateCount = 0;
+        for (int i = 0; i < batch.getSize(); i++) {
+            if (scores[i] + expensiveBound < batch.getScoreThreshold()) {
+                batch.markPruned(i);
+            } else {
+                candidates[candidateCount++] = i;
+            }
+        }
+        int skipped = batch.getSize() - candidateCount;
+        if (skipped > 0) {
+            for (int i = 0; i < rules.size(); i++) {
+                if (expensive[i]) {
+                    listener.onSkipped(rules.get(i), skipped);
+                }
+            }
+        }
+        if (candidateCount == 0) {
+            return;
+        }
+        if (candidateCount == batch.getSize()) {
+            calculateScores(batch, expensive);
+            return;
+        }
+        ScoringBatch candidateBatch = batch.select(candidates, candidateCount);
+        calculateScores(candidateBatch, expensive);
+        for (int j = 0; j < candidateCount; j++) {
+            scores[candidates[j]] += candidateBatch.getScore(j);
+        }
+    }
+
+    /**
+     * Bound the batch pass of an asynchronous rule by its budget. On timeout the pass is cancelled and
+     * every repository of the batch gets the fallback score.
+     */
+    private CompletableFuture<double[]> withinBudget(int index, CompletableFuture<double[]> execution, int size) {
+        RuleBudget budget = budgets[index];
+        if (!budget.isLimited()) {
+            return execution;
+        }
+        return execution.copy()
+                .orTimeout(budget.timeout().toNanos(), TimeUnit.NANOSECONDS)
+                .exceptionally(error -> {
+                    Throwable cause = unwrap(error);
+                    if (!(cause instanceof TimeoutException)) {
+                        throw new CompletionException(cause);
+                    }
+                    execution.cancel(true);
+                    ScoringRule rule = rules.get(index);
+                    log.warn("Scoring rule {} {} for a batch of {} repositories", rule.getName(),
+                            timeoutMessage(budget).toLowerCase(), size);
+                    listener.onTimeout(rule);
+                    double[] fallback = new double[size];
+                    Arrays.fill(fallback, rule.getWeight() * budget.fallbackScore());
+                    return fallback;
+                });
+    }
+
+    /**
+     * Add the weighted scores of the selected rules to the batch, all rules when the selection is null
+     */
+    private void calculateScores(ScoringBatch batch, boolean[] selected) {
+        // Start the I/O of the asynchronous rules for the whole batch so it overlaps with the other passes
+        List<CompletableFuture<double[]>> pending = null;
+        for (int i = 0; i < rules.size(); i++) {
+            if ((selected == null || selected[i]) && rules.get(i) instanceof AsyncScoringRule asyncRule) {
+                if (pending == null) {
+                    pending = new ArrayList<>();
+                }
+                pending.add(withinBudget(i, asyncRule.calculateScoresAsync(batch).toCompletableFuture(), batch.getSize()));
+            }
+        }
+
+        // Each other rule makes one tight pass over the whole batch on the calling thread
+        for (int i = 0; i < rules.size(); i++) {
+            if ((selected == null || selected[i]) && !(rules.get(i) instanceof AsyncScoringRule)) {
+                rules.get(i).calculateScores(batch);
+            }
+        }
+
+        if (pending != null) {
+            // Rules completing concurrently write their own arrays, only the calling thread adds to the scores
+            double[] scores = batch.getScores();
+            for (CompletableFuture<double[]> future : pending) {
+                double[] weightedScores = future.join();
+                for (int i = 0; i < batch.getSize(); i++) {
+                    scores[i] += weightedScores[i];
+                }
+            }
+        }
+    }
+
+    @Override
+    public Optional<MethodHandle> toScoreHandle() {
+        List<MethodHandle> terms = new ArrayList<>(rules.size());
+        for (ScoringRule rule : rules) {
+            Optional<MethodHandle> term = rule.toScoreHandle();
+            if (term.isEmpty()) {
+                return Optional.empty();
+            }
+            terms.add(term.get());
         }
+        return Optional.of(ScoreHandles.sum(terms));
     }
 
     @Override
-    public BigDecimal getWeight() {
-        return BigDecimal.ZERO; // Composite rule has weight 0, individual rules handle their own weights
+    public double getWeight() {
+        return 0.0; // Composite rule has weight 0, individual rules handle their own weights
     }
 
     @Override
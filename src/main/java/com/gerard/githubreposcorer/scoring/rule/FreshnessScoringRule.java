@@ -1,38 +1,76 @@
 package com.gerard.githubreposcorer.scoring.rule;
 
 import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.compiler.ScoreHandles;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
 import com.gerard.githubreposcorer.scoring.model.ScoringContext;
-import com.gerard.githubreposcorer.scoring.model.ScoringResult;
 import com.gerard.githubreposcorer.util.MathUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigDecimal;
+import java.lang.invoke.MethodHandle;
+import java.util.Optional;
+import java.util.function.IntToDoubleFunction;
 
 @RequiredArgsConstructor
 @Slf4j
 public class FreshnessScoringRule implements ScoringRule {
 
     private final ScoringProperties.Freshness freshnessConfig;
+    private final IntToDoubleFunction normalizer;
+    private int slot;
+
+    public FreshnessScoringRule(ScoringProperties.Freshness freshnessConfig) {
+        this(freshnessConfig, days -> MathUtils.freshnessFromDays(days, freshnessConfig.getHalfLifeDays()));
+    }
 
     @Override
     public void execute(ScoringContext context) {
         try {
             // Calculate freshness score using exponential decay
-            BigDecimal score = MathUtils.freshnessFromDays(context.getDaysSinceUpdate(), freshnessConfig.getHalfLifeDays());
+            double score = normalizer.applyAsDouble(context.getDaysSinceUpdate());
             
-            ScoringResult result = ScoringResult.success(getName(), score, BigDecimal.valueOf(freshnessConfig.getWeight()));
-            context.addResult(result);
+            context.recordSuccess(slot, getName(), score, freshnessConfig.getWeight());
         } catch (Exception e) {
             log.error("Error executing freshness scoring rule: {}", e.getMessage(), e);
-            ScoringResult result = ScoringResult.failure(getName(), e.getMessage());
-            context.addResult(result);
+            context.recordFailure(slot, getName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void calculateScores(ScoringBatch batch) {
+        double weight = freshnessConfig.getWeight();
+        int[] daysSinceUpdate = batch.getDaysSinceUpdate();
+        double[] scores = batch.getScores();
+
+        for (int i = 0; i < batch.getSize(); i++) {
+            try {
+                scores[i] += weight * normalizer.applyAsDouble(daysSinceUpdate[i]);
+            } catch (Exception e) {
+                log.error("Error executing freshness scoring rule: {}", e.getMessage(), e);
+            }
         }
     }
 
     @Override
-    public BigDecimal getWeight() {
-        return BigDecimal.valueOf(freshnessConfig.getWeight());
+    public int bindSlots(int firstSlot) {
+        slot = firstSlot;
+        return firstSlot + 1;
+    }
+
+    @Override
+    public Optional<MethodHandle> toScoreHandle() {
+        return Optional.of(ScoreHandles.weighted(getName(), normalizer, freshnessConfig.getWeight(), ScoreHandles.DAYS_SINCE_UPDATE));
+    }
+
+    @Override
+    public RuleCost getCost() {
+        return RuleCost.CHEAP;
+    }
+
+    @Override
+    public double getWeight() {
+        return freshnessConfig.getWeight();
     }
 
     @Override
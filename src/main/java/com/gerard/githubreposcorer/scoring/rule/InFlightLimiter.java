@@ -0,0 +1,102 @@
+package com.gerard.githubreposcorer.scoring.rule;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Caps the requests an asynchronous rule has in flight. Requests beyond the limit wait in a queue,
+ * not on a thread, and are started by the completion of an earlier request. A single thread drains
+ * the queue at a time, so requests completing synchronously do not recurse.
+ */
+public final class InFlightLimiter {
+
+    private final int maxInFlight;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    public InFlightLimiter(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in-flight requests must be at least 1, but is: " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Start the request now if a permit is free, otherwise once an earlier request completes
+     *
+     * @param request Starts the request, called at most once
+     * @return Completes with the outcome of the request. Cancelling it cancels the request, or drops it
+     *         while it waits.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<? extends CompletionStage<T>> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        waiting.add(() -> start(request, result));
+        drain();
+        return result;
+    }
+
+    private <T> void start(Supplier<? extends CompletionStage<T>> request, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            // Cancelled while waiting, give the permit back without starting the request
+            inFlight.decrementAndGet();
+            return;
+        }
+        CompletionStage<T> stage;
+        try {
+            stage = request.get();
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        CompletionStage<T> started = stage;
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                started.toCompletableFuture().cancel(true);
+            }
+        });
+        stage.whenComplete((value, error) -> {
+            inFlight.decrementAndGet();
+            drain();
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            // The draining thread will see this request before it stops
+            return;
+        }
+        int missed = 1;
+        do {
+            // Only the draining thread takes permits, so checking then incrementing cannot over-admit
+            while (inFlight.get() < maxInFlight) {
+                Runnable next = waiting.poll();
+                if (next == null) {
+                    break;
+                }
+                inFlight.incrementAndGet();
+                next.run();
+            }
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * @return The number of started requests that have not completed yet
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+}
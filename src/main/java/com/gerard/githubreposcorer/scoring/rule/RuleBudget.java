@@ -0,0 +1,19 @@
+package com.gerard.githubreposcorer.scoring.rule;
+
+import java.time.Duration;
+
+/**
+ * Time a rule running off the calling thread may take before it is cancelled, and the score it is
+ * given then. Rules running inline on the calling thread are cheap and not bounded.
+ *
+ * @param timeout       The budget of the rule, null for no limit
+ * @param fallbackScore The raw score recorded when the rule runs out of time
+ */
+public record RuleBudget(Duration timeout, double fallbackScore) {
+
+    public static final RuleBudget UNLIMITED = new RuleBudget(null, 0.0);
+
+    public boolean isLimited() {
+        return timeout != null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.gerard.githubreposcorer.scoring.rule;
+
+/**
+ * Declared execution cost of a scoring rule, used by {@link CompositeScoringRule} to decide
+ * whether a rule runs inline on the calling thread or is fanned out to the scoring executor.
+ */
+public enum RuleCost {
+    /**
+     * Pure computation, always cheaper than a task handoff, runs inline
+     */
+    CHEAP,
+    /**
+     * Slow or blocking work, always fanned out
+     */
+    EXPENSIVE,
+    /**
+     * Not declared, decided from the measured execution time
+     */
+    UNKNOWN
+}
@@ -0,0 +1,33 @@
+package com.gerard.githubreposcorer.scoring.rule;
+
+/**
+ * Notified by {@link CompositeScoringRule} of the rules it did not run to completion, typically to
+ * count them in metrics. Called from scoring threads, implementations must be thread-safe and fast.
+ */
+public interface RuleListener {
+
+    RuleListener NONE = new RuleListener() {
+    };
+
+    /**
+     * An expensive rule was skipped for repositories that could not reach the score threshold of their batch
+     * @param rule The skipped rule
+     * @param repositories The number of repositories the rule was skipped for
+     */
+    default void onSkipped(ScoringRule rule, int repositories) {
+    }
+
+    /**
+     * A rule ran out of its {@link RuleBudget} and was cancelled, its fallback score was recorded instead
+     * @param rule The timed out rule
+     */
+    default void onTimeout(ScoringRule rule) {
+    }
+
+    /**
+     * A budgeted rule was rejected by the saturated executor, its fallback score was recorded instead
+     * @param rule The rejected rule
+     */
+    default void onRejected(ScoringRule rule) {
+    }
+}
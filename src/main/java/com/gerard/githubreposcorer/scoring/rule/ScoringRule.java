@@ -1,22 +1,87 @@
 package com.gerard.githubreposcorer.scoring.rule;
 
+import com.gerard.githubreposcorer.scoring.compiler.ScoreHandles;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
 import com.gerard.githubreposcorer.scoring.model.ScoringContext;
 
-import java.math.BigDecimal;
+import java.lang.invoke.MethodHandle;
+import java.util.Optional;
+import java.util.Set;
 
 public interface ScoringRule {
-    
+
     /**
      * Execute the scoring rule and add the result to the context
      * @param context The scoring context
      */
     void execute(ScoringContext context);
-    
+
+    /**
+     * Add the weighted score of this rule to every repository of the batch.
+     * The default implementation executes the rule once per repository, reusing one context.
+     * @param batch The scoring batch
+     */
+    default void calculateScores(ScoringBatch batch) {
+        int[] stars = batch.getStars();
+        int[] forks = batch.getForks();
+        int[] daysSinceUpdate = batch.getDaysSinceUpdate();
+        double[] scores = batch.getScores();
+
+        ScoringContext context = ScoringContext.builder().build();
+        for (int i = 0; i < batch.getSize(); i++) {
+            context.reset(null, stars[i], forks[i], daysSinceUpdate[i]);
+            execute(context);
+            scores[i] += context.getWeightedScore();
+        }
+    }
+
+    /**
+     * Assign result slots in the scoring context to this rule. Called once when the rule chain is built.
+     * @param firstSlot The first free slot
+     * @return The next free slot
+     */
+    int bindSlots(int firstSlot);
+
+    /**
+     * Describe the weighted score of this rule as a method handle of type
+     * {@link ScoreHandles#SCORE_TYPE}, used to compile the rule chain into a single function
+     * @return The score handle, or empty when the rule can only be interpreted
+     */
+    default Optional<MethodHandle> toScoreHandle() {
+        return Optional.empty();
+    }
+
+    /**
+     * Get the declared execution cost of this rule
+     * @return The rule cost, {@link RuleCost#UNKNOWN} to let the composite measure it
+     */
+    default RuleCost getCost() {
+        return RuleCost.UNKNOWN;
+    }
+
+    /**
+     * Get the names of the rules whose results this rule reads from the context, through
+     * {@link ScoringContext#getRuleScore(String)}. The composite runs this rule after all of them.
+     * @return The names of the rules this rule depends on, empty by default
+     */
+    default Set<String> getDependencies() {
+        return Set.of();
+    }
+
+    /**
+     * Get an upper bound of the raw score of this rule, used to skip expensive rules for repositories
+     * that cannot reach the score threshold of a batch even with the maximum contribution
+     * @return The maximum raw score, positive infinity when unknown so the rule never lets a repository be skipped
+     */
+    default double getMaxScore() {
+        return Double.POSITIVE_INFINITY;
+    }
+
     /**
      * Get the weight of this rule for final score calculation
      * @return The rule weight
      */
-    BigDecimal getWeight();
+    double getWeight();
 
     /**
      * Get the name of this rule
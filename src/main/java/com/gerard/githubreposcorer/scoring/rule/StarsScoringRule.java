@@ -1,36 +1,74 @@
 package com.gerard.githubreposcorer.scoring.rule;
 
 import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.compiler.ScoreHandles;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
 import com.gerard.githubreposcorer.scoring.model.ScoringContext;
-import com.gerard.githubreposcorer.scoring.model.ScoringResult;
 import com.gerard.githubreposcorer.util.MathUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigDecimal;
+import java.lang.invoke.MethodHandle;
+import java.util.Optional;
+import java.util.function.IntToDoubleFunction;
 
 @RequiredArgsConstructor
 @Slf4j
 public class StarsScoringRule implements ScoringRule {
     
     private final ScoringProperties.Stars starsConfig;
+    private final IntToDoubleFunction normalizer;
+    private int slot;
+
+    public StarsScoringRule(ScoringProperties.Stars starsConfig) {
+        this(starsConfig, stars -> MathUtils.normLog(stars, starsConfig.getCap()));
+    }
 
     @Override
     public void execute(ScoringContext context) {
         try {
-            BigDecimal score = MathUtils.normLog(context.getStars(), starsConfig.getCap());
-            ScoringResult result = ScoringResult.success(getName(), score, BigDecimal.valueOf(starsConfig.getWeight()));
-            context.addResult(result);
+            double score = normalizer.applyAsDouble(context.getStars());
+            context.recordSuccess(slot, getName(), score, starsConfig.getWeight());
         } catch (Exception e) {
             log.error("Error executing stars scoring rule: {}", e.getMessage(), e);
-            ScoringResult result = ScoringResult.failure(getName(), e.getMessage());
-            context.addResult(result);
+            context.recordFailure(slot, getName(), e.getMessage());
         }
     }
     
     @Override
-    public BigDecimal getWeight() {
-        return BigDecimal.valueOf(starsConfig.getWeight());
+    public void calculateScores(ScoringBatch batch) {
+        double weight = starsConfig.getWeight();
+        int[] stars = batch.getStars();
+        double[] scores = batch.getScores();
+
+        for (int i = 0; i < batch.getSize(); i++) {
+            try {
+                scores[i] += weight * normalizer.applyAsDouble(stars[i]);
+            } catch (Exception e) {
+                log.error("Error executing stars scoring rule: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public int bindSlots(int firstSlot) {
+        slot = firstSlot;
+        return firstSlot + 1;
+    }
+
+    @Override
+    public Optional<MethodHandle> toScoreHandle() {
+        return Optional.of(ScoreHandles.weighted(getName(), normalizer, starsConfig.getWeight(), ScoreHandles.STARS));
+    }
+
+    @Override
+    public RuleCost getCost() {
+        return RuleCost.CHEAP;
+    }
+
+    @Override
+    public double getWeight() {
+        return starsConfig.getWeight();
     }
     
     @Override
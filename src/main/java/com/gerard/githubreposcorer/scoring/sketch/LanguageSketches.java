@@ -0,0 +1,241 @@
+package com.gerard.githubreposcorer.scoring.sketch;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stars and forks distributions of the repositories seen so far, for all languages and per language.
+ * Each distribution is a {@link QuantileSketch}, so memory is constant per language and the number of
+ * languages is bounded. Each repository is recorded once while it is remembered as recorded.
+ */
+@Component
+@Slf4j
+public class LanguageSketches implements MeterBinder {
+
+    private static final int SNAPSHOT_MAGIC = 0x4C534B31;
+
+    public record Sketches(QuantileSketch stars, QuantileSketch forks) {
+
+        Sketches(double relativeAccuracy) {
+            this(new QuantileSketch(relativeAccuracy), new QuantileSketch(relativeAccuracy));
+        }
+
+        void add(int starsValue, int forksValue) {
+            stars.add(starsValue);
+            forks.add(forksValue);
+        }
+
+        void merge(Sketches other) {
+            stars.merge(other.stars());
+            forks.merge(other.forks());
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            stars.writeTo(out);
+            forks.writeTo(out);
+        }
+
+        static Sketches readFrom(DataInputStream in) throws IOException {
+            return new Sketches(QuantileSketch.readFrom(in), QuantileSketch.readFrom(in));
+        }
+    }
+
+    private final ScoringProperties.Percentile config;
+    private final Sketches allLanguages;
+    private final ConcurrentMap<String, Sketches> byLanguage = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> recorded;
+
+    private final AtomicLong epoch = new AtomicLong();
+    private volatile long epochStartCount;
+
+    public LanguageSketches(ScoringProperties scoringProperties) {
+        this.config = scoringProperties.getPercentile();
+        this.allLanguages = new Sketches(config.getRelativeAccuracy());
+        this.recorded = Caffeine.newBuilder()
+                .maximumSize(config.getMaxRecordedRepositories())
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Record a repository in the all-languages distributions and in those of its language
+     *
+     * @param fullName The repository full name, repositories without one are recorded every time
+     * @param language The repository language, or null if unknown
+     */
+    public void record(@Nullable String fullName, @Nullable String language, int stars, int forks) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (fullName != null && recorded.asMap().putIfAbsent(fullName, Boolean.TRUE) != null) {
+            return;
+        }
+        allLanguages.add(stars, forks);
+        String key = languageKey(language);
+        if (key != null) {
+            Sketches sketches = byLanguage.get(key);
+            if (sketches == null && byLanguage.size() < config.getMaxLanguages()) {
+                sketches = byLanguage.computeIfAbsent(key, ignored -> new Sketches(config.getRelativeAccuracy()));
+            }
+            if (sketches != null) {
+                sketches.add(stars, forks);
+            }
+        }
+        advanceEpoch();
+    }
+
+    /**
+     * Start a new epoch once the distributions grew by 1%, or by the minimum number of samples
+     */
+    private void advanceEpoch() {
+        long count = allLanguages.stars().getCount();
+        long start = epochStartCount;
+        if (count - start >= Math.max(config.getMinSamples(), start / 100)) {
+            epochStartCount = count;
+            epoch.incrementAndGet();
+        }
+    }
+
+    /**
+     * Find the distributions to rank a repository of the given language against
+     *
+     * @param language The repository language, or null if unknown
+     * @return The language distributions if they have enough samples, else the all-languages ones if
+     * they have enough samples, else null
+     */
+    @Nullable
+    public Sketches find(@Nullable String language) {
+        String key = languageKey(language);
+        if (key != null) {
+            Sketches sketches = byLanguage.get(key);
+            if (sketches != null && sketches.stars().getCount() >= config.getMinSamples()) {
+                return sketches;
+            }
+        }
+        return allLanguages.stars().getCount() >= config.getMinSamples() ? allLanguages : null;
+    }
+
+    /**
+     * @return A counter that changes whenever the distributions moved enough to change percentiles noticeably
+     */
+    public long getEpoch() {
+        return epoch.get();
+    }
+
+    public long getRecordedCount() {
+        return allLanguages.stars().getCount();
+    }
+
+    public int getLanguageCount() {
+        return byLanguage.size();
+    }
+
+    @Nullable
+    private static String languageKey(@Nullable String language) {
+        return language == null || language.isBlank() ? null : language.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Write all the distributions and the recorded repositories to the file, replacing it atomically
+     */
+    public synchronized void writeSnapshot(Path file) throws IOException {
+        Path target = file.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            List<Map.Entry<String, Sketches>> languages = new ArrayList<>(byLanguage.entrySet());
+            List<String> recordedNames = new ArrayList<>(recorded.asMap().keySet());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                allLanguages.writeTo(out);
+                out.writeInt(languages.size());
+                for (Map.Entry<String, Sketches> language : languages) {
+                    out.writeUTF(language.getKey());
+                    language.getValue().writeTo(out);
+                }
+                out.writeInt(recordedNames.size());
+                for (String name : recordedNames) {
+                    out.writeUTF(name);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Merge the distributions and recorded repositories of a snapshot file into the current ones.
+     * The file is fully read and validated before anything is merged.
+     */
+    public synchronized void loadSnapshot(Path file) throws IOException {
+        Sketches loadedAll;
+        Map<String, Sketches> loadedLanguages = new LinkedHashMap<>();
+        List<String> loadedNames = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a language sketches snapshot: " + file);
+            }
+            loadedAll = Sketches.readFrom(in);
+            int languages = in.readInt();
+            for (int i = 0; i < languages; i++) {
+                loadedLanguages.put(in.readUTF(), Sketches.readFrom(in));
+            }
+            int names = in.readInt();
+            for (int i = 0; i < names; i++) {
+                loadedNames.add(in.readUTF());
+            }
+        }
+        if (loadedAll.stars().getRelativeAccuracy() != config.getRelativeAccuracy()) {
+            throw new IOException("Snapshot relative accuracy " + loadedAll.stars().getRelativeAccuracy()
+                    + " does not match the configured " + config.getRelativeAccuracy());
+        }
+
+        allLanguages.merge(loadedAll);
+        loadedLanguages.forEach((language, sketches) -> {
+            if (byLanguage.containsKey(language) || byLanguage.size() < config.getMaxLanguages()) {
+                byLanguage.computeIfAbsent(language, ignored -> new Sketches(config.getRelativeAccuracy())).merge(sketches);
+            }
+        });
+        loadedNames.forEach(name -> recorded.put(name, Boolean.TRUE));
+        epochStartCount = allLanguages.stars().getCount();
+        epoch.incrementAndGet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("scoring.percentile.languages", this, LanguageSketches::getLanguageCount)
+                .description("Languages with their own stars and forks distributions")
+                .register(registry);
+        Gauge.builder("scoring.percentile.repositories", this, LanguageSketches::getRecordedCount)
+                .description("Repositories recorded in the stars and forks distributions")
+                .register(registry);
+    }
+}
@@ -0,0 +1,77 @@
+package com.gerard.githubreposcorer.scoring.sketch;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the language sketches from {@code scoring.percentile.snapshot-file} at startup, so a restarted
+ * node scores with warm distributions, and saves them periodically and on shutdown.
+ */
+@Component
+@ConditionalOnProperty(prefix = "scoring.percentile", name = "snapshot-file")
+@Slf4j
+public class LanguageSketchesSnapshotter implements SmartLifecycle {
+
+    private final LanguageSketches languageSketches;
+    private final Path file;
+    private final Duration interval;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public LanguageSketchesSnapshotter(ScoringProperties scoringProperties, LanguageSketches languageSketches) {
+        this.languageSketches = languageSketches;
+        this.file = scoringProperties.getPercentile().getSnapshotFile().toAbsolutePath();
+        this.interval = scoringProperties.getPercentile().getSnapshotInterval();
+    }
+
+    @Override
+    public void start() {
+        if (Files.exists(file)) {
+            try {
+                languageSketches.loadSnapshot(file);
+                log.info("Loaded language sketches of {} repositories from {}", languageSketches.getRecordedCount(), file);
+            } catch (IOException e) {
+                log.warn("Ignoring language sketches snapshot {}: {}", file, e.getMessage());
+            }
+        }
+        ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("language-sketches-snapshot").daemon().factory());
+        service.scheduleWithFixedDelay(this::writeSnapshot, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler = service;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService current = scheduler;
+        scheduler = null;
+        if (current != null) {
+            current.shutdownNow();
+            writeSnapshot();
+        }
+    }
+
+    void writeSnapshot() {
+        try {
+            languageSketches.writeSnapshot(file);
+            log.debug("Saved language sketches of {} repositories to {}", languageSketches.getRecordedCount(), file);
+        } catch (IOException e) {
+            log.warn("Failed to save language sketches to {}: {}", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
@@ -0,0 +1,154 @@
+package com.gerard.githubreposcorer.scoring.sketch;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Mergeable quantile sketch of non-negative integers with a fixed relative accuracy. Values are counted
+ * in logarithmically sized buckets, so memory only depends on the accuracy, never on the number of values.
+ * Thread-safe: updates are synchronized, percentiles are read from a cumulative view rebuilt after updates.
+ */
+public final class QuantileSketch {
+
+    private final double relativeAccuracy;
+    private final double logGamma;
+    private final long[] counts;
+    private volatile long count;
+
+    private volatile long[] cumulative;
+
+    /**
+     * @param relativeAccuracy Maximum relative difference between a value and the values sharing its bucket
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0.0 && relativeAccuracy < 1.0)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1, but was: " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+        this.counts = new long[bucketIndex(Integer.MAX_VALUE) + 1];
+    }
+
+    private int bucketIndex(int value) {
+        return value <= 0 ? 0 : 1 + (int) Math.floor(Math.log(value) / logGamma);
+    }
+
+    /**
+     * Count a value. Negative values are ignored.
+     */
+    public synchronized void add(int value) {
+        if (value < 0) {
+            return;
+        }
+        counts[bucketIndex(value)]++;
+        count++;
+        cumulative = null;
+    }
+
+    /**
+     * Add all the values counted by another sketch of the same accuracy
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches of relative accuracy "
+                    + other.relativeAccuracy + " into " + relativeAccuracy);
+        }
+        long[] otherCounts;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+        }
+        synchronized (this) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += otherCounts[i];
+                count += otherCounts[i];
+            }
+            cumulative = null;
+        }
+    }
+
+    /**
+     * Fraction of the counted values below the given one, values of its bucket counting for half
+     *
+     * @param value The value to rank
+     * @return The percentile (0.0 to 1.0), or NaN if the sketch is empty
+     */
+    public double percentile(int value) {
+        long[] current = cumulative;
+        if (current == null) {
+            current = rebuildCumulative();
+        }
+        long total = current[current.length - 1];
+        if (total == 0) {
+            return Double.NaN;
+        }
+        int index = bucketIndex(Math.max(0, value));
+        long below = index == 0 ? 0 : current[index - 1];
+        long inBucket = current[index] - below;
+        return (below + inBucket / 2.0) / total;
+    }
+
+    private synchronized long[] rebuildCumulative() {
+        long[] current = new long[counts.length];
+        long sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            sum += counts[i];
+            current[i] = sum;
+        }
+        cumulative = current;
+        return current;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * @return The memory held by the bucket counts, constant for a given accuracy
+     */
+    public long memoryBytes() {
+        return (long) counts.length * Long.BYTES;
+    }
+
+    /**
+     * Write the accuracy and the non-empty buckets
+     */
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        int nonEmpty = 0;
+        for (long bucketCount : counts) {
+            if (bucketCount > 0) {
+                nonEmpty++;
+            }
+        }
+        out.writeDouble(relativeAccuracy);
+        out.writeInt(nonEmpty);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                out.writeInt(i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Read a sketch written by {@link #writeTo(DataOutput)}
+     */
+    public static QuantileSketch readFrom(DataInput in) throws IOException {
+        QuantileSketch sketch = new QuantileSketch(in.readDouble());
+        int nonEmpty = in.readInt();
+        for (int i = 0; i < nonEmpty; i++) {
+            int index = in.readInt();
+            long bucketCount = in.readLong();
+            if (index < 0 || index >= sketch.counts.length || bucketCount < 0) {
+                throw new IOException("Invalid sketch bucket " + index + " with count " + bucketCount);
+            }
+            sketch.counts[index] = bucketCount;
+            sketch.count += bucketCount;
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,41 @@
+package com.gerard.githubreposcorer.scoring.strategy;
+
+import com.gerard.githubreposcorer.scoring.ScoringStrategy;
+import com.gerard.githubreposcorer.scoring.compiler.ScoringFunction;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import com.gerard.githubreposcorer.scoring.model.ScoringContext;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Strategy declared as a formula under {@code scoring.strategy.formulas} and compiled to bytecode
+ * by {@link com.gerard.githubreposcorer.scoring.formula.FormulaCompiler}
+ */
+@RequiredArgsConstructor
+public class FormulaScoringStrategy implements ScoringStrategy {
+
+    private final String version;
+    @Getter
+    private final ScoringFunction function;
+
+    @Override
+    public double calculateScore(ScoringContext context) {
+        return function.score(context.getStars(), context.getForks(), context.getDaysSinceUpdate());
+    }
+
+    @Override
+    public void calculateScores(ScoringBatch batch) {
+        int[] stars = batch.getStars();
+        int[] forks = batch.getForks();
+        int[] daysSinceUpdate = batch.getDaysSinceUpdate();
+        double[] scores = batch.getScores();
+        for (int i = 0; i < batch.getSize(); i++) {
+            scores[i] = function.score(stars[i], forks[i], daysSinceUpdate[i]);
+        }
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,126 @@
+package com.gerard.githubreposcorer.scoring.strategy;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.ScoringStrategy;
+import com.gerard.githubreposcorer.scoring.WeightedScoringStrategy;
+import com.gerard.githubreposcorer.scoring.model.RuleContribution;
+import com.gerard.githubreposcorer.scoring.model.ScoreExplanation;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import com.gerard.githubreposcorer.scoring.model.ScoringContext;
+import com.gerard.githubreposcorer.scoring.sketch.LanguageSketches;
+import com.gerard.githubreposcorer.scoring.sketch.QuantileSketch;
+import com.gerard.githubreposcorer.util.MathUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scores stars and forks as percentiles of the distributions recorded for the repository language,
+ * instead of normalizing them against fixed caps. Freshness is scored as in v1. Until enough
+ * repositories are recorded, stars and forks fall back to the cap normalization.
+ */
+@Component
+@ConditionalOnProperty(prefix = "scoring.percentile", name = "enabled", havingValue = "true")
+public class PercentileScoringStrategy implements WeightedScoringStrategy {
+
+    public static final String VERSION = "percentile";
+
+    private final ScoringProperties weights;
+    private final LanguageSketches languageSketches;
+    private final long weightsFingerprint;
+
+    public PercentileScoringStrategy(ScoringProperties scoringProperties, LanguageSketches languageSketches) {
+        this.weights = scoringProperties.copyWithWeights();
+        this.languageSketches = languageSketches;
+        this.weightsFingerprint = weights.weightsFingerprint();
+    }
+
+    /**
+     * Without a language in the context, the repository is ranked against all languages
+     */
+    @Override
+    public double calculateScore(ScoringContext context) {
+        return score(languageSketches.find(context.getLanguage()), context.getStars(), context.getForks(), context.getDaysSinceUpdate());
+    }
+
+    @Override
+    public ScoreExplanation explain(ScoringContext context) {
+        LanguageSketches.Sketches sketches = languageSketches.find(context.getLanguage());
+        ScoringProperties.Stars starsConfig = weights.getStars();
+        ScoringProperties.Forks forksConfig = weights.getForks();
+        ScoringProperties.Freshness freshnessConfig = weights.getFreshness();
+
+        List<RuleContribution> contributions = List.of(
+                normalizedContribution("StarsPercentile", "stars", sketches != null ? sketches.stars() : null,
+                        context.getStars(), starsConfig.getCap(), starsConfig.getWeight()),
+                normalizedContribution("ForksPercentile", "forks", sketches != null ? sketches.forks() : null,
+                        context.getForks(), forksConfig.getCap(), forksConfig.getWeight()),
+                RuleContribution.success("Freshness",
+                        MathUtils.freshnessFromDays(context.getDaysSinceUpdate(), freshnessConfig.getHalfLifeDays()),
+                        freshnessConfig.getWeight(),
+                        Map.of("daysSinceUpdate", (double) context.getDaysSinceUpdate(),
+                                "halfLifeDays", (double) freshnessConfig.getHalfLifeDays())));
+        double score = contributions.stream().mapToDouble(RuleContribution::weightedScore).sum();
+        return new ScoreExplanation(VERSION, score, contributions);
+    }
+
+    /**
+     * The inputs tell which normalization applied: the sample count of the distribution, or the cap when cold
+     */
+    private static RuleContribution normalizedContribution(String rule, String input, QuantileSketch sketch,
+                                                           int value, int cap, double weight) {
+        Map<String, Double> inputs = sketch != null
+                ? Map.of(input, (double) value, "samples", (double) sketch.getCount())
+                : Map.of(input, (double) value, "cap", (double) cap);
+        return RuleContribution.success(rule, normalize(sketch, value, cap), weight, inputs);
+    }
+
+    @Override
+    public void calculateScores(ScoringBatch batch) {
+        int[] stars = batch.getStars();
+        int[] forks = batch.getForks();
+        int[] daysSinceUpdate = batch.getDaysSinceUpdate();
+        String[] languages = batch.getLanguages();
+        double[] scores = batch.getScores();
+        for (int i = 0; i < batch.getSize(); i++) {
+            scores[i] = score(languageSketches.find(languages[i]), stars[i], forks[i], daysSinceUpdate[i]);
+        }
+    }
+
+    private double score(LanguageSketches.Sketches sketches, int stars, int forks, int daysSinceUpdate) {
+        ScoringProperties.Stars starsConfig = weights.getStars();
+        ScoringProperties.Forks forksConfig = weights.getForks();
+        ScoringProperties.Freshness freshnessConfig = weights.getFreshness();
+        return starsConfig.getWeight() * normalize(sketches != null ? sketches.stars() : null, stars, starsConfig.getCap())
+                + forksConfig.getWeight() * normalize(sketches != null ? sketches.forks() : null, forks, forksConfig.getCap())
+                + freshnessConfig.getWeight() * MathUtils.freshnessFromDays(daysSinceUpdate, freshnessConfig.getHalfLifeDays());
+    }
+
+    private static double normalize(QuantileSketch sketch, int value, int cap) {
+        if (value < 0) {
+            // Like a failed v1 rule, an invalid value contributes nothing
+            return 0.0;
+        }
+        return sketch != null ? sketch.percentile(value) : MathUtils.normLog(value, cap);
+    }
+
+    @Override
+    public ScoringStrategy withWeights(ScoringProperties weights) {
+        return new PercentileScoringStrategy(weights, languageSketches);
+    }
+
+    /**
+     * Percentiles move with the recorded distributions, so cached scores expire with each sketch epoch
+     */
+    @Override
+    public long getWeightsFingerprint() {
+        return 31 * weightsFingerprint + languageSketches.getEpoch();
+    }
+
+    @Override
+    public String getVersion() {
+        return VERSION;
+    }
+}
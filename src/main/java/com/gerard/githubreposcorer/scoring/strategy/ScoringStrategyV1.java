@@ -3,33 +3,70 @@ package com.gerard.githubreposcorer.scoring.strategy;
 import com.gerard.githubreposcorer.config.ScoringConfiguration;
 import com.gerard.githubreposcorer.config.ScoringProperties;
 import com.gerard.githubreposcorer.scoring.ScoringStrategy;
+import com.gerard.githubreposcorer.scoring.WeightedScoringStrategy;
+import com.gerard.githubreposcorer.scoring.compiler.ScoringFunction;
+import com.gerard.githubreposcorer.scoring.compiler.ScoringFunctionCompiler;
 import com.gerard.githubreposcorer.scoring.exception.InvalidWeightsException;
+import com.gerard.githubreposcorer.scoring.kernel.ScoringKernel;
+import com.gerard.githubreposcorer.scoring.model.RuleContribution;
+import com.gerard.githubreposcorer.scoring.model.ScoreExplanation;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
 import com.gerard.githubreposcorer.scoring.model.ScoringContext;
 import com.gerard.githubreposcorer.scoring.model.ScoringResult;
 import com.gerard.githubreposcorer.scoring.rule.CompositeScoringRule;
 import com.gerard.githubreposcorer.scoring.rule.ForksScoringRule;
 import com.gerard.githubreposcorer.scoring.rule.FreshnessScoringRule;
+import com.gerard.githubreposcorer.scoring.rule.RuleBudget;
+import com.gerard.githubreposcorer.scoring.rule.RuleListener;
 import com.gerard.githubreposcorer.scoring.rule.ScoringRule;
 import com.gerard.githubreposcorer.scoring.rule.StarsScoringRule;
-import com.gerard.githubreposcorer.util.MathUtils;
+import com.gerard.githubreposcorer.scoring.table.LookupTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 
 @Component
 @Slf4j
-public class ScoringStrategyV1 implements ScoringStrategy, SmartInitializingSingleton {
+public class ScoringStrategyV1 implements WeightedScoringStrategy, SmartInitializingSingleton, MeterBinder {
 
     private final ScoringProperties scoringProperties;
 
     private final ExecutorService executorService;
 
-    private ScoringRule ruleChain;
+    /**
+     * Everything built from one set of weights. Replaced as a whole on reload, so a call that read
+     * the snapshot finishes on consistent rules without any locking.
+     */
+    private record Snapshot(ScoringProperties properties,
+                            ScoringRule ruleChain,
+                            List<LookupTable> lookupTables,
+                            ScoringKernel batchKernel,
+                            ScoringFunction compiledFunction,
+                            long weightsFingerprint) {
+    }
+
+    private volatile Snapshot snapshot;
+
+    private volatile MeterRegistry meterRegistry;
+
+    /**
+     * Weight profile strategies built from this one, reporting their metrics to the registry bound to it
+     */
+    private final List<ScoringStrategyV1> profileStrategies = new CopyOnWriteArrayList<>();
 
     public ScoringStrategyV1(ScoringProperties scoringProperties,
                              @Qualifier(ScoringConfiguration.SCORING_EXECUTOR_BEAN_NAME) ExecutorService executorService) {
@@ -39,33 +76,178 @@ public class ScoringStrategyV1 implements ScoringStrategy, SmartInitializingSing
 
     @Override
     public void afterSingletonsInstantiated() {
-        StarsScoringRule starsRule = new StarsScoringRule(scoringProperties.getStars());
-        ForksScoringRule forksRule = new ForksScoringRule(scoringProperties.getForks());
-        FreshnessScoringRule freshnessRule = new FreshnessScoringRule(scoringProperties.getFreshness());
+        snapshot = buildSnapshot(scoringProperties.copyWithWeights());
+    }
+
+    /**
+     * Validate the weights and caps of the given properties, build a new rule chain from them and
+     * publish it with a single reference swap. On failure the current rule chain stays in place.
+     *
+     * @param weights Properties holding the new stars, forks and freshness sections
+     * @throws InvalidWeightsException If the weights are not valid
+     */
+    public synchronized void reload(ScoringProperties weights) {
+        Snapshot next = buildSnapshot(weights.copyWithWeights());
+        snapshot = next;
+        log.info("Scoring weights reloaded: stars={}, forks={}, freshness={}",
+                next.properties().getStars(), next.properties().getForks(), next.properties().getFreshness());
+    }
+
+    @Override
+    public ScoringStrategy withWeights(ScoringProperties weights) {
+        ScoringStrategyV1 strategy = new ScoringStrategyV1(scoringProperties, executorService);
+        strategy.meterRegistry = meterRegistry;
+        strategy.snapshot = strategy.buildSnapshot(weights.copyWithWeights());
+        profileStrategies.add(strategy);
+        return strategy;
+    }
+
+    /**
+     * @return A copy of the properties the current rule chain was built from
+     */
+    public ScoringProperties getCurrentWeights() {
+        return snapshot.properties().copyWithWeights();
+    }
+
+    private Snapshot buildSnapshot(ScoringProperties properties) {
+        validateWeights(properties);
+
+        StarsScoringRule starsRule;
+        ForksScoringRule forksRule;
+        FreshnessScoringRule freshnessRule;
+        List<LookupTable> lookupTables = List.of();
+
+        ScoringProperties.LookupTables tablesConfig = properties.getLookupTables();
+        if (tablesConfig.isEnabled()) {
+            LookupTable starsTable = LookupTable.normLog(properties.getStars().getCap(), tablesConfig.getMaxEntries());
+            LookupTable forksTable = LookupTable.normLog(properties.getForks().getCap(), tablesConfig.getMaxEntries());
+            LookupTable freshnessTable = LookupTable.freshness(properties.getFreshness().getHalfLifeDays(),
+                    tablesConfig.getFreshnessHorizonDays(), tablesConfig.getMaxEntries());
 
-        validateWeights(List.of(starsRule, forksRule, freshnessRule));
+            starsRule = new StarsScoringRule(properties.getStars(), starsTable);
+            forksRule = new ForksScoringRule(properties.getForks(), forksTable);
+            freshnessRule = new FreshnessScoringRule(properties.getFreshness(), freshnessTable);
+            lookupTables = List.of(starsTable, forksTable, freshnessTable);
 
-        ruleChain = new CompositeScoringRule(
+            log.info("Scoring lookup tables built: {} entries, {} bytes",
+                    lookupTables.stream().mapToInt(LookupTable::size).sum(), memoryBytes(lookupTables));
+        } else {
+            starsRule = new StarsScoringRule(properties.getStars());
+            forksRule = new ForksScoringRule(properties.getForks());
+            freshnessRule = new FreshnessScoringRule(properties.getFreshness());
+        }
+
+        ScoringRule ruleChain = new CompositeScoringRule(
                 List.of(starsRule, forksRule, freshnessRule),
-                executorService
+                executorService,
+                properties.getExecution().getInlineThreshold(),
+                rule -> budgetOf(properties.getExecution(), rule.getName()),
+                ruleMetrics
         );
+        return new Snapshot(properties, ruleChain, lookupTables,
+                createBatchKernel(properties), compileRuleChain(ruleChain), properties.weightsFingerprint());
+    }
+
+    private ScoringFunction compileRuleChain(ScoringRule ruleChain) {
+        if (!scoringProperties.getStrategy().isCompileRules()) {
+            return null;
+        }
+        Optional<ScoringFunction> function = ScoringFunctionCompiler.compile(ruleChain);
+        if (function.isEmpty()) {
+            log.warn("Scoring rule chain cannot be compiled, falling back to interpreted scoring");
+            return null;
+        }
+        log.info("Scoring rule chain compiled into a fused scoring function");
+        return function.get();
+    }
+
+    private ScoringKernel createBatchKernel(ScoringProperties properties) {
+        if (scoringProperties.getStrategy().getBackend() != ScoringProperties.Strategy.Backend.VECTOR) {
+            return null;
+        }
+        Optional<ScoringKernel> kernel = ScoringKernel.loadVectorKernel(properties);
+        if (kernel.isEmpty()) {
+            log.warn("Vector scoring backend requested but {} is not enabled, falling back to scalar scoring. "
+                    + "Start the JVM with --add-modules {} to enable it.",
+                    ScoringKernel.VECTOR_MODULE_NAME, ScoringKernel.VECTOR_MODULE_NAME);
+            return null;
+        }
+        log.info("Using vector scoring backend for batch scoring");
+        return kernel.get();
     }
 
     @Override
-    public BigDecimal calculateScore(ScoringContext context) {
-        ruleChain.execute(context);
+    public double calculateScore(ScoringContext context) {
+        Snapshot current = snapshot;
+        if (current.compiledFunction() != null) {
+            return current.compiledFunction().score(context.getStars(), context.getForks(), context.getDaysSinceUpdate());
+        }
+        current.ruleChain().execute(context);
+        return context.getWeightedScore();
+    }
 
-        List<ScoringResult> results = context.getResults();
+    /**
+     * Runs the interpreted rule chain, the only one recording per-rule results
+     */
+    @Override
+    public ScoreExplanation explain(ScoringContext context) {
+        Snapshot current = snapshot;
+        current.ruleChain().execute(context);
 
-        if (log.isDebugEnabled()) {
-            printRulesEvaluationReport(context, results);
+        ScoringProperties properties = current.properties();
+        List<RuleContribution> contributions = new ArrayList<>();
+        for (ScoringResult result : context.getResults()) {
+            Map<String, Double> inputs = ruleInputs(properties, result.ruleName(), context);
+            // Failed results carry a zero score, timed out ones their fallback score
+            contributions.add(new RuleContribution(result.ruleName(), result.score(), result.weight(),
+                    result.score() * result.weight(), result.errorMessage(), inputs));
         }
-        return calculateFinalScore(results);
+        return new ScoreExplanation(getVersion(), context.getWeightedScore(), contributions);
     }
 
-    private void validateWeights(List<ScoringRule> rules) {
-        BigDecimal totalWeight = rules.stream()
-                .map(ScoringRule::getWeight)
+    private static Map<String, Double> ruleInputs(ScoringProperties properties, String ruleName, ScoringContext context) {
+        return switch (ruleName) {
+            case "StarsScoringRule" -> Map.of(
+                    "stars", (double) context.getStars(),
+                    "cap", (double) properties.getStars().getCap());
+            case "ForksScoringRule" -> Map.of(
+                    "forks", (double) context.getForks(),
+                    "cap", (double) properties.getForks().getCap());
+            case "FreshnessScoringRule" -> Map.of(
+                    "daysSinceUpdate", (double) context.getDaysSinceUpdate(),
+                    "halfLifeDays", (double) properties.getFreshness().getHalfLifeDays());
+            default -> Map.of();
+        };
+    }
+
+    @Override
+    public void calculateScores(ScoringBatch batch) {
+        Snapshot current = snapshot;
+        if (current.batchKernel() != null) {
+            current.batchKernel().calculateScores(batch);
+            return;
+        }
+        ScoringFunction compiledFunction = current.compiledFunction();
+        if (compiledFunction != null) {
+            int[] stars = batch.getStars();
+            int[] forks = batch.getForks();
+            int[] daysSinceUpdate = batch.getDaysSinceUpdate();
+            double[] scores = batch.getScores();
+            for (int i = 0; i < batch.getSize(); i++) {
+                scores[i] = compiledFunction.score(stars[i], forks[i], daysSinceUpdate[i]);
+            }
+            return;
+        }
+        batch.resetScores();
+        current.ruleChain().calculateScores(batch);
+    }
+
+    private static void validateWeights(ScoringProperties properties) {
+        List<Double> weights = List.of(properties.getStars().getWeight(), properties.getForks().getWeight(),
+                properties.getFreshness().getWeight());
+        // Validation runs once per rule chain build, so exact decimal arithmetic is affordable here
+        BigDecimal totalWeight = weights.stream()
+                .map(BigDecimal::valueOf)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         if (totalWeight.compareTo(BigDecimal.ONE) != 0) {
@@ -75,87 +257,109 @@ public class ScoringStrategyV1 implements ScoringStrategy, SmartInitializingSing
         }
 
         // Check if any weight exceeds 1.0
-        boolean hasExcessiveWeight = rules.stream()
-                .anyMatch(rule -> rule.getWeight().compareTo(BigDecimal.ONE) > 0);
+        boolean hasExcessiveWeight = weights.stream()
+                .anyMatch(weight -> weight > 1.0);
 
         if (hasExcessiveWeight) {
             throw new InvalidWeightsException("No individual weight can exceed 1.0");
         }
     }
 
-    private void printRulesEvaluationReport(ScoringContext context, List<ScoringResult> results) {
-        log.debug("=== RULES EVALUATION REPORT ===");
-        log.debug("Repository Name: {}", context.getName());
-        log.debug("Repository Metrics:");
-        log.debug("  - Stars: {}", context.getStars());
-        log.debug("  - Forks: {}", context.getForks());
-        log.debug("  - Days Since Update: {}", context.getDaysSinceUpdate());
-        log.debug("");
-        
-        log.debug("Scoring Configuration:");
-        log.debug("  - Stars: cap={}, weight={}", scoringProperties.getStars().getCap(), scoringProperties.getStars().getWeight());
-        log.debug("  - Forks: cap={}, weight={}", scoringProperties.getForks().getCap(), scoringProperties.getForks().getWeight());
-        log.debug("  - Freshness: halfLifeDays={}, weight={}", scoringProperties.getFreshness().getHalfLifeDays(), scoringProperties.getFreshness().getWeight());
-        log.debug("");
-        
-        log.debug("Rule Evaluation Details:");
-        BigDecimal totalWeightedScore = BigDecimal.ZERO;
-        
-        for (ScoringResult result : results) {
-            if (result.success()) {
-                BigDecimal weightedScore = result.score().multiply(result.weight());
-                totalWeightedScore = totalWeightedScore.add(weightedScore, MathUtils.MATH_CONTEXT);
-                
-                log.debug("  ✓ {}:", result.ruleName());
-                log.debug("    - Raw Score: {}", result.score());
-                log.debug("    - Weight: {}", result.weight());
-                log.debug("    - Weighted Score: {}", weightedScore);
-                
-                // Add specific calculation details based on rule type
-                addRuleSpecificDetails(result, context);
-            } else {
-                log.debug("  ✗ {}: FAILED - {}", result.ruleName(), result.errorMessage());
+    /**
+     * Budget of the given rule, values unset in its {@code rule-budgets} entry take the execution defaults
+     */
+    private static RuleBudget budgetOf(ScoringProperties.Execution execution, String ruleName) {
+        ScoringProperties.RuleBudgetProperties budget = execution.getRuleBudgets().get(ruleName);
+        Duration timeout = budget != null && budget.getTimeout() != null ? budget.getTimeout() : execution.getRuleTimeout();
+        double fallbackScore = budget != null && budget.getFallbackScore() != null
+                ? budget.getFallbackScore()
+                : execution.getRuleFallbackScore();
+        return new RuleBudget(timeout, fallbackScore);
+    }
+
+    @Override
+    public long getWeightsFingerprint() {
+        return snapshot.weightsFingerprint();
+    }
+
+    @Override
+    public String getVersion() {
+        return "v1";
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meterRegistry = registry;
+        // Profile strategies are usually built before the registry is bound
+        profileStrategies.forEach(profile -> profile.meterRegistry = registry);
+        Gauge.builder("scoring.lookup.tables.memory", this, ScoringStrategyV1::getTotalLookupTablesMemoryBytes)
+                .description("Memory held by the precomputed scoring lookup tables, weight profiles included")
+                .baseUnit("bytes")
+                .tag("strategy", getVersion())
+                .register(registry);
+    }
+
+    /**
+     * Counts the rules the composite did not run to completion, once a registry is bound
+     */
+    private final RuleListener ruleMetrics = new RuleListener() {
+        @Override
+        public void onSkipped(ScoringRule rule, int repositories) {
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                Counter.builder("scoring.rule.skipped")
+                        .description("Repositories an expensive rule was skipped for, as they could not reach the score threshold")
+                        .tag("strategy", getVersion())
+                        .tag("rule", rule.getName())
+                        .register(registry)
+                        .increment(repositories);
             }
         }
-        
-        log.debug("");
-        log.debug("Final Score Calculation:");
-        log.debug("  - Total Weighted Score: {}", totalWeightedScore);
-        log.debug("=== END RULES EVALUATION REPORT ===");
-    }
-    
-    private void addRuleSpecificDetails(ScoringResult result, ScoringContext context) {
-        switch (result.ruleName()) {
-            case "StarsScoringRule" -> {
-                int stars = context.getStars();
-                int cap = scoringProperties.getStars().getCap();
-                log.debug("    - Input: stars={}, cap={}", stars, cap);
-                log.debug("    - Calculation: normLog({}, {}) = {}", stars, cap, result.score());
-            }
-            case "ForksScoringRule" -> {
-                int forks = context.getForks();
-                int cap = scoringProperties.getForks().getCap();
-                log.debug("    - Input: forks={}, cap={}", forks, cap);
-                log.debug("    - Calculation: normLog({}, {}) = {}", forks, cap, result.score());
+
+        @Override
+        public void onTimeout(ScoringRule rule) {
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                Counter.builder("scoring.rule.timeouts")
+                        .description("Rule executions cancelled for exceeding their time budget")
+                        .tag("strategy", getVersion())
+                        .tag("rule", rule.getName())
+                        .register(registry)
+                        .increment();
             }
-            case "FreshnessScoringRule" -> {
-                int daysSinceUpdate = context.getDaysSinceUpdate();
-                int halfLifeDays = scoringProperties.getFreshness().getHalfLifeDays();
-                log.debug("    - Input: daysSinceUpdate={}, halfLifeDays={}", daysSinceUpdate, halfLifeDays);
-                log.debug("    - Calculation: freshnessFromDays({}, {}) = {}", daysSinceUpdate, halfLifeDays, result.score());
+        }
+
+        @Override
+        public void onRejected(ScoringRule rule) {
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                Counter.builder("scoring.rule.rejections")
+                        .description("Budgeted rule executions rejected by the saturated scoring executor")
+                        .tag("strategy", getVersion())
+                        .tag("rule", rule.getName())
+                        .register(registry)
+                        .increment();
             }
         }
+    };
+
+    public long getLookupTablesMemoryBytes() {
+        Snapshot current = snapshot;
+        return current == null ? 0L : memoryBytes(current.lookupTables());
     }
 
-    private BigDecimal calculateFinalScore(List<ScoringResult> results) {
-        return results.stream()
-                .filter(ScoringResult::success)
-                .map(result -> result.score().multiply(result.weight()))
-                .reduce(BigDecimal.ZERO, (bd1, bd2) -> bd1.add(bd2, MathUtils.MATH_CONTEXT));
+    /**
+     * @return The memory held by the lookup tables of this strategy and of its weight profile strategies
+     */
+    long getTotalLookupTablesMemoryBytes() {
+        return getLookupTablesMemoryBytes() + profileStrategies.stream()
+                .mapToLong(ScoringStrategyV1::getLookupTablesMemoryBytes)
+                .sum();
     }
 
-    @Override
-    public String getVersion() {
-        return "v1";
+    private static long memoryBytes(List<LookupTable> lookupTables) {
+        return lookupTables.stream()
+                .mapToLong(LookupTable::memoryBytes)
+                .sum();
     }
 }
@@ -0,0 +1,68 @@
+package com.gerard.githubreposcorer.scoring.table;
+
+import com.gerard.githubreposcorer.util.MathUtils;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Precomputed values of an integer scoring function for the inputs 0..size-1.
+ * Inputs outside the table fall back to the direct computation.
+ */
+public final class LookupTable implements IntToDoubleFunction {
+
+    private final double[] values;
+    private final IntToDoubleFunction function;
+
+    public LookupTable(int size, IntToDoubleFunction function) {
+        this.values = new double[Math.max(0, size)];
+        this.function = function;
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = function.applyAsDouble(i);
+        }
+    }
+
+    /**
+     * Table of {@link MathUtils#normLog(int, int)} for the inputs 0..cap
+     *
+     * @param cap        The cap value
+     * @param maxEntries The maximum number of precomputed entries
+     * @return The lookup table
+     */
+    public static LookupTable normLog(int cap, int maxEntries) {
+        int size = Math.min(Math.max(0, cap) + 1, maxEntries);
+        return new LookupTable(size, x -> MathUtils.normLog(x, cap));
+    }
+
+    /**
+     * Table of {@link MathUtils#freshnessFromDays(int, int)} for the inputs 0..horizonDays
+     *
+     * @param halfLifeDays The half-life in days for the decay calculation
+     * @param horizonDays  The last precomputed day
+     * @param maxEntries   The maximum number of precomputed entries
+     * @return The lookup table
+     */
+    public static LookupTable freshness(int halfLifeDays, int horizonDays, int maxEntries) {
+        int size = Math.min(Math.max(0, horizonDays) + 1, maxEntries);
+        return new LookupTable(size, days -> MathUtils.freshnessFromDays(days, halfLifeDays));
+    }
+
+    @Override
+    public double applyAsDouble(int x) {
+        if (x >= 0 && x < values.length) {
+            return values[x];
+        }
+        return function.applyAsDouble(x);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return The memory held by the precomputed values, in bytes
+     */
+    public long memoryBytes() {
+        return (long) values.length * Double.BYTES;
+    }
+}
@@ -0,0 +1,149 @@
+package com.gerard.githubreposcorer.service;
+
+import com.gerard.githubreposcorer.config.ScoringConfiguration;
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.data.RepositoriesSource;
+import com.gerard.githubreposcorer.domain.model.GitHubRepository;
+import com.gerard.githubreposcorer.domain.model.RepositoryScore;
+import com.gerard.githubreposcorer.domain.model.RepositoryScorePage;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchRequest;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
+import com.gerard.githubreposcorer.scoring.ScoringStrategy;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Ranks repositories by score across the first upstream pages, which are ordered by stars.
+ * Pages are fetched in parallel and scored as they arrive into a bounded top-K ranking. Only as many
+ * pages as the requested page needs candidates are fetched, each one costing a GitHub search request.
+ */
+@Service
+@Slf4j
+public class RepositoryRankingService {
+
+    private final RepositoriesSource repositoriesSource;
+    private final ScoringService scoringService;
+    private final ScoringProperties.Ranking ranking;
+    private final ExecutorService fetchExecutor;
+
+    public RepositoryRankingService(RepositoriesSource repositoriesSource,
+                                    ScoringService scoringService,
+                                    ScoringProperties scoringProperties,
+                                    @Qualifier(ScoringConfiguration.RANKING_FETCH_EXECUTOR_BEAN_NAME) ExecutorService fetchExecutor) {
+        this.repositoriesSource = repositoriesSource;
+        this.scoringService = scoringService;
+        this.ranking = scoringProperties.getRanking();
+        this.fetchExecutor = fetchExecutor;
+    }
+
+    /**
+     * Serve the requested page of the ranking. The first {@code (page + 1) * size * candidatesPerResult}
+     * upstream repositories are scanned, up to the configured upstream pages, and only the best
+     * {@code (page + 1) * size} are kept while they are.
+     *
+     * @param request the search criteria and the page of the ranking to return
+     * @param strategy the strategy resolved for the request
+     * @return the requested page of the ranking
+     * @throws IllegalArgumentException if the page lies beyond the ranked candidates
+     */
+    public RepositoryScorePage rankRepositories(RepositorySearchRequest request, ScoringStrategy strategy) {
+        int maxRanked = ranking.getUpstreamPages() * ranking.getUpstreamPageSize();
+        long rankedCount = (long) (request.getPage() + 1) * request.getSize();
+        if (rankedCount > maxRanked) {
+            throw new IllegalArgumentException("Ranked results are limited to the first " + maxRanked + " repositories");
+        }
+
+        long candidates = Math.min(rankedCount * ranking.getCandidatesPerResult(), maxRanked);
+        int upstreamPageCount = (int) ((candidates + ranking.getUpstreamPageSize() - 1) / ranking.getUpstreamPageSize());
+
+        CompletionService<RepositorySearchResponse> upstreamPages = new ExecutorCompletionService<>(fetchExecutor);
+        List<Future<RepositorySearchResponse>> fetches = new ArrayList<>(upstreamPageCount);
+        for (int page = 0; page < upstreamPageCount; page++) {
+            RepositorySearchRequest upstreamRequest = request.toBuilder()
+                    .page(page)
+                    .size(ranking.getUpstreamPageSize())
+                    .build();
+            fetches.add(upstreamPages.submit(() -> repositoriesSource.searchRepositories(upstreamRequest)));
+        }
+
+        TopKRanking topK = new TopKRanking((int) rankedCount);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            for (int i = 0; i < fetches.size(); i++) {
+                List<GitHubRepository> repositories = upstreamPages.take().get().items();
+                ScoringBatch batch = RepositoryScoringService.toScoringBatch(repositories, now);
+                // Repositories that cannot beat the worst ranked one skip the expensive rules
+                batch.setScoreThreshold(topK.getScoreThreshold());
+                List<BigDecimal> scores = scoringService.calculateScores(batch, strategy, repositories);
+                for (int j = 0; j < repositories.size(); j++) {
+                    topK.offer(repositories.get(j), scores.get(j));
+                }
+            }
+        } catch (InterruptedException e) {
+            fetches.forEach(fetch -> fetch.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while ranking repositories", e);
+        } catch (ExecutionException e) {
+            fetches.forEach(fetch -> fetch.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to fetch repositories to rank", e.getCause());
+        }
+
+        List<TopKRanking.RankedRepository> ranked = topK.toSortedList();
+        int from = Math.min(request.getPage() * request.getSize(), ranked.size());
+        int to = Math.min(from + request.getSize(), ranked.size());
+        List<TopKRanking.RankedRepository> pageRepositories = ranked.subList(from, to);
+        List<Map<String, BigDecimal>> profileScores = scoreProfiles(request, pageRepositories, now);
+        List<RepositoryScore> content = new ArrayList<>(pageRepositories.size());
+        for (int i = 0; i < pageRepositories.size(); i++) {
+            GitHubRepository repository = pageRepositories.get(i).repository();
+            content.add(RepositoryScore.builder()
+                    .name(repository.getName())
+                    .url(repository.getHtmlUrl())
+                    .score(pageRepositories.get(i).score())
+                    .explanation(request.isExplain() ? RepositoryScoringService.explain(strategy, repository, now) : null)
+                    .profileScores(profileScores != null ? profileScores.get(i) : null)
+                    .build());
+        }
+        log.debug("Ranked {} repositories from {} upstream pages", ranked.size(), fetches.size());
+
+        return RepositoryScorePage.builder()
+                .content(content)
+                .page(request.getPage())
+                .size(request.getSize())
+                .totalElements(content.size())
+                .totalPages((ranked.size() + request.getSize() - 1) / request.getSize())
+                .build();
+    }
+
+    /**
+     * Scores the returned page only with the additional weight profiles, the ranking is by the request strategy alone
+     */
+    private List<Map<String, BigDecimal>> scoreProfiles(RepositorySearchRequest request,
+                                                        List<TopKRanking.RankedRepository> pageRepositories,
+                                                        LocalDateTime now) {
+        Map<String, ScoringStrategy> profiles = scoringService.resolveProfiles(request.getStrategyVersion(), request.getWeightProfiles());
+        if (profiles.isEmpty()) {
+            return null;
+        }
+        List<GitHubRepository> repositories = pageRepositories.stream()
+                .map(TopKRanking.RankedRepository::repository)
+                .toList();
+        return scoringService.calculateProfileScores(RepositoryScoringService.toScoringBatch(repositories, now), profiles);
+    }
+}
@@ -6,6 +6,9 @@ import com.gerard.githubreposcorer.domain.model.RepositoryScore;
 import com.gerard.githubreposcorer.domain.model.RepositoryScorePage;
 import com.gerard.githubreposcorer.domain.model.RepositorySearchRequest;
 import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
+import com.gerard.githubreposcorer.scoring.ScoringStrategy;
+import com.gerard.githubreposcorer.scoring.model.ScoreExplanation;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
 import com.gerard.githubreposcorer.scoring.model.ScoringContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,8 +17,9 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -24,15 +28,39 @@ public class RepositoryScoringService {
 
     private final RepositoriesSource repositoriesSource;
     private final ScoringService scoringService;
+    private final RepositoryRankingService repositoryRankingService;
 
     public RepositoryScorePage scoreRepositories(RepositorySearchRequest request) {
+        // Resolve the strategy once, before any upstream call, so an unknown version fails fast
+        ScoringStrategy strategy = scoringService.resolveStrategy(request.getStrategyVersion(), request.getWeightProfile());
+        Map<String, ScoringStrategy> profiles = scoringService.resolveProfiles(request.getStrategyVersion(), request.getWeightProfiles());
+        if (request.isRanked()) {
+            return repositoryRankingService.rankRepositories(request, strategy);
+        }
+
         // Fetch repositories from the configured source
         RepositorySearchResponse repositorySearchResponse = repositoriesSource.searchRepositories(request);
+        List<GitHubRepository> repositories = repositorySearchResponse.items();
+
+        // Score the whole page as a single batch
+        LocalDateTime now = LocalDateTime.now();
+        ScoringBatch batch = toScoringBatch(repositories, now);
+        List<BigDecimal> scores = scoringService.calculateScores(batch, strategy, repositories);
+        List<Map<String, BigDecimal>> profileScores = profiles.isEmpty()
+                ? null
+                : scoringService.calculateProfileScores(batch, profiles);
 
-        // Score each repository
-        List<RepositoryScore> scoredRepositories = repositorySearchResponse.items().stream()
-                .map(this::scoreRepository)
-                .collect(Collectors.toList());
+        List<RepositoryScore> scoredRepositories = new ArrayList<>(repositories.size());
+        for (int i = 0; i < repositories.size(); i++) {
+            GitHubRepository repository = repositories.get(i);
+            scoredRepositories.add(RepositoryScore.builder()
+                    .name(repository.getName())
+                    .url(repository.getHtmlUrl())
+                    .score(scores.get(i))
+                    .explanation(request.isExplain() ? explain(strategy, repository, now) : null)
+                    .profileScores(profileScores != null ? profileScores.get(i) : null)
+                    .build());
+        }
 
         return RepositoryScorePage.builder()
                 .content(scoredRepositories)
@@ -43,27 +71,33 @@ public class RepositoryScoringService {
                 .build();
     }
 
-    private RepositoryScore scoreRepository(GitHubRepository repository) {
-        // Calculate days since last update
-        int daysSinceUpdate = repository.getUpdatedAt() != null 
-            ? (int) ChronoUnit.DAYS.between(repository.getUpdatedAt(), LocalDateTime.now())
-            : 0;
+    static ScoringBatch toScoringBatch(List<GitHubRepository> repositories, LocalDateTime now) {
+        ScoringBatch batch = new ScoringBatch(repositories.size());
+
+        for (GitHubRepository repository : repositories) {
+            batch.add(repository.getStars(), repository.getForks(), daysSinceUpdate(repository, now),
+                    repository.getLanguage(), repository.getFullName());
+        }
+        return batch;
+    }
 
-        // Create scoring context
-        ScoringContext context = ScoringContext.builder()
+    /**
+     * Scores one repository again through the strategy explain path. Only called for the repositories
+     * of explain requests, so that other requests keep the batch path alone.
+     */
+    static ScoreExplanation explain(ScoringStrategy strategy, GitHubRepository repository, LocalDateTime now) {
+        return strategy.explain(ScoringContext.builder()
                 .name(repository.getFullName())
+                .language(repository.getLanguage())
                 .stars(repository.getStars())
                 .forks(repository.getForks())
-                .daysSinceUpdate(daysSinceUpdate)
-                .build();
-
-        // Calculate score
-        BigDecimal score = scoringService.calculateScore(context);
+                .daysSinceUpdate(daysSinceUpdate(repository, now))
+                .build());
+    }
 
-        return RepositoryScore.builder()
-                .name(repository.getName())
-                .url(repository.getHtmlUrl())
-                .score(score)
-                .build();
+    private static int daysSinceUpdate(GitHubRepository repository, LocalDateTime now) {
+        return repository.getUpdatedAt() != null
+                ? (int) ChronoUnit.DAYS.between(repository.getUpdatedAt(), now)
+                : 0;
     }
-}
\ No newline at end of file
+}
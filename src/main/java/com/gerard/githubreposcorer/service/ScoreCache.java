@@ -0,0 +1,123 @@
+package com.gerard.githubreposcorer.service;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.domain.model.GitHubRepository;
+import com.gerard.githubreposcorer.scoring.ScoringStrategy;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Bounded cache of raw repository scores in front of the scoring strategies. Entries are keyed by
+ * everything a score depends on, so changed metrics, a new day or reloaded weights simply miss and
+ * the stale entries are evicted over time.
+ */
+@Component
+public class ScoreCache implements MeterBinder {
+
+    static final String CACHE_NAME = "repository.scores";
+
+    /**
+     * Estimated size of one entry besides the repository name: key, boxed score and cache node
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    record ScoreKey(String fullName,
+                    int stars,
+                    int forks,
+                    long updatedAtDay,
+                    int daysSinceUpdate,
+                    String strategyVersion,
+                    long weightsFingerprint) {
+    }
+
+    private final Cache<ScoreKey, Double> cache;
+
+    public ScoreCache(ScoringProperties scoringProperties) {
+        ScoringProperties.Cache config = scoringProperties.getCache();
+        this.cache = config.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumWeight(config.getMaxSize().toBytes())
+                        .weigher((ScoreKey key, Double score) -> ENTRY_OVERHEAD_BYTES + key.fullName().length())
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * Fill the batch scores from the cache and score only the missing repositories with the strategy.
+     * Repositories without a full name are always scored. A strategy failure propagates and caches nothing.
+     *
+     * @param repositories the repositories of the batch, in batch order
+     * @param batch the repository metrics to score
+     * @param strategy the strategy resolved for the request
+     */
+    public void calculateScores(List<GitHubRepository> repositories, ScoringBatch batch, ScoringStrategy strategy) {
+        if (cache == null) {
+            strategy.calculateScores(batch);
+            return;
+        }
+        String version = strategy.getVersion();
+        long weightsFingerprint = strategy.getWeightsFingerprint();
+        double[] scores = batch.getScores();
+        ScoreKey[] keys = new ScoreKey[batch.getSize()];
+        int[] missing = new int[batch.getSize()];
+        int missingCount = 0;
+
+        for (int i = 0; i < batch.getSize(); i++) {
+            GitHubRepository repository = repositories.get(i);
+            Double cached = null;
+            if (repository.getFullName() != null) {
+                keys[i] = new ScoreKey(repository.getFullName(), batch.getStars()[i], batch.getForks()[i],
+                        repository.getUpdatedAt() != null ? repository.getUpdatedAt().toLocalDate().toEpochDay() : -1L,
+                        batch.getDaysSinceUpdate()[i], version, weightsFingerprint);
+                cached = cache.getIfPresent(keys[i]);
+            }
+            if (cached != null) {
+                scores[i] = cached;
+            } else {
+                missing[missingCount++] = i;
+            }
+        }
+
+        if (missingCount == 0) {
+            return;
+        }
+        if (missingCount == batch.getSize()) {
+            strategy.calculateScores(batch);
+        } else {
+            ScoringBatch missingBatch = batch.select(missing, missingCount);
+            strategy.calculateScores(missingBatch);
+            for (int j = 0; j < missingCount; j++) {
+                scores[missing[j]] = missingBatch.getScore(j);
+                if (missingBatch.isPruned(j)) {
+                    batch.markPruned(missing[j]);
+                }
+            }
+        }
+        for (int j = 0; j < missingCount; j++) {
+            int i = missing[j];
+            // A pruned score lacks the expensive rules, it is only valid against this batch threshold
+            if (keys[i] != null && !batch.isPruned(i)) {
+                cache.put(keys[i], scores[i]);
+            }
+        }
+    }
+
+    public long estimatedSize() {
+        return cache == null ? 0L : cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        }
+    }
+}
@@ -1,14 +1,28 @@
 package com.gerard.githubreposcorer.service;
 
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.domain.model.GitHubRepository;
 import com.gerard.githubreposcorer.scoring.ScoringStrategy;
 import com.gerard.githubreposcorer.scoring.ScoringStrategyFactory;
+import com.gerard.githubreposcorer.scoring.kernel.ProfileMatrixKernel;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
 import com.gerard.githubreposcorer.scoring.model.ScoringContext;
+import com.gerard.githubreposcorer.scoring.sketch.LanguageSketches;
+import com.gerard.githubreposcorer.scoring.strategy.ScoringStrategyV1;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
@@ -16,16 +30,188 @@ import java.math.RoundingMode;
 public class ScoringService {
 
     private final ScoringStrategyFactory scoringStrategyFactory;
+    private final ShadowScoringService shadowScoringService;
+    private final ScoreCache scoreCache;
+    private final LanguageSketches languageSketches;
+    private final ScoringProperties scoringProperties;
 
     public BigDecimal calculateScore(ScoringContext context) {
         try {
             ScoringStrategy strategy = scoringStrategyFactory.createStrategy();
-            BigDecimal score = strategy.calculateScore(context);
-            
-            return score.setScale(2, RoundingMode.HALF_UP);
+            double score = strategy.calculateScore(context);
+
+            // Scoring runs on primitive doubles, the 2-decimal value is only materialized here. Scores within
+            // about 1e-9 of a half cent may round a cent away from the former 10 digit BigDecimal scoring
+            return BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP);
         } catch (Exception e) {
             log.error("Error calculating score: {}", e.getMessage(), e);
             return BigDecimal.ZERO;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Resolves the strategy of one request, see {@link ScoringStrategyFactory#resolveStrategy(String, String)}.
+     *
+     * @param version the requested strategy version, or null for the configured one
+     * @param weightProfile the requested weight profile, or null for the strategy weights
+     * @return the strategy to score the request with
+     * @throws IllegalArgumentException if the version or the weight profile is unknown
+     */
+    public ScoringStrategy resolveStrategy(@Nullable String version, @Nullable String weightProfile) {
+        return scoringStrategyFactory.resolveStrategy(version, weightProfile);
+    }
+
+    /**
+     * Resolves the strategies of the additional weight profiles of one request,
+     * see {@link ScoringStrategyFactory#resolveProfiles(String, List)}.
+     *
+     * @param version the requested strategy version, or null for the configured one
+     * @param weightProfiles the requested weight profiles, or null for none
+     * @return the strategy of every requested profile by profile name, empty when none is requested
+     * @throws IllegalArgumentException if the version or one of the weight profiles is unknown
+     */
+    public Map<String, ScoringStrategy> resolveProfiles(@Nullable String version, @Nullable List<String> weightProfiles) {
+        if (weightProfiles == null || weightProfiles.isEmpty()) {
+            return Map.of();
+        }
+        return scoringStrategyFactory.resolveProfiles(version, weightProfiles);
+    }
+
+    /**
+     * Scores a whole batch with the configured strategy.
+     *
+     * @param batch the repository metrics to score
+     * @return the scores rounded to 2 decimals, in batch order
+     */
+    public List<BigDecimal> calculateScores(ScoringBatch batch) {
+        return calculateScores(batch, scoringStrategyFactory.createStrategy());
+    }
+
+    /**
+     * Scores a whole batch with a single rule chain run of the given strategy.
+     * Only the configured strategy is compared with the shadow candidate.
+     *
+     * @param batch the repository metrics to score
+     * @param strategy the strategy resolved for the request
+     * @return the scores rounded to 2 decimals, in batch order
+     */
+    public List<BigDecimal> calculateScores(ScoringBatch batch, ScoringStrategy strategy) {
+        return calculateScores(batch, strategy, null);
+    }
+
+    /**
+     * Scores a whole batch with the given strategy, taking the scores of known repositories from the
+     * score cache. The repositories are recorded in the language distributions first.
+     * Failed batches fall back to zero scores and are not cached.
+     *
+     * @param batch the repository metrics to score
+     * @param strategy the strategy resolved for the request
+     * @param repositories the repositories of the batch in batch order, or null to bypass the cache
+     * @return the scores rounded to 2 decimals, in batch order
+     */
+    public List<BigDecimal> calculateScores(ScoringBatch batch, ScoringStrategy strategy,
+                                            @Nullable List<GitHubRepository> repositories) {
+        try {
+            if (repositories != null) {
+                recordDistributions(repositories);
+                scoreCache.calculateScores(repositories, batch, strategy);
+            } else {
+                strategy.calculateScores(batch);
+            }
+            // Pruned scores are incomplete, comparing them with the candidate would report false divergences
+            if (strategy == scoringStrategyFactory.createStrategy() && batch.getPrunedCount() == 0) {
+                shadowScoringService.submit(batch, strategy);
+            }
+            if (log.isDebugEnabled()) {
+                logSampledExplanation(batch, strategy, repositories);
+            }
+
+            List<BigDecimal> scores = new ArrayList<>(batch.getSize());
+            for (int i = 0; i < batch.getSize(); i++) {
+                scores.add(BigDecimal.valueOf(batch.getScore(i)).setScale(2, RoundingMode.HALF_UP));
+            }
+            return scores;
+        } catch (Exception e) {
+            log.error("Error calculating batch scores: {}", e.getMessage(), e);
+            return Collections.nCopies(batch.getSize(), BigDecimal.ZERO);
+        }
+    }
+
+    /**
+     * Scores a whole batch with several weight profiles. When every profile is a {@link ScoringStrategyV1}, the
+     * features of each repository are computed once and all profiles applied as a single matrix product;
+     * otherwise each profile scores its own copy of the batch. The batch scores are left untouched.
+     * Failed batches fall back to zero scores.
+     *
+     * @param batch the repository metrics to score
+     * @param profiles the strategy of every profile by profile name
+     * @return the scores of every profile by profile name, rounded to 2 decimals, for each repository in batch order
+     */
+    public List<Map<String, BigDecimal>> calculateProfileScores(ScoringBatch batch, Map<String, ScoringStrategy> profiles) {
+        List<String> names = new ArrayList<>(profiles.keySet());
+        double[][] profileScores;
+        try {
+            profileScores = scoreProfiles(batch, new ArrayList<>(profiles.values()));
+        } catch (Exception e) {
+            log.error("Error calculating batch profile scores: {}", e.getMessage(), e);
+            profileScores = new double[names.size()][batch.getSize()];
+        }
+
+        List<Map<String, BigDecimal>> scores = new ArrayList<>(batch.getSize());
+        for (int i = 0; i < batch.getSize(); i++) {
+            Map<String, BigDecimal> repositoryScores = new LinkedHashMap<>();
+            for (int p = 0; p < names.size(); p++) {
+                repositoryScores.put(names.get(p), BigDecimal.valueOf(profileScores[p][i]).setScale(2, RoundingMode.HALF_UP));
+            }
+            scores.add(repositoryScores);
+        }
+        return scores;
+    }
+
+    private static double[][] scoreProfiles(ScoringBatch batch, List<ScoringStrategy> strategies) {
+        if (strategies.stream().allMatch(ScoringStrategyV1.class::isInstance)) {
+            List<ScoringProperties> weights = strategies.stream()
+                    .map(strategy -> ((ScoringStrategyV1) strategy).getCurrentWeights())
+                    .toList();
+            return new ProfileMatrixKernel(weights).calculateScores(batch);
+        }
+        double[][] scores = new double[strategies.size()][];
+        for (int p = 0; p < strategies.size(); p++) {
+            ScoringBatch copy = batch.copyInputs();
+            strategies.get(p).calculateScores(copy);
+            scores[p] = Arrays.copyOf(copy.getScores(), copy.getSize());
+        }
+        return scores;
+    }
+
+    /**
+     * Logs the explanation of one repository of a sampled fraction of the batches, so that DEBUG logging
+     * stays affordable on the request path. Clients needing every explanation ask for them explicitly.
+     */
+    private void logSampledExplanation(ScoringBatch batch, ScoringStrategy strategy,
+                                       @Nullable List<GitHubRepository> repositories) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (batch.getSize() == 0 || random.nextDouble() >= scoringProperties.getExplain().getLogSampleRate()) {
+            return;
+        }
+        int index = random.nextInt(batch.getSize());
+        ScoringContext context = ScoringContext.builder()
+                .name(repositories != null ? repositories.get(index).getFullName() : null)
+                .language(batch.getLanguages()[index])
+                .stars(batch.getStars()[index])
+                .forks(batch.getForks()[index])
+                .daysSinceUpdate(batch.getDaysSinceUpdate()[index])
+                .build();
+        log.debug("Sampled score explanation of {}: {}", context.getName(), strategy.explain(context));
+    }
+
+    private void recordDistributions(List<GitHubRepository> repositories) {
+        if (!languageSketches.isEnabled()) {
+            return;
+        }
+        for (GitHubRepository repository : repositories) {
+            languageSketches.record(repository.getFullName(), repository.getLanguage(),
+                    repository.getStars(), repository.getForks());
+        }
+    }
+}
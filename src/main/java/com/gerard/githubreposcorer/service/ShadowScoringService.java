@@ -0,0 +1,148 @@
+package com.gerard.githubreposcorer.service;
+
+import com.gerard.githubreposcorer.config.ScoringConfiguration;
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.ScoringStrategy;
+import com.gerard.githubreposcorer.scoring.ScoringStrategyFactory;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import com.gerard.githubreposcorer.util.MathUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores a sample of the requests a second time with a candidate strategy, off the response path,
+ * and records how its ranking and latency compare to the primary strategy. Shadow work only runs on
+ * an idle shadow thread; when the executor is saturated the sample is dropped.
+ */
+@Service
+@Slf4j
+public class ShadowScoringService {
+
+    private final ExecutorService executorService;
+    private final ScoringStrategy candidate;
+    private final double sampleRate;
+
+    private final Counter completed;
+    private final Counter dropped;
+    private final Counter failed;
+    private final DistributionSummary rankCorrelation;
+    private final DistributionSummary latencyRatio;
+    private final Timer primaryLatency;
+    private final Timer candidateLatency;
+
+    public ShadowScoringService(ScoringProperties scoringProperties,
+                                ScoringStrategyFactory scoringStrategyFactory,
+                                @Qualifier(ScoringConfiguration.SHADOW_SCORING_EXECUTOR_BEAN_NAME) ExecutorService executorService,
+                                MeterRegistry meterRegistry) {
+        ScoringProperties.Shadow shadow = scoringProperties.getShadow();
+        this.executorService = executorService;
+        this.sampleRate = shadow.getSampleRate();
+        this.candidate = shadow.getVersion() == null || shadow.getVersion().isBlank()
+                ? null
+                : scoringStrategyFactory.findStrategy(shadow.getVersion())
+                        .orElseThrow(() -> new IllegalStateException("No scoring strategy found for shadow version: "
+                                + shadow.getVersion()));
+
+        String version = candidate == null ? "none" : candidate.getVersion();
+        this.completed = executions(meterRegistry, version, "completed");
+        this.dropped = executions(meterRegistry, version, "dropped");
+        this.failed = executions(meterRegistry, version, "failed");
+        this.rankCorrelation = DistributionSummary.builder("scoring.shadow.rank.correlation")
+                .description("Spearman rank correlation between the primary and the candidate scores of a request")
+                .tag("candidate", version)
+                .register(meterRegistry);
+        this.latencyRatio = DistributionSummary.builder("scoring.shadow.latency.ratio")
+                .description("Candidate scoring time divided by primary scoring time for the same request")
+                .tag("candidate", version)
+                .register(meterRegistry);
+        this.primaryLatency = latency(meterRegistry, version, "primary");
+        this.candidateLatency = latency(meterRegistry, version, "candidate");
+
+        if (candidate != null) {
+            log.info("Shadow scoring enabled for strategy {} on {} of the requests", version, sampleRate);
+        }
+    }
+
+    public boolean isEnabled() {
+        return candidate != null && sampleRate > 0.0;
+    }
+
+    /**
+     * Possibly score the batch again with the candidate strategy. Never blocks and never throws.
+     * <p>
+     * Both strategies score their own unscored copy of the batch inputs on the shadow thread, so the latencies
+     * compare the cost of the strategies alone, not the score cache hits and distribution updates of the request.
+     *
+     * @param batch   The batch, already scored by the primary strategy
+     * @param primary The strategy the batch was scored with
+     */
+    public void submit(ScoringBatch batch, ScoringStrategy primary) {
+        if (!isEnabled() || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        // Private copy, the caller owns the batch once this method returns
+        ScoringBatch shadowBatch = batch.copyInputs();
+
+        try {
+            executorService.execute(() -> score(shadowBatch, primary));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    private void score(ScoringBatch batch, ScoringStrategy primary) {
+        try {
+            ScoringBatch primaryBatch = batch.copyInputs();
+            long start = System.nanoTime();
+            primary.calculateScores(primaryBatch);
+            long primaryNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            candidate.calculateScores(batch);
+            long candidateNanos = System.nanoTime() - start;
+
+            primaryLatency.record(primaryNanos, TimeUnit.NANOSECONDS);
+            candidateLatency.record(candidateNanos, TimeUnit.NANOSECONDS);
+            if (primaryNanos > 0) {
+                latencyRatio.record((double) candidateNanos / primaryNanos);
+            }
+
+            double correlation = MathUtils.spearman(Arrays.copyOf(primaryBatch.getScores(), primaryBatch.getSize()),
+                    Arrays.copyOf(batch.getScores(), batch.getSize()));
+            if (!Double.isNaN(correlation)) {
+                rankCorrelation.record(correlation);
+            }
+            completed.increment();
+        } catch (Exception e) {
+            log.warn("Shadow scoring with strategy {} failed: {}", candidate.getVersion(), e.getMessage());
+            failed.increment();
+        }
+    }
+
+    private static Counter executions(MeterRegistry registry, String version, String outcome) {
+        return Counter.builder("scoring.shadow.executions")
+                .description("Sampled requests scored, dropped or failed by the shadow strategy")
+                .tag("candidate", version)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Timer latency(MeterRegistry registry, String version, String role) {
+        return Timer.builder("scoring.shadow.latency")
+                .description("Scoring time of sampled requests, for the primary and the candidate strategy")
+                .tag("candidate", version)
+                .tag("role", role)
+                .register(registry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.gerard.githubreposcorer.service;
+
+import com.gerard.githubreposcorer.domain.model.GitHubRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * The K best scored repositories seen so far, kept in a min-heap so that memory stays O(K) however
+ * many candidates are offered. Not thread-safe.
+ */
+class TopKRanking {
+
+    record RankedRepository(GitHubRepository repository, BigDecimal score) {
+    }
+
+    /**
+     * Worst first: lowest score, then fewest stars, then last full name
+     */
+    static final Comparator<RankedRepository> WORST_FIRST = Comparator
+            .comparing(RankedRepository::score)
+            .thenComparingInt(ranked -> ranked.repository().getStars())
+            .thenComparing(ranked -> String.valueOf(ranked.repository().getFullName()), Comparator.reverseOrder());
+
+    /**
+     * Scores are ranked rounded half up to 2 decimals, so a raw score just over half a cent below the
+     * worst ranked score can still round to it
+     */
+    private static final double ROUNDING_MARGIN = 0.0051;
+
+    private final int capacity;
+    private final PriorityQueue<RankedRepository> heap;
+    private final Set<String> ranked;
+
+    TopKRanking(int capacity) {
+        this.capacity = capacity;
+        this.heap = new PriorityQueue<>(capacity + 1, WORST_FIRST);
+        this.ranked = new HashSet<>();
+    }
+
+    /**
+     * Offer a scored repository. Repositories already ranked, for example seen on two upstream pages
+     * because the upstream order shifted between fetches, are ignored.
+     */
+    void offer(GitHubRepository repository, BigDecimal score) {
+        if (capacity == 0 || (repository.getFullName() != null && ranked.contains(repository.getFullName()))) {
+            return;
+        }
+        RankedRepository candidate = new RankedRepository(repository, score);
+        if (heap.size() == capacity) {
+            if (WORST_FIRST.compare(candidate, heap.peek()) <= 0) {
+                return;
+            }
+            RankedRepository evicted = heap.poll();
+            ranked.remove(evicted.repository().getFullName());
+        }
+        heap.add(candidate);
+        if (repository.getFullName() != null) {
+            ranked.add(repository.getFullName());
+        }
+    }
+
+    /**
+     * @return The raw score a candidate must be able to reach to enter the ranking, negative infinity until it is full
+     */
+    double getScoreThreshold() {
+        if (capacity == 0 || heap.size() < capacity) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return heap.peek().score().doubleValue() - ROUNDING_MARGIN;
+    }
+
+    int size() {
+        return heap.size();
+    }
+
+    /**
+     * @return The ranked repositories, best first
+     */
+    List<RankedRepository> toSortedList() {
+        List<RankedRepository> sorted = new ArrayList<>(heap);
+        sorted.sort(WORST_FIRST.reversed());
+        return sorted;
+    }
+}
@@ -1,30 +1,29 @@
 package com.gerard.githubreposcorer.util;
 
-import java.math.BigDecimal;
-import java.math.MathContext;
-import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Comparator;
 
 public class MathUtils {
 
-    public static final MathContext MATH_CONTEXT = new MathContext(10, RoundingMode.HALF_UP);
+    private static final double LN_2 = Math.log(2.0);
 
     /**
-     * Normalized logarithmic function using BigDecimal for precise calculations
+     * Normalized logarithmic function
      *
-     * @param x   The input value
+     * @param x   The input value, must not be negative
      * @param cap The cap value
      * @return The normalized logarithmic result
      */
-    public static BigDecimal normLog(int x, int cap) {
+    public static double normLog(int x, int cap) {
         if (cap <= 0) {
-            return BigDecimal.ZERO;
+            return 0.0;
+        }
+        if (x < 0) {
+            throw new IllegalArgumentException("Value must not be negative, but was: " + x);
         }
-
-        BigDecimal logX = BigDecimal.valueOf(Math.log1p(x));
-        BigDecimal logCap = BigDecimal.valueOf(Math.log1p(cap));
 
         // Return log1p(x) / log1p(cap)
-        return logX.divide(logCap, MATH_CONTEXT);
+        return Math.log1p(x) / Math.log1p(cap);
     }
 
     /**
@@ -34,22 +33,66 @@ public class MathUtils {
      * @param halfLifeDays    The half-life in days for the decay calculation
      * @return The freshness score (0.0 to 1.0)
      */
-    public static BigDecimal freshnessFromDays(int daysSinceUpdate, int halfLifeDays) {
+    public static double freshnessFromDays(int daysSinceUpdate, int halfLifeDays) {
         int d = Math.max(0, daysSinceUpdate);
-        
-        // Calculate lambda using BigDecimal operations
-        BigDecimal log2 = BigDecimal.valueOf(Math.log(2.0));
-        BigDecimal maxHalfLife = BigDecimal.valueOf(Math.max(1, halfLifeDays));
-        BigDecimal lambda = log2.divide(maxHalfLife, MATH_CONTEXT);
-        
-        // Calculate -lambda * d using BigDecimal operations
-        BigDecimal negativeLambda = lambda.negate();
-        BigDecimal days = BigDecimal.valueOf(d);
-        BigDecimal exponent = negativeLambda.multiply(days, MATH_CONTEXT);
-        
-        // Convert to double for Math.exp, then back to BigDecimal
-        double expResult = Math.exp(exponent.doubleValue());
-        return BigDecimal.valueOf(expResult).setScale(MATH_CONTEXT.getPrecision(), MATH_CONTEXT.getRoundingMode());
+        double lambda = LN_2 / Math.max(1, halfLifeDays);
+
+        return Math.exp(-lambda * d);
+    }
+
+    /**
+     * Spearman rank correlation of two series, with tied values sharing their average rank
+     *
+     * @param x The first series
+     * @param y The second series, of the same length
+     * @return The correlation (-1.0 to 1.0), or NaN if a series has fewer than 2 values or is constant
+     */
+    public static double spearman(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Series must have the same length, but were: " + x.length + " and " + y.length);
+        }
+        if (x.length < 2) {
+            return Double.NaN;
+        }
+        return pearson(ranks(x), ranks(y));
+    }
+
+    private static double[] ranks(double[] values) {
+        Integer[] order = new Integer[values.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> values[i]));
+
+        double[] ranks = new double[values.length];
+        int start = 0;
+        while (start < order.length) {
+            int end = start;
+            while (end + 1 < order.length && values[order[end + 1]] == values[order[start]]) {
+                end++;
+            }
+            double averageRank = (start + end) / 2.0 + 1.0;
+            for (int i = start; i <= end; i++) {
+                ranks[order[i]] = averageRank;
+            }
+            start = end + 1;
+        }
+        return ranks;
+    }
+
+    private static double pearson(double[] x, double[] y) {
+        double meanX = Arrays.stream(x).average().orElse(0.0);
+        double meanY = Arrays.stream(y).average().orElse(0.0);
+        double covariance = 0.0;
+        double varianceX = 0.0;
+        double varianceY = 0.0;
+        for (int i = 0; i < x.length; i++) {
+            double dx = x[i] - meanX;
+            double dy = y[i] - meanY;
+            covariance += dx * dy;
+            varianceX += dx * dx;
+            varianceY += dy * dy;
+        }
+        return covariance / Math.sqrt(varianceX * varianceY);
     }
-    
 }
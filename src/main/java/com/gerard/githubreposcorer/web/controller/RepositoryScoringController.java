@@ -4,6 +4,7 @@ import com.gerard.githubreposcorer.api.RepositoryScoringApi;
 import com.gerard.githubreposcorer.api.model.PageRequest;
 import com.gerard.githubreposcorer.api.model.RepositoriesScoringRequest;
 import com.gerard.githubreposcorer.api.model.RepositoryScorePage;
+import com.gerard.githubreposcorer.api.model.ScoringOptions;
 import com.gerard.githubreposcorer.service.RepositoryScoringService;
 import com.gerard.githubreposcorer.web.mapper.RepositoryScoringMapper;
 import lombok.RequiredArgsConstructor;
@@ -21,8 +22,9 @@ public class RepositoryScoringController implements RepositoryScoringApi {
 
     @Override
     public ResponseEntity<RepositoryScorePage> scoreRepositories(RepositoriesScoringRequest request,
-                                                                 PageRequest page) {
-        var domainRequest = repositoryScoringMapper.toDomainModel(request, page);
+                                                                 PageRequest page,
+                                                                 ScoringOptions scoring) {
+        var domainRequest = repositoryScoringMapper.toDomainModel(request, page, scoring);
         var domainResult = repositoryScoringService.scoreRepositories(domainRequest);
         RepositoryScorePage result = repositoryScoringMapper.toApiModel(domainResult);
         return ResponseEntity.ok(result);
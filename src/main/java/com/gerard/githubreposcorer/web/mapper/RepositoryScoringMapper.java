@@ -3,12 +3,18 @@ package com.gerard.githubreposcorer.web.mapper;
 import com.gerard.githubreposcorer.api.model.PageRequest;
 import com.gerard.githubreposcorer.api.model.RepositoriesScoringRequest;
 import com.gerard.githubreposcorer.api.model.RepositoryScore;
+import com.gerard.githubreposcorer.api.model.ScoringOptions;
 import com.gerard.githubreposcorer.domain.model.RepositorySearchRequest;
+import com.gerard.githubreposcorer.scoring.model.RuleContribution;
+import com.gerard.githubreposcorer.scoring.model.ScoreExplanation;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class RepositoryScoringMapper {
@@ -49,19 +55,64 @@ public class RepositoryScoringMapper {
         apiScore.setName(domainScore.getName());
         apiScore.setUrl(java.net.URI.create(domainScore.getUrl()));
         apiScore.setScore(domainScore.getScore().floatValue());
+        apiScore.setExplanation(toApiModel(domainScore.getExplanation()));
+        apiScore.setProfileScores(toApiModel(domainScore.getProfileScores()));
 
         return apiScore;
     }
 
+    /**
+     * Maps the scores of the additional weight profiles, keeping the requested order
+     */
+    private Map<String, Float> toApiModel(@Nullable Map<String, BigDecimal> profileScores) {
+        if (profileScores == null) {
+            return null;
+        }
+
+        Map<String, Float> apiProfileScores = new LinkedHashMap<>();
+        profileScores.forEach((profile, score) -> apiProfileScores.put(profile, score.floatValue()));
+        return apiProfileScores;
+    }
+
+    /**
+     * Maps a score explanation to API ScoreExplanation
+     */
+    public com.gerard.githubreposcorer.api.model.ScoreExplanation toApiModel(@Nullable ScoreExplanation explanation) {
+        if (explanation == null) {
+            return null;
+        }
+
+        com.gerard.githubreposcorer.api.model.ScoreExplanation apiExplanation = new com.gerard.githubreposcorer.api.model.ScoreExplanation();
+        apiExplanation.setStrategyVersion(explanation.strategyVersion());
+        apiExplanation.setRules(explanation.rules().stream()
+                .map(this::toApiModel)
+                .toList());
+
+        return apiExplanation;
+    }
+
+    private com.gerard.githubreposcorer.api.model.RuleContribution toApiModel(RuleContribution contribution) {
+        com.gerard.githubreposcorer.api.model.RuleContribution apiContribution = new com.gerard.githubreposcorer.api.model.RuleContribution();
+        apiContribution.setRule(contribution.rule());
+        apiContribution.setScore(contribution.score());
+        apiContribution.setWeight(contribution.weight());
+        apiContribution.setWeightedScore(contribution.weightedScore());
+        apiContribution.setError(contribution.error());
+        apiContribution.setInputs(new LinkedHashMap<>(contribution.inputs()));
+        return apiContribution;
+    }
+
     /**
      * Maps API search request and page request to domain search data
      * 
      * @param searchRequest the API search request (can be null)
      * @param pageRequest the API page request (can be null)
+     * @param scoringOptions the API scoring options (can be null)
      * @return the domain search data with proper defaults
      */
     public RepositorySearchRequest toDomainModel(@Nullable RepositoriesScoringRequest searchRequest,
-                                                 @Nullable PageRequest pageRequest) {
+                                                 @Nullable PageRequest pageRequest,
+                                                 @Nullable ScoringOptions scoringOptions) {
         return RepositorySearchRequest.builder()
                 .earliestCreationDate(mapEarliestCreationDate(searchRequest))
                 .language(mapLanguage(searchRequest))
@@ -69,6 +120,11 @@ public class RepositoryScoringMapper {
                 .repo(mapRepo(searchRequest))
                 .page(mapPage(pageRequest))
                 .size(mapSize(pageRequest))
+                .strategyVersion(scoringOptions != null ? scoringOptions.getStrategyVersion() : null)
+                .weightProfile(scoringOptions != null ? scoringOptions.getWeightProfile() : null)
+                .weightProfiles(scoringOptions != null ? scoringOptions.getWeightProfiles() : null)
+                .ranked(scoringOptions != null && Boolean.TRUE.equals(scoringOptions.getRanked()))
+                .explain(scoringOptions != null && Boolean.TRUE.equals(scoringOptions.getExplain()))
                 .build();
     }
 
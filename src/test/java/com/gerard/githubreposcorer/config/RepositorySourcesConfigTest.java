@@ -0,0 +1,53 @@
+package com.gerard.githubreposcorer.config;
+
+import com.gerard.githubreposcorer.data.GitHubApiClient;
+import com.gerard.githubreposcorer.data.GraphQlGitHubApiClient;
+import com.gerard.githubreposcorer.data.Http2GitHubApiClient;
+import com.gerard.githubreposcorer.data.RepositoriesSource;
+import com.gerard.githubreposcorer.data.SearchRevalidationCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositorySourcesConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(SourcesConfiguration.class)
+            .withBean(RestClient.class, RestClient::create);
+
+    @Test
+    @DisplayName("Should create the revalidation cache for the REST client")
+    void shouldCreateTheRevalidationCacheForTheRestClient() {
+        // When & Then
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(SearchRevalidationCache.class);
+            assertThat(context.getBean(RepositoriesSource.class)).isInstanceOf(GitHubApiClient.class);
+        });
+    }
+
+    @Test
+    @DisplayName("Should not create the revalidation cache for the other clients")
+    void shouldNotCreateTheRevalidationCacheForTheOtherClients() {
+        // When & Then
+        contextRunner.withPropertyValues("github.api.client=http2").run(context -> {
+            assertThat(context).doesNotHaveBean(SearchRevalidationCache.class);
+            assertThat(context.getBean(RepositoriesSource.class)).isInstanceOf(Http2GitHubApiClient.class);
+        });
+        contextRunner.withPropertyValues("github.api.client=graphql").run(context -> {
+            assertThat(context).doesNotHaveBean(SearchRevalidationCache.class);
+            assertThat(context.getBean(RepositoriesSource.class)).isInstanceOf(GraphQlGitHubApiClient.class);
+        });
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(GitHubApiProperties.class)
+    @Import(RepositorySourcesConfig.class)
+    static class SourcesConfiguration {
+    }
+}
@@ -0,0 +1,131 @@
+package com.gerard.githubreposcorer.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RestClientConfigTest {
+
+    private final RestClientConfig config = new RestClientConfig();
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/fast", exchange -> {
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should reuse pooled connections and record the lease wait")
+    void shouldReusePooledConnectionsAndRecordTheLeaseWait() throws IOException {
+        // Given
+        var properties = new GitHubApiProperties();
+        properties.getTransport().setMaxConnections(4);
+        var manager = config.gitHubConnectionManager(properties);
+        var registry = new SimpleMeterRegistry();
+        manager.bindTo(registry);
+
+        try (CloseableHttpClient client = config.gitHubHttpClient(manager, properties)) {
+            // When
+            for (int i = 0; i < 3; i++) {
+                client.execute(new HttpGet(baseUrl + "/fast"), response -> null);
+            }
+
+            // Then
+            assertThat(registry.get("github.http.pool.lease.wait").timer().count()).isEqualTo(3);
+            assertThat(registry.get("github.http.pool.max").gauge().value()).isEqualTo(4.0);
+            assertThat(registry.get("github.http.pool.connections").tag("state", "available").gauge().value())
+                    .isEqualTo(1.0);
+            assertThat(registry.get("github.http.pool.utilization").gauge().value()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail a request exceeding the configured timeout")
+    void shouldFailARequestExceedingTheConfiguredTimeout() {
+        // Given
+        var properties = new GitHubApiProperties();
+        properties.setTimeout(Duration.ofMillis(200));
+        var manager = config.gitHubConnectionManager(properties);
+
+        // When & Then
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> {
+            try (CloseableHttpClient client = config.gitHubHttpClient(manager, properties)) {
+                client.execute(new HttpGet(baseUrl + "/slow"), response -> null);
+            }
+        }).isInstanceOf(SocketTimeoutException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1_500));
+    }
+
+    @Test
+    @DisplayName("Should create the pooled transport and its pre-warming for the REST and GraphQL clients only")
+    void shouldCreateThePooledTransportAndItsPrewarmingForTheRestAndGraphQlClientsOnly() {
+        // Given
+        var contextRunner = new ApplicationContextRunner().withUserConfiguration(TransportConfiguration.class);
+
+        // When & Then
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(GitHubConnectionManager.class);
+            assertThat(context).hasSingleBean(RestClient.class);
+            assertThat(context).hasSingleBean(GitHubConnectionPrewarmer.class);
+        });
+        contextRunner.withPropertyValues("github.api.client=graphql").run(context -> {
+            assertThat(context).hasSingleBean(GitHubConnectionManager.class);
+            assertThat(context).hasSingleBean(GitHubConnectionPrewarmer.class);
+        });
+        contextRunner.withPropertyValues("github.api.client=http2").run(context -> {
+            assertThat(context).doesNotHaveBean(GitHubConnectionManager.class);
+            assertThat(context).doesNotHaveBean(CloseableHttpClient.class);
+            assertThat(context).doesNotHaveBean(RestClient.class);
+            assertThat(context).doesNotHaveBean(GitHubConnectionPrewarmer.class);
+        });
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(GitHubApiProperties.class)
+    @Import({RestClientConfig.class, GitHubConnectionPrewarmer.class})
+    static class TransportConfiguration {
+    }
+}
@@ -0,0 +1,161 @@
+package com.gerard.githubreposcorer.data;
+
+import com.gerard.githubreposcorer.config.GitHubApiProperties;
+import com.gerard.githubreposcorer.config.RestClientConfig;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchRequest;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the REST client against a local stub of the search endpoint honouring conditional requests.
+ */
+class GitHubApiClientRevalidationTest {
+
+    private static final String SEARCH_RESPONSE = """
+            {"total_count": 1, "items": [
+              {"name": "spring-boot", "full_name": "spring-projects/spring-boot",
+               "html_url": "https://github.com/spring-projects/spring-boot", "language": "Java",
+               "stargazers_count": %d, "forks_count": 40000,
+               "created_at": "2012-10-19T15:02:57Z", "updated_at": "2024-05-01T10:00:00Z",
+               "owner": {"login": "spring-projects"}}
+            ]}
+            """;
+
+    private final RestClientConfig config = new RestClientConfig();
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+    private final List<String> ifModifiedSince = new CopyOnWriteArrayList<>();
+    private volatile String etag = "\"v1\"";
+    private volatile String lastModified;
+    private volatile int stars = 75_000;
+    private HttpServer server;
+    private GitHubApiProperties properties;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/search/repositories", this::handleSearch);
+        server.start();
+        properties = new GitHubApiProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        httpClient = config.gitHubHttpClient(config.gitHubConnectionManager(properties), properties);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should reuse the stored response when the search is not modified")
+    void shouldReuseTheStoredResponseWhenTheSearchIsNotModified() {
+        // Given
+        var cache = new SearchRevalidationCache(properties);
+        var registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        var client = new GitHubApiClient(config.restClient(httpClient), properties, cache);
+        var request = RepositorySearchRequest.builder().language("java").page(0).size(10).build();
+
+        // When
+        RepositorySearchResponse first = client.searchRepositories(request);
+        RepositorySearchResponse second = client.searchRepositories(request);
+        etag = "\"v2\"";
+        stars = 75_001;
+        RepositorySearchResponse third = client.searchRepositories(request);
+        RepositorySearchResponse fourth = client.searchRepositories(request);
+
+        // Then
+        assertThat(ifNoneMatch).containsExactly(null, "\"v1\"", "\"v1\"", "\"v2\"");
+        assertThat(second).isSameAs(first);
+        assertThat(third.items().get(0).getStars()).isEqualTo(75_001);
+        assertThat(fourth).isSameAs(third);
+        assertThat(cache.getHitRate()).isEqualTo(2.0 / 3);
+        assertThat(registry.get("github.search.revalidations").tag("outcome", "not_modified").functionCounter().count())
+                .isEqualTo(2.0);
+        assertThat(registry.get("github.search.revalidations").tag("outcome", "modified").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("github.search.revalidation.hit.rate").gauge().value()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    @DisplayName("Should revalidate by date when the response has no entity tag")
+    void shouldRevalidateByDateWhenTheResponseHasNoEntityTag() {
+        // Given
+        etag = null;
+        lastModified = "Wed, 01 May 2024 10:00:00 GMT";
+        var cache = new SearchRevalidationCache(properties);
+        var client = new GitHubApiClient(config.restClient(httpClient), properties, cache);
+        var request = RepositorySearchRequest.builder().page(0).size(10).build();
+
+        // When
+        RepositorySearchResponse first = client.searchRepositories(request);
+        RepositorySearchResponse second = client.searchRepositories(request);
+
+        // Then
+        assertThat(ifModifiedSince).containsExactly(null, lastModified);
+        assertThat(second).isSameAs(first);
+        assertThat(cache.getHitRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should send unconditional requests when disabled")
+    void shouldSendUnconditionalRequestsWhenDisabled() {
+        // Given
+        properties.getRevalidation().setEnabled(false);
+        var cache = new SearchRevalidationCache(properties);
+        var client = new GitHubApiClient(config.restClient(httpClient), properties, cache);
+        var request = RepositorySearchRequest.builder().page(0).size(10).build();
+
+        // When
+        RepositorySearchResponse first = client.searchRepositories(request);
+        RepositorySearchResponse second = client.searchRepositories(request);
+
+        // Then
+        assertThat(ifNoneMatch).containsExactly(null, null);
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        assertThat(cache.getHitRate()).isZero();
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        String requestEtag = exchange.getRequestHeaders().getFirst("If-None-Match");
+        String requestDate = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+        ifNoneMatch.add(requestEtag);
+        ifModifiedSince.add(requestDate);
+
+        String currentEtag = etag;
+        String currentDate = lastModified;
+        if (currentEtag != null) {
+            exchange.getResponseHeaders().set("ETag", currentEtag);
+        }
+        if (currentDate != null) {
+            exchange.getResponseHeaders().set("Last-Modified", currentDate);
+        }
+        if ((currentEtag != null && currentEtag.equals(requestEtag))
+                || (currentEtag == null && currentDate != null && currentDate.equals(requestDate))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = SEARCH_RESPONSE.formatted(stars).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
@@ -1,5 +1,6 @@
 package com.gerard.githubreposcorer.data;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gerard.githubreposcorer.config.GitHubApiProperties;
 import com.gerard.githubreposcorer.domain.model.GitHubRepository;
 import com.gerard.githubreposcorer.domain.model.RepositorySearchRequest;
@@ -10,17 +11,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,6 +35,8 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class GitHubApiClientTest {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     @Mock
     private RestClient restClient;
 
@@ -37,9 +46,6 @@ class GitHubApiClientTest {
     @Mock
     private RestClient.RequestHeadersSpec requestHeadersSpec;
 
-    @Mock
-    private RestClient.ResponseSpec responseSpec;
-
     private GitHubApiProperties gitHubApiProperties;
     private GitHubApiClient gitHubApiClient;
     private String capturedUrl;
@@ -50,7 +56,8 @@ class GitHubApiClientTest {
         gitHubApiProperties.setBaseUrl("https://api.github.com");
         gitHubApiProperties.setToken("test-token");
 
-        gitHubApiClient = new GitHubApiClient(restClient, gitHubApiProperties);
+        gitHubApiClient = new GitHubApiClient(restClient, gitHubApiProperties,
+                new SearchRevalidationCache(gitHubApiProperties));
     }
 
     @Test
@@ -249,8 +256,8 @@ class GitHubApiClientTest {
         when(restClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.header(anyString(), anyString())).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.body(Map.class)).thenThrow(new RestClientException("API Error"));
+        when(requestHeadersSpec.exchange(any(RestClient.RequestHeadersSpec.ExchangeFunction.class)))
+                .thenThrow(new RestClientException("API Error"));
 
         // When & Then
         assertThatThrownBy(() -> gitHubApiClient.searchRepositories(request))
@@ -395,8 +402,14 @@ class GitHubApiClientTest {
             return requestHeadersSpec;
         });
         when(requestHeadersSpec.header(anyString(), anyString())).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.body(Map.class)).thenReturn(responseBody);
+        when(requestHeadersSpec.exchange(any(RestClient.RequestHeadersSpec.ExchangeFunction.class))).thenAnswer(invocation -> {
+            RestClient.RequestHeadersSpec.ExchangeFunction<?> exchange = invocation.getArgument(0);
+            var response = mock(RestClient.RequestHeadersSpec.ConvertibleClientHttpResponse.class);
+            when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+            when(response.getHeaders()).thenReturn(new HttpHeaders());
+            when(response.getBody()).thenReturn(new ByteArrayInputStream(OBJECT_MAPPER.writeValueAsBytes(responseBody)));
+            return exchange.exchange(mock(HttpRequest.class), response);
+        });
     }
 
     private Map<String, Object> createMockGitHubApiResponse() {
@@ -0,0 +1,255 @@
+package com.gerard.githubreposcorer.data;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gerard.githubreposcorer.config.GitHubApiProperties;
+import com.gerard.githubreposcorer.config.RestClientConfig;
+import com.gerard.githubreposcorer.domain.model.GitHubRepository;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchRequest;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
+import com.gerard.githubreposcorer.util.Benchmarks;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the GraphQL client against a local stub of the GitHub {@code search} query, serving the same
+ * repositories as a stub of the REST search endpoint returning full search items.
+ */
+class GraphQlGitHubApiClientTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int REPOSITORY_COUNT = 250;
+
+    private final RestClientConfig config = new RestClientConfig();
+    private final List<JsonNode> graphQlRequests = new CopyOnWriteArrayList<>();
+    private final AtomicReference<String> authorization = new AtomicReference<>();
+    private final AtomicLong graphQlBytes = new AtomicLong();
+    private final AtomicLong restBytes = new AtomicLong();
+    private volatile String graphQlError;
+    private List<ObjectNode> items;
+    private HttpServer server;
+    private GitHubApiProperties properties;
+    private CloseableHttpClient httpClient;
+    private GraphQlGitHubApiClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ObjectNode item;
+        try (InputStream fixture = getClass().getResourceAsStream("/github/search-repository-item.json")) {
+            item = (ObjectNode) OBJECT_MAPPER.readTree(fixture);
+        }
+        items = new ArrayList<>();
+        for (int i = 0; i < REPOSITORY_COUNT; i++) {
+            ObjectNode copy = item.deepCopy();
+            copy.put("name", "repository-" + i);
+            copy.put("full_name", "spring-projects/repository-" + i);
+            copy.put("html_url", "https://github.com/spring-projects/repository-" + i);
+            copy.put("stargazers_count", 75_000 - i);
+            copy.put("forks_count", 40_000 - i);
+            if (i % 10 == 0) {
+                copy.putNull("language");
+            }
+            items.add(copy);
+        }
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/graphql", this::handleGraphQl);
+        server.createContext("/search/repositories", this::handleRestSearch);
+        server.start();
+
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        properties = new GitHubApiProperties();
+        properties.setBaseUrl(baseUrl);
+        properties.setToken("test-token");
+        properties.getGraphql().setUrl(baseUrl + "/graphql");
+        httpClient = config.gitHubHttpClient(config.gitHubConnectionManager(properties), properties);
+        client = new GraphQlGitHubApiClient(config.restClient(httpClient), properties);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should search repositories page after page by cursor")
+    void shouldSearchRepositoriesPageAfterPageByCursor() {
+        // Given
+        var request = RepositorySearchRequest.builder().org("spring-projects").language("java").page(0).size(100).build();
+
+        // When
+        RepositorySearchResponse first = client.searchRepositories(request);
+        RepositorySearchResponse second = client.searchRepositories(request.toBuilder().page(1).build());
+
+        // Then
+        assertThat(first.totalCount()).isEqualTo(REPOSITORY_COUNT);
+        assertThat(first.items()).hasSize(100);
+        GitHubRepository repository = second.items().get(1);
+        assertThat(repository.getName()).isEqualTo("repository-101");
+        assertThat(repository.getFullName()).isEqualTo("spring-projects/repository-101");
+        assertThat(repository.getHtmlUrl()).isEqualTo("https://github.com/spring-projects/repository-101");
+        assertThat(repository.getOwner()).isEqualTo("spring-projects");
+        assertThat(repository.getLanguage()).isEqualTo("Java");
+        assertThat(repository.getStars()).isEqualTo(74_899);
+        assertThat(repository.getForks()).isEqualTo(39_899);
+        assertThat(repository.getCreatedAt()).isEqualTo("2012-10-19T15:02:57");
+        assertThat(repository.getUpdatedAt()).isEqualTo("2024-05-01T10:11:12");
+        assertThat(second.items().get(0).getLanguage()).isNull();
+        assertThat(authorization.get()).isEqualTo("bearer test-token");
+        assertThat(graphQlRequests).hasSize(2);
+        assertThat(graphQlRequests.get(0).path("variables").path("query").asText())
+                .isEqualTo("org:spring-projects language:java sort:stars");
+        assertThat(graphQlRequests.get(0).path("variables").path("after").isNull()).isTrue();
+        assertThat(graphQlRequests.get(1).path("variables").path("after").asText()).isEqualTo(cursor(100));
+    }
+
+    @Test
+    @DisplayName("Should walk the cursors to a page whose predecessor is unknown")
+    void shouldWalkTheCursorsToAPageWhosePredecessorIsUnknown() {
+        // Given
+        var request = RepositorySearchRequest.builder().page(2).size(50).build();
+
+        // When
+        RepositorySearchResponse third = client.searchRepositories(request);
+        RepositorySearchResponse fourth = client.searchRepositories(request.toBuilder().page(3).build());
+        RepositorySearchResponse beyond = client.searchRepositories(request.toBuilder().page(6).build());
+
+        // Then
+        assertThat(third.items()).extracting(GitHubRepository::getName).startsWith("repository-100");
+        assertThat(fourth.items()).extracting(GitHubRepository::getName).startsWith("repository-150");
+        assertThat(beyond.items()).isEmpty();
+        assertThat(beyond.totalCount()).isEqualTo(REPOSITORY_COUNT);
+        // Two cursor walks to reach page 2, then one over page 4, the last one, to reach page 6
+        assertThat(graphQlRequests).extracting(body -> body.path("query").asText().contains("nodes"))
+                .containsExactly(false, false, true, true, false);
+    }
+
+    @Test
+    @DisplayName("Should transfer a fraction of the REST search payload for the same repositories")
+    void shouldTransferAFractionOfTheRestSearchPayloadForTheSameRepositories() {
+        // Given
+        var request = RepositorySearchRequest.builder().language("java").page(0).size(100).build();
+        var restClient = new GitHubApiClient(config.restClient(httpClient), properties,
+                new SearchRevalidationCache(properties));
+
+        // When
+        RepositorySearchResponse rest = restClient.searchRepositories(request);
+        RepositorySearchResponse graphQl = client.searchRepositories(request);
+
+        // Then
+        assertThat(graphQl).isEqualTo(rest);
+        Benchmarks.report("Page of {} repositories: REST {} KiB, GraphQL {} KiB", graphQl.items().size(),
+                restBytes.get() / 1024, graphQlBytes.get() / 1024);
+        assertThat(graphQlBytes.get()).isLessThan(restBytes.get() / 10);
+    }
+
+    @Test
+    @DisplayName("Should throw RuntimeException when the query responds with errors")
+    void shouldThrowRuntimeExceptionWhenTheQueryRespondsWithErrors() {
+        // Given
+        graphQlError = "API rate limit exceeded";
+        var request = RepositorySearchRequest.builder().page(0).size(10).build();
+
+        // When & Then
+        assertThatThrownBy(() -> client.searchRepositories(request))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Failed to fetch repositories from GitHub API")
+                .hasRootCauseMessage("GitHub GraphQL API responded with an error: API rate limit exceeded");
+    }
+
+    private void handleGraphQl(HttpExchange exchange) throws IOException {
+        JsonNode body = OBJECT_MAPPER.readTree(exchange.getRequestBody());
+        graphQlRequests.add(body);
+        authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+
+        ObjectNode response = OBJECT_MAPPER.createObjectNode();
+        if (graphQlError != null) {
+            response.putNull("data");
+            response.putArray("errors").addObject().put("message", graphQlError);
+        } else {
+            JsonNode variables = body.path("variables");
+            int first = variables.path("first").asInt();
+            int start = variables.path("after").isNull() ? 0 : Integer.parseInt(variables.path("after").asText().substring(7));
+            int end = Math.min(start + first, items.size());
+
+            ObjectNode data = response.putObject("data");
+            ObjectNode search = data.putObject("search");
+            search.put("repositoryCount", items.size());
+            search.putObject("pageInfo")
+                    .put("endCursor", end > start ? cursor(end) : null)
+                    .put("hasNextPage", end < items.size());
+            if (body.path("query").asText().contains("nodes")) {
+                ArrayNode nodes = search.putArray("nodes");
+                for (ObjectNode item : items.subList(start, end)) {
+                    ObjectNode node = nodes.addObject();
+                    node.set("name", item.get("name"));
+                    node.set("nameWithOwner", item.get("full_name"));
+                    node.set("url", item.get("html_url"));
+                    node.set("stargazerCount", item.get("stargazers_count"));
+                    node.set("forkCount", item.get("forks_count"));
+                    node.set("createdAt", item.get("created_at"));
+                    node.set("updatedAt", item.get("updated_at"));
+                    if (item.get("language").isNull()) {
+                        node.putNull("primaryLanguage");
+                    } else {
+                        node.putObject("primaryLanguage").set("name", item.get("language"));
+                    }
+                    node.putObject("owner").set("login", item.get("owner").get("login"));
+                }
+            }
+            data.putObject("rateLimit").put("cost", 1).put("remaining", 4_999).put("resetAt", "2030-01-01T00:00:00Z");
+        }
+        graphQlBytes.addAndGet(respond(exchange, response));
+    }
+
+    private void handleRestSearch(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        for (String parameter : exchange.getRequestURI().getQuery().split("&")) {
+            String[] pair = parameter.split("=", 2);
+            parameters.put(pair[0], pair[1]);
+        }
+        int size = Integer.parseInt(parameters.get("per_page"));
+        int start = (Integer.parseInt(parameters.get("page")) - 1) * size;
+
+        ObjectNode response = OBJECT_MAPPER.createObjectNode();
+        response.put("total_count", items.size());
+        response.put("incomplete_results", false);
+        response.putArray("items").addAll(items.subList(start, Math.min(start + size, items.size())));
+        restBytes.addAndGet(respond(exchange, response));
+    }
+
+    private static long respond(HttpExchange exchange, ObjectNode response) throws IOException {
+        byte[] bytes = OBJECT_MAPPER.writeValueAsBytes(response);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+        return bytes.length;
+    }
+
+    private static String cursor(int offset) {
+        return "cursor:" + offset;
+    }
+}
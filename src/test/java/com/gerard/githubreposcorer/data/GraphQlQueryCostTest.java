@@ -0,0 +1,37 @@
+package com.gerard.githubreposcorer.data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GraphQlQueryCostTest {
+
+    @Test
+    @DisplayName("Should estimate the cost of nested connections as GitHub calculates it")
+    void shouldEstimateTheCostOfNestedConnectionsAsGitHubCalculatesIt() {
+        // When
+        GraphQlQueryCost search = GraphQlQueryCost.estimate(100);
+        GraphQlQueryCost nested = GraphQlQueryCost.estimate(100, 50, 60);
+
+        // Then
+        assertThat(search).isEqualTo(new GraphQlQueryCost(1, 100));
+        assertThat(search.points()).isEqualTo(1);
+        // 1 request for the repositories, 100 for their issues and 5000 for the labels of the issues
+        assertThat(nested).isEqualTo(new GraphQlQueryCost(5_101, 305_100));
+        assertThat(nested.points()).isEqualTo(51);
+    }
+
+    @Test
+    @DisplayName("Should reject connections GitHub would refuse")
+    void shouldRejectConnectionsGitHubWouldRefuse() {
+        // When & Then
+        assertThatThrownBy(() -> GraphQlQueryCost.estimate(101))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("GraphQL connection size must be between 1 and 100, got 101");
+        assertThatThrownBy(() -> GraphQlQueryCost.estimate(100, 100, 100))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("GraphQL query can return 1010100 nodes, more than the limit of 500000");
+    }
+}
@@ -0,0 +1,192 @@
+package com.gerard.githubreposcorer.data;
+
+import com.gerard.githubreposcorer.config.GitHubApiProperties;
+import com.gerard.githubreposcorer.config.RestClientConfig;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchRequest;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
+import com.gerard.githubreposcorer.util.Benchmarks;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.http2.Http2Protocol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the clients against a local Tomcat stub of the search endpoint, serving HTTP/2 over cleartext (h2c).
+ */
+class Http2GitHubApiClientTest {
+
+    private static final String SEARCH_RESPONSE = """
+            {"total_count": 2, "items": [
+              {"name": "spring-boot", "full_name": "spring-projects/spring-boot",
+               "html_url": "https://github.com/spring-projects/spring-boot", "language": "Java",
+               "stargazers_count": 75000, "forks_count": 40000,
+               "created_at": "2012-10-19T15:02:57Z", "updated_at": "2024-05-01T10:00:00Z",
+               "owner": {"login": "spring-projects"}},
+              {"name": "spring-framework", "full_name": "spring-projects/spring-framework",
+               "html_url": "https://github.com/spring-projects/spring-framework", "language": null,
+               "stargazers_count": 56000, "forks_count": 38000,
+               "created_at": "2010-12-08T04:04:45Z", "updated_at": "2024-05-02T10:00:00Z",
+               "owner": {"login": "spring-projects"}}
+            ]}
+            """;
+
+    private final Set<String> protocols = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<String> authorization = new AtomicReference<>();
+    private volatile int status = 200;
+    private volatile long latencyMillis;
+    private Tomcat tomcat;
+    private GitHubApiProperties properties;
+
+    @BeforeEach
+    void setUp(@TempDir Path baseDir) throws LifecycleException {
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        Connector connector = new Connector();
+        connector.setPort(0);
+        // Tomcat executes at most 20 streams of a connection concurrently by default
+        Http2Protocol http2 = new Http2Protocol();
+        http2.setMaxConcurrentStreamExecution(100);
+        connector.addUpgradeProtocol(http2);
+        tomcat.setConnector(connector);
+        Context context = tomcat.addContext("", baseDir.toString());
+        Tomcat.addServlet(context, "search", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                protocols.add(request.getProtocol());
+                authorization.set(request.getHeader("Authorization"));
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                response.setStatus(status);
+                response.setContentType("application/json");
+                response.getWriter().write(SEARCH_RESPONSE);
+            }
+        });
+        context.addServletMappingDecoded("/search/repositories", "search");
+        tomcat.start();
+
+        properties = new GitHubApiProperties();
+        properties.setBaseUrl("http://localhost:" + connector.getLocalPort());
+        properties.setToken("test-token");
+    }
+
+    @AfterEach
+    void tearDown() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Test
+    @DisplayName("Should search repositories over HTTP/2")
+    void shouldSearchRepositoriesOverHttp2() {
+        // Given
+        var request = RepositorySearchRequest.builder().language("java").page(0).size(2).build();
+
+        try (var client = new Http2GitHubApiClient(Http2GitHubApiClient.createHttpClient(properties), properties)) {
+            // When
+            RepositorySearchResponse response = client.searchRepositories(request);
+            client.searchRepositories(request);
+
+            // Then
+            assertThat(response.totalCount()).isEqualTo(2);
+            assertThat(response.items()).hasSize(2);
+            assertThat(response.items().get(0).getFullName()).isEqualTo("spring-projects/spring-boot");
+            assertThat(response.items().get(0).getStars()).isEqualTo(75000);
+            assertThat(response.items().get(0).getOwner()).isEqualTo("spring-projects");
+            assertThat(response.items().get(1).getLanguage()).isNull();
+            assertThat(authorization.get()).isEqualTo("token test-token");
+            // The first request upgrades the connection, the next ones are HTTP/2 streams
+            assertThat(protocols).contains("HTTP/2.0");
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw RuntimeException when the API responds with an error status")
+    void shouldThrowRuntimeExceptionWhenTheApiRespondsWithAnErrorStatus() {
+        // Given
+        status = 403;
+        var request = RepositorySearchRequest.builder().page(0).size(2).build();
+
+        try (var client = new Http2GitHubApiClient(Http2GitHubApiClient.createHttpClient(properties), properties)) {
+            // When & Then
+            assertThatThrownBy(() -> client.searchRepositories(request))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("Failed to fetch repositories from GitHub API")
+                    .hasRootCauseMessage("GitHub API responded with status 403");
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "scoring.benchmarks", matches = "true")
+    @DisplayName("Should compare HTTP/1.1 pooled and HTTP/2 multiplexed search throughput")
+    void shouldCompareHttp11PooledAndHttp2MultiplexedSearchThroughput() throws Exception {
+        // Given
+        latencyMillis = 100;
+        int concurrency = 64;
+        int rounds = 10;
+        var config = new RestClientConfig();
+        var manager = config.gitHubConnectionManager(properties);
+        var httpClient = config.gitHubHttpClient(manager, properties);
+        var restSource = new GitHubApiClient(config.restClient(httpClient), properties,
+                new SearchRevalidationCache(properties));
+        var http2Source = new Http2GitHubApiClient(Http2GitHubApiClient.createHttpClient(properties), properties);
+
+        try (httpClient; http2Source; ExecutorService callers = Executors.newFixedThreadPool(concurrency)) {
+            // When
+            double restPerSecond = measureSearchesPerSecond(restSource, callers, concurrency, rounds);
+            double http2PerSecond = measureSearchesPerSecond(http2Source, callers, concurrency, rounds);
+
+            // Then
+            Benchmarks.report("{} concurrent searches with {} ms latency: HTTP/1.1 pool of {} connections {}/s, "
+                            + "HTTP/2 {}/s, speedup x{}", concurrency, latencyMillis,
+                    properties.getTransport().getMaxConnectionsPerRoute(), Math.round(restPerSecond),
+                    Math.round(http2PerSecond), "%.2f".formatted(http2PerSecond / restPerSecond));
+            assertThat(http2PerSecond).isPositive();
+        }
+    }
+
+    private static double measureSearchesPerSecond(RepositoriesSource source, ExecutorService callers,
+                                                   int concurrency, int rounds) throws Exception {
+        var request = RepositorySearchRequest.builder().page(0).size(2).build();
+        // One warmup round opens the connections and warms up the code paths
+        return concurrency * Benchmarks.measure(1, rounds,
+                () -> runConcurrently(source, callers, concurrency, request)).runsPerSecond();
+    }
+
+    private static void runConcurrently(RepositoriesSource source, ExecutorService callers, int concurrency,
+                                        RepositorySearchRequest request) throws Exception {
+        List<Future<RepositorySearchResponse>> searches = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            searches.add(callers.submit(() -> source.searchRepositories(request)));
+        }
+        for (Future<RepositorySearchResponse> search : searches) {
+            search.get();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.gerard.githubreposcorer.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gerard.githubreposcorer.domain.model.GitHubRepository;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
+import com.gerard.githubreposcorer.util.Benchmarks;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Decodes pages of full search items, as returned by the GitHub API, and compares the decoder with the
+ * Map tree decoding the clients previously used.
+ */
+class SearchResponseDecoderTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int PAGE_SIZE = 100;
+
+    private static byte[] page;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        ObjectNode item;
+        try (InputStream fixture = SearchResponseDecoderTest.class.getResourceAsStream("/github/search-repository-item.json")) {
+            item = (ObjectNode) OBJECT_MAPPER.readTree(fixture);
+        }
+        ObjectNode response = OBJECT_MAPPER.createObjectNode();
+        response.put("total_count", 4_242);
+        response.put("incomplete_results", false);
+        ArrayNode items = response.putArray("items");
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ObjectNode copy = item.deepCopy();
+            copy.put("name", "repository-" + i);
+            copy.put("full_name", "spring-projects/repository-" + i);
+            copy.put("stargazers_count", 75_000 - i);
+            copy.put("forks_count", 40_000 - i);
+            if (i % 10 == 0) {
+                copy.putNull("language");
+            }
+            items.add(copy);
+        }
+        page = OBJECT_MAPPER.writeValueAsBytes(response);
+    }
+
+    @Test
+    @DisplayName("Should decode the same repositories as the Map tree decoding")
+    void shouldDecodeTheSameRepositoriesAsTheMapTreeDecoding() throws IOException {
+        // When
+        RepositorySearchResponse response = SearchResponseDecoder.decode(page);
+
+        // Then
+        assertThat(response).isEqualTo(decodeAsMapTree(page));
+        assertThat(response.totalCount()).isEqualTo(4_242);
+        assertThat(response.items()).hasSize(PAGE_SIZE);
+        GitHubRepository second = response.items().get(1);
+        assertThat(second.getFullName()).isEqualTo("spring-projects/repository-1");
+        assertThat(second.getOwner()).isEqualTo("spring-projects");
+        assertThat(second.getStars()).isEqualTo(74_999);
+        assertThat(second.getCreatedAt()).isEqualTo("2012-10-19T15:02:57");
+        assertThat(response.items().get(0).getLanguage()).isNull();
+        assertThat(SearchResponseDecoder.decode(bytes("{\"total_count\": 3}")))
+                .isEqualTo(new RepositorySearchResponse(0, List.of()));
+        assertThat(SearchResponseDecoder.decode(bytes("{\"total_count\": 0, \"items\": []}")).items()).isEmpty();
+        assertThat(SearchResponseDecoder.decode(bytes("null")).items()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should skip null items and keep decoding the items after them")
+    void shouldSkipNullItemsAndKeepDecodingTheItemsAfterThem() throws IOException {
+        // Given
+        byte[] body = bytes("""
+                {"total_count": 2, "items": [
+                  {"full_name": "spring-projects/spring-boot", "owner": {"login": "spring-projects"}},
+                  null,
+                  {"full_name": "spring-projects/spring-framework", "stargazers_count": 57000}
+                ]}""");
+
+        // When
+        RepositorySearchResponse response = SearchResponseDecoder.decode(body);
+
+        // Then
+        assertThat(response.totalCount()).isEqualTo(2);
+        assertThat(response.items()).extracting(GitHubRepository::getFullName)
+                .containsExactly("spring-projects/spring-boot", "spring-projects/spring-framework");
+        assertThat(response.items().get(1).getStars()).isEqualTo(57_000);
+    }
+
+    @Test
+    @DisplayName("Should allocate less than the Map tree decoding")
+    void shouldAllocateLessThanTheMapTreeDecoding() throws Exception {
+        // Given
+        assumeTrue(Benchmarks.isAllocationMeasured());
+
+        // When
+        long treeAllocated = Benchmarks.measure(1, 1, () -> decodeAsMapTree(page)).allocatedBytes();
+        long streamingAllocated = Benchmarks.measure(1, 1, () -> SearchResponseDecoder.decode(page)).allocatedBytes();
+
+        // Then
+        assertThat(streamingAllocated)
+                .as("bytes allocated decoding a page, %d bytes with the Map tree", treeAllocated)
+                .isLessThan(treeAllocated / 4);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "scoring.benchmarks", matches = "true")
+    @DisplayName("Should compare streaming and Map tree decoding of search pages")
+    void shouldCompareStreamingAndMapTreeDecodingOfSearchPages() throws Exception {
+        // Given
+        int iterations = 5_000;
+
+        // When
+        var tree = Benchmarks.measure(iterations, iterations, () -> decodeAsMapTree(page));
+        var streaming = Benchmarks.measure(iterations, iterations, () -> SearchResponseDecoder.decode(page));
+
+        // Then
+        Benchmarks.report("Page of {} items ({} KiB): Map tree {} us and {} KiB per page, streaming {} us and {} KiB "
+                        + "per page, speedup x{}", PAGE_SIZE, page.length / 1024,
+                (long) tree.nanosPerRun() / 1_000, tree.allocatedBytesPerRun() / 1024,
+                (long) streaming.nanosPerRun() / 1_000, streaming.allocatedBytesPerRun() / 1024,
+                "%.2f".formatted(tree.nanosPerRun() / streaming.nanosPerRun()));
+        assertThat(streaming.allocatedBytes()).isLessThan(tree.allocatedBytes());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RepositorySearchResponse decodeAsMapTree(byte[] body) throws IOException {
+        Map<String, Object> responseBody = OBJECT_MAPPER.readValue(body, Map.class);
+        List<Map<String, Object>> items = (List<Map<String, Object>>) responseBody.get("items");
+        List<GitHubRepository> repositories = items.stream()
+                .map(item -> GitHubRepository.builder()
+                        .name((String) item.get("name"))
+                        .fullName((String) item.get("full_name"))
+                        .htmlUrl((String) item.get("html_url"))
+                        .language((String) item.get("language"))
+                        .stars((Integer) item.get("stargazers_count"))
+                        .forks((Integer) item.get("forks_count"))
+                        .createdAt(GitHubApiClient.parseDateTime((String) item.get("created_at")))
+                        .updatedAt(GitHubApiClient.parseDateTime((String) item.get("updated_at")))
+                        .owner((String) ((Map<String, Object>) item.get("owner")).get("login"))
+                        .build())
+                .toList();
+        return new RepositorySearchResponse((Integer) responseBody.get("total_count"), repositories);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
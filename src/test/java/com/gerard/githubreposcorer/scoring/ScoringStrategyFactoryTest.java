@@ -0,0 +1,155 @@
+package com.gerard.githubreposcorer.scoring;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.exception.InvalidFormulaException;
+import com.gerard.githubreposcorer.scoring.exception.InvalidWeightsException;
+import com.gerard.githubreposcorer.scoring.model.ScoringContext;
+import com.gerard.githubreposcorer.scoring.strategy.FormulaScoringStrategy;
+import com.gerard.githubreposcorer.scoring.strategy.ScoringStrategyV1;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+class ScoringStrategyFactoryTest {
+
+    @Test
+    @DisplayName("Should register formula strategies by version name")
+    void shouldRegisterFormulaStrategiesByVersionName() {
+        // Given
+        var properties = new ScoringProperties();
+        properties.getStrategy().getFormulas()
+                .put("V1-Formula", "0.45*normLog(stars,10000) + 0.2*normLog(forks,10000) + 0.35*decay(days,90)");
+        var v1 = new ScoringStrategyV1(properties, ForkJoinPool.commonPool());
+        v1.afterSingletonsInstantiated();
+
+        // When
+        var factory = new ScoringStrategyFactory(properties, List.of(v1));
+        var strategy = factory.createStrategy(Optional.of("v1-formula"));
+
+        // Then
+        assertThat(strategy).isInstanceOf(FormulaScoringStrategy.class);
+        assertThat(strategy.getVersion()).isEqualTo("v1-formula");
+        var context = ScoringContext.builder().stars(1234).forks(56).daysSinceUpdate(78).build();
+        assertThat(strategy.calculateScore(context)).isCloseTo(v1.calculateScore(context), offset(1e-12));
+        assertThat(factory.createStrategy()).isSameAs(v1);
+    }
+
+    @Test
+    @DisplayName("Should reject a formula registered under an existing version")
+    void shouldRejectAFormulaRegisteredUnderAnExistingVersion() {
+        // Given
+        var properties = new ScoringProperties();
+        properties.getStrategy().getFormulas().put("v1", "stars");
+        var v1 = new ScoringStrategyV1(properties, ForkJoinPool.commonPool());
+
+        // When & Then
+        assertThatThrownBy(() -> new ScoringStrategyFactory(properties, List.of(v1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Scoring strategy version already registered: v1");
+    }
+
+    @Test
+    @DisplayName("Should fail fast on an invalid formula")
+    void shouldFailFastOnAnInvalidFormula() {
+        // Given
+        var properties = new ScoringProperties();
+        properties.getStrategy().getFormulas().put("broken", "stars +");
+
+        // When & Then
+        assertThatThrownBy(() -> new ScoringStrategyFactory(properties, List.of()))
+                .isInstanceOf(InvalidFormulaException.class);
+    }
+
+    @Test
+    @DisplayName("Should resolve a pre-built strategy for a weight profile")
+    void shouldResolveAPreBuiltStrategyForAWeightProfile() {
+        // Given
+        var properties = new ScoringProperties();
+        var profile = new ScoringProperties.WeightProfile();
+        profile.getStars().setWeight(1.0);
+        profile.getForks().setWeight(0.0);
+        profile.getFreshness().setWeight(0.0);
+        properties.getProfiles().put("Popularity", profile);
+        var v1 = new ScoringStrategyV1(properties, ForkJoinPool.commonPool());
+        v1.afterSingletonsInstantiated();
+        var factory = new ScoringStrategyFactory(properties, List.of(v1));
+
+        // When
+        var strategy = factory.resolveStrategy("V1", "popularity");
+
+        // Then
+        assertThat(strategy).isNotSameAs(v1);
+        assertThat(strategy.getVersion()).isEqualTo("v1");
+        assertThat(factory.resolveStrategy("v1", "POPULARITY")).isSameAs(strategy);
+        assertThat(factory.resolveStrategy(null, null)).isSameAs(v1);
+        assertThat(factory.getAllStrategies()).containsExactlyInAnyOrder(v1, strategy);
+        var context = ScoringContext.builder().stars(10000).forks(0).daysSinceUpdate(10000).build();
+        assertThat(strategy.calculateScore(context)).isCloseTo(1.0, offset(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should resolve several weight profiles in request order")
+    void shouldResolveSeveralWeightProfilesInRequestOrder() {
+        // Given
+        var properties = new ScoringProperties();
+        properties.getProfiles().put("popularity", new ScoringProperties.WeightProfile());
+        properties.getProfiles().put("activity", new ScoringProperties.WeightProfile());
+        var v1 = new ScoringStrategyV1(properties, ForkJoinPool.commonPool());
+        v1.afterSingletonsInstantiated();
+        var factory = new ScoringStrategyFactory(properties, List.of(v1));
+
+        // When
+        var profiles = factory.resolveProfiles(null, List.of("Activity", "popularity", "Activity"));
+
+        // Then
+        assertThat(profiles).containsOnlyKeys("Activity", "popularity");
+        assertThat(profiles.keySet()).containsExactly("Activity", "popularity");
+        assertThat(profiles.get("Activity")).isSameAs(factory.resolveStrategy("v1", "activity"));
+        assertThatThrownBy(() -> factory.resolveProfiles("v1", List.of("activity", "unknown")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown weight profile unknown for scoring strategy version: v1");
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown version or weight profile")
+    void shouldRejectAnUnknownVersionOrWeightProfile() {
+        // Given
+        var properties = new ScoringProperties();
+        properties.getStrategy().getFormulas().put("stars-only", "normLog(stars,10000)");
+        var v1 = new ScoringStrategyV1(properties, ForkJoinPool.commonPool());
+        var factory = new ScoringStrategyFactory(properties, List.of(v1));
+
+        // When & Then
+        assertThatThrownBy(() -> factory.resolveStrategy("v9", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown scoring strategy version: v9");
+        assertThatThrownBy(() -> factory.resolveStrategy(null, "popularity"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown weight profile popularity for scoring strategy version: v1");
+        assertThatThrownBy(() -> factory.resolveStrategy("stars-only", "popularity"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown weight profile popularity for scoring strategy version: stars-only");
+    }
+
+    @Test
+    @DisplayName("Should fail fast on a weight profile with invalid weights")
+    void shouldFailFastOnAWeightProfileWithInvalidWeights() {
+        // Given
+        var properties = new ScoringProperties();
+        var profile = new ScoringProperties.WeightProfile();
+        profile.getStars().setWeight(0.9);
+        properties.getProfiles().put("broken", profile);
+        var v1 = new ScoringStrategyV1(properties, ForkJoinPool.commonPool());
+
+        // When & Then
+        assertThatThrownBy(() -> new ScoringStrategyFactory(properties, List.of(v1)))
+                .isInstanceOf(InvalidWeightsException.class);
+    }
+}
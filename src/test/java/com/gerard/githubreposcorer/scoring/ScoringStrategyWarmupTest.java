@@ -0,0 +1,40 @@
+package com.gerard.githubreposcorer.scoring;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScoringStrategyWarmupTest {
+
+    @Test
+    @DisplayName("Should score synthetic batches with every strategy before the server starts")
+    void shouldScoreSyntheticBatchesWithEveryStrategyBeforeTheServerStarts() {
+        // Given
+        var properties = new ScoringProperties();
+        properties.getStrategy().setWarmupIterations(3);
+        var first = mock(ScoringStrategy.class);
+        var second = mock(ScoringStrategy.class);
+        var factory = mock(ScoringStrategyFactory.class);
+        when(factory.getAllStrategies()).thenReturn(List.of(first, second));
+        var warmup = new ScoringStrategyWarmup(properties, factory);
+
+        // When
+        warmup.start();
+
+        // Then
+        verify(first, times(3)).calculateScores(any(ScoringBatch.class));
+        verify(second, times(3)).calculateScores(any(ScoringBatch.class));
+        assertThat(warmup.isRunning()).isTrue();
+        assertThat(warmup.getPhase()).isLessThan(Integer.MAX_VALUE - 2048);
+    }
+}
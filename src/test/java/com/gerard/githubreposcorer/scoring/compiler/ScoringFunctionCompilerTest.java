@@ -0,0 +1,119 @@
+package com.gerard.githubreposcorer.scoring.compiler;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.model.ScoringContext;
+import com.gerard.githubreposcorer.scoring.rule.CompositeScoringRule;
+import com.gerard.githubreposcorer.scoring.rule.ForksScoringRule;
+import com.gerard.githubreposcorer.scoring.rule.ScoringRule;
+import com.gerard.githubreposcorer.scoring.rule.StarsScoringRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+class ScoringFunctionCompilerTest {
+
+    @Test
+    @DisplayName("Should compile weighted terms into a hidden class function")
+    void shouldCompileWeightedTermsIntoAHiddenClassFunction() {
+        // Given
+        var handle = ScoreHandles.sum(List.of(
+                ScoreHandles.weighted("stars", x -> x / 10.0, 0.5, ScoreHandles.STARS),
+                ScoreHandles.weighted("forks", x -> x / 100.0, 0.25, ScoreHandles.FORKS),
+                ScoreHandles.weighted("days", x -> 1.0, 0.25, ScoreHandles.DAYS_SINCE_UPDATE)
+        ));
+
+        // When
+        ScoringFunction function = ScoringFunctionCompiler.compile(handle);
+
+        // Then
+        assertThat(function.getClass().isHidden()).isTrue();
+        assertThat(function.score(4, 40, 7)).isEqualTo(0.2 + 0.1 + 0.25);
+    }
+
+    @Test
+    @DisplayName("Should contribute zero for a failing term")
+    void shouldContributeZeroForAFailingTerm() {
+        // Given
+        var handle = ScoreHandles.sum(List.of(
+                ScoreHandles.weighted("failing", x -> {
+                    throw new IllegalArgumentException("boom");
+                }, 0.5, ScoreHandles.STARS),
+                ScoreHandles.weighted("constant", x -> 1.0, 0.5, ScoreHandles.FORKS)
+        ));
+
+        // When
+        ScoringFunction function = ScoringFunctionCompiler.compile(handle);
+
+        // Then
+        assertThat(function.score(1, 1, 1)).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should compile a rule chain to the same score as the interpreted chain")
+    void shouldCompileARuleChainToTheSameScoreAsTheInterpretedChain() {
+        // Given
+        var properties = new ScoringProperties();
+        var chain = new CompositeScoringRule(List.of(
+                new StarsScoringRule(properties.getStars()),
+                new ForksScoringRule(properties.getForks())
+        ), ForkJoinPool.commonPool());
+        var context = ScoringContext.builder().stars(1234).forks(56).build();
+
+        // When
+        ScoringFunction function = ScoringFunctionCompiler.compile(chain).orElseThrow();
+        chain.execute(context);
+
+        // Then
+        double interpreted = context.getResults().stream().mapToDouble(r -> r.score() * r.weight()).sum();
+        assertThat(function.score(1234, 56, 0)).isCloseTo(interpreted, offset(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should not compile a chain containing an interpreted-only rule")
+    void shouldNotCompileAChainContainingAnInterpretedOnlyRule() {
+        // Given
+        ScoringRule interpretedOnly = new ScoringRule() {
+            @Override
+            public void execute(ScoringContext context) {
+            }
+
+            @Override
+            public int bindSlots(int firstSlot) {
+                return firstSlot + 1;
+            }
+
+            @Override
+            public double getWeight() {
+                return 0.0;
+            }
+
+            @Override
+            public String getName() {
+                return "interpreted";
+            }
+        };
+        var chain = new CompositeScoringRule(List.of(interpretedOnly), ForkJoinPool.commonPool());
+
+        // When & Then
+        assertThat(ScoringFunctionCompiler.compile(chain)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a handle of the wrong type")
+    void shouldRejectAHandleOfTheWrongType() {
+        // Given
+        var handle = MethodHandles.constant(double.class, 1.0);
+
+        // When & Then
+        assertThatThrownBy(() -> ScoringFunctionCompiler.compile(handle))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Score handle must be of type");
+    }
+}
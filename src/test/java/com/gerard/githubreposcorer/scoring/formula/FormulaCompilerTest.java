@@ -0,0 +1,86 @@
+package com.gerard.githubreposcorer.scoring.formula;
+
+import com.gerard.githubreposcorer.scoring.compiler.ScoringFunction;
+import com.gerard.githubreposcorer.scoring.exception.InvalidFormulaException;
+import com.gerard.githubreposcorer.util.MathUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FormulaCompilerTest {
+
+    @Test
+    @DisplayName("Should compile the default weights formula to the same scores as MathUtils")
+    void shouldCompileTheDefaultWeightsFormulaToTheSameScoresAsMathUtils() {
+        // Given
+        String formula = "0.45*normLog(stars,10000) + 0.2*normLog(forks,10000) + 0.35*decay(days,90)";
+
+        // When
+        ScoringFunction function = FormulaCompiler.compile(formula);
+
+        // Then
+        int[][] samples = {{0, 0, 0}, {1000, 500, 30}, {10000, 10000, 365}, {250000, 40000, 2000}};
+        for (int[] sample : samples) {
+            double expected = MathUtils.normLog(sample[0], 10000) * 0.45
+                    + MathUtils.normLog(sample[1], 10000) * 0.2
+                    + MathUtils.freshnessFromDays(sample[2], 90) * 0.35;
+            assertThat(function.score(sample[0], sample[1], sample[2])).isEqualTo(expected);
+        }
+        assertThat(function.getClass().isHidden()).isTrue();
+        assertThat(function.toString()).isEqualTo(formula);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "1 + 2 * 3;7.0",
+            "(1 + 2) * 3;9.0",
+            "10 - 4 - 3;3.0",
+            "8 / 4 / 2;1.0",
+            "-stars + forks;1.0",
+            "2 * -(days);-6.0",
+            "max(stars, forks) + min(stars, days);7.0",
+            "1.5e1 / 3;5.0",
+            "sqrt(forks + 1) * exp(0) + log1p(0);2.2360679774997896"
+    })
+    @DisplayName("Should evaluate arithmetic with the usual precedence")
+    void shouldEvaluateArithmeticWithTheUsualPrecedence(String formula, double expected) {
+        // When
+        ScoringFunction function = FormulaCompiler.compile(formula);
+
+        // Then
+        assertThat(function.score(3, 4, 3)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should score negative values as zero in normLog")
+    void shouldScoreNegativeValuesAsZeroInNormLog() {
+        // When
+        ScoringFunction function = FormulaCompiler.compile("normLog(stars, 100) + decay(days, 0)");
+
+        // Then
+        assertThat(function.score(-5, 0, -1)).isEqualTo(1.0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "1 +", "stars * watchers", "unknown(stars)", "normLog(stars)", "(1 + 2", "1 2", "3 $ 4"})
+    @DisplayName("Should reject invalid formulas")
+    void shouldRejectInvalidFormulas(String formula) {
+        // When & Then
+        assertThatThrownBy(() -> FormulaCompiler.compile(formula))
+                .isInstanceOf(InvalidFormulaException.class);
+    }
+
+    @Test
+    @DisplayName("Should report the unknown identifier and its position")
+    void shouldReportTheUnknownIdentifierAndItsPosition() {
+        // When & Then
+        assertThatThrownBy(() -> FormulaCompiler.compile("stars * watchers"))
+                .isInstanceOf(InvalidFormulaException.class)
+                .hasMessage("Unknown variable 'watchers' at position 8 in formula: stars * watchers");
+    }
+}
@@ -0,0 +1,76 @@
+package com.gerard.githubreposcorer.scoring.kernel;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import com.gerard.githubreposcorer.scoring.strategy.ScoringStrategyV1;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+class ProfileMatrixKernelTest {
+
+    @Test
+    @DisplayName("Should calculate the score of every profile matching a strategy built with its weights")
+    void shouldCalculateTheScoreOfEveryProfileMatchingAStrategyBuiltWithItsWeights() {
+        // Given
+        var defaults = new ScoringProperties();
+        var popularity = profile(0.8, 1000, 0.2, 1000, 0.0, 90);
+        var activity = profile(0.1, 10000, 0.1, 10000, 0.8, 30);
+        var kernel = new ProfileMatrixKernel(List.of(defaults, popularity, activity));
+        var batch = new ScoringBatch(
+                new int[]{0, 1000, 250000, -5},
+                new int[]{0, 500, 40000, 100},
+                new int[]{0, 30, 2000, -10}
+        );
+
+        // When
+        double[][] scores = kernel.calculateScores(batch);
+
+        // Then
+        List<ScoringProperties> profiles = List.of(defaults, popularity, activity);
+        for (int p = 0; p < profiles.size(); p++) {
+            var strategy = new ScoringStrategyV1(profiles.get(p), ForkJoinPool.commonPool());
+            strategy.afterSingletonsInstantiated();
+            var expected = new ScoringBatch(batch.getStars(), batch.getForks(), batch.getDaysSinceUpdate());
+            strategy.calculateScores(expected);
+            for (int i = 0; i < batch.getSize(); i++) {
+                assertThat(scores[p][i]).isCloseTo(expected.getScore(i), offset(1e-12));
+            }
+        }
+        assertThat(batch.getScores()).containsOnly(0.0);
+    }
+
+    @Test
+    @DisplayName("Should compute the features shared by several profiles once")
+    void shouldComputeTheFeaturesSharedBySeveralProfilesOnce() {
+        // Given
+        var first = profile(0.5, 10000, 0.25, 10000, 0.25, 90);
+        var second = profile(0.2, 10000, 0.2, 10000, 0.6, 90);
+        var third = profile(0.2, 500, 0.2, 10000, 0.6, 90);
+
+        // When
+        var shared = new ProfileMatrixKernel(List.of(first, second));
+        var distinctStarsCap = new ProfileMatrixKernel(List.of(first, second, third));
+
+        // Then
+        assertThat(shared.getFeatureCount()).isEqualTo(3);
+        assertThat(distinctStarsCap.getFeatureCount()).isEqualTo(4);
+    }
+
+    private static ScoringProperties profile(double starsWeight, int starsCap, double forksWeight, int forksCap,
+                                             double freshnessWeight, int halfLifeDays) {
+        var properties = new ScoringProperties();
+        properties.getStars().setWeight(starsWeight);
+        properties.getStars().setCap(starsCap);
+        properties.getForks().setWeight(forksWeight);
+        properties.getForks().setCap(forksCap);
+        properties.getFreshness().setWeight(freshnessWeight);
+        properties.getFreshness().setHalfLifeDays(halfLifeDays);
+        return properties;
+    }
+}
@@ -0,0 +1,107 @@
+package com.gerard.githubreposcorer.scoring.kernel;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import com.gerard.githubreposcorer.scoring.strategy.ScoringStrategyV1;
+import com.gerard.githubreposcorer.util.Benchmarks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VectorScoringKernelTest {
+
+    private ScoringProperties scoringProperties;
+    private ScoringStrategyV1 scalarStrategy;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(ScoringKernel.isVectorApiAvailable(), "Vector API module is not enabled");
+
+        scoringProperties = new ScoringProperties();
+        scalarStrategy = new ScoringStrategyV1(scoringProperties, ForkJoinPool.commonPool());
+        scalarStrategy.afterSingletonsInstantiated();
+    }
+
+    @Test
+    @DisplayName("Should match scalar scores for every repository of the batch")
+    void shouldMatchScalarScoresForEveryRepositoryOfTheBatch() {
+        // Given - an odd size also exercises the scalar tail
+        var kernel = ScoringKernel.loadVectorKernel(scoringProperties).orElseThrow();
+        var vectorBatch = randomBatch(10_007, new Random(42));
+        var scalarBatch = copyOf(vectorBatch);
+
+        // When
+        kernel.calculateScores(vectorBatch);
+        scalarStrategy.calculateScores(scalarBatch);
+
+        // Then
+        for (int i = 0; i < vectorBatch.getSize(); i++) {
+            assertThat(vectorBatch.getScore(i)).isCloseTo(scalarBatch.getScore(i), offset(1e-12));
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore negative counts like failed scalar rules")
+    void shouldIgnoreNegativeCountsLikeFailedScalarRules() {
+        // Given
+        var kernel = ScoringKernel.loadVectorKernel(scoringProperties).orElseThrow();
+        var batch = new ScoringBatch(
+                new int[]{-100, 10000, -1, 0, -5, 10, 100, 1000, -7},
+                new int[]{10000, -100, -1, 0, 5, -10, 100, 1000, -7},
+                new int[]{0, 0, 0, -10, 90, 90, 90, 90, 0});
+        var scalarBatch = copyOf(batch);
+
+        // When
+        kernel.calculateScores(batch);
+        scalarStrategy.calculateScores(scalarBatch);
+
+        // Then
+        assertThat(batch.getScore(0)).isCloseTo(0.2 + 0.35, offset(1e-9));
+        assertThat(batch.getScore(1)).isCloseTo(0.45 + 0.35, offset(1e-9));
+        assertThat(batch.getScore(2)).isCloseTo(0.35, offset(1e-9));
+        for (int i = 0; i < batch.getSize(); i++) {
+            assertThat(batch.getScore(i)).isCloseTo(scalarBatch.getScore(i), offset(1e-12));
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "scoring.benchmarks", matches = "true")
+    @DisplayName("Should compare vector and scalar batch throughput")
+    void shouldCompareVectorAndScalarBatchThroughput() throws Exception {
+        // Given
+        var kernel = ScoringKernel.loadVectorKernel(scoringProperties).orElseThrow();
+        var batch = randomBatch(1_000_000, new Random(7));
+
+        // When
+        double scalarNanos = Benchmarks.measure(20, 30, () -> scalarStrategy.calculateScores(batch)).nanosPerRun()
+                / batch.getSize();
+        double vectorNanos = Benchmarks.measure(20, 30, () -> kernel.calculateScores(batch)).nanosPerRun()
+                / batch.getSize();
+
+        // Then
+        Benchmarks.report("Batch scoring of {} repositories: scalar {} ns/repo, vector {} ns/repo, speedup x{}",
+                batch.getSize(), "%.2f".formatted(scalarNanos), "%.2f".formatted(vectorNanos),
+                "%.2f".formatted(scalarNanos / vectorNanos));
+        assertThat(vectorNanos).isPositive();
+    }
+
+    private static ScoringBatch randomBatch(int size, Random random) {
+        var batch = new ScoringBatch(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(random.nextInt(500_000), random.nextInt(100_000), random.nextInt(3000));
+        }
+        return batch;
+    }
+
+    private static ScoringBatch copyOf(ScoringBatch batch) {
+        return new ScoringBatch(batch.getStars().clone(), batch.getForks().clone(), batch.getDaysSinceUpdate().clone());
+    }
+}
@@ -0,0 +1,99 @@
+package com.gerard.githubreposcorer.scoring.model;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.rule.CompositeScoringRule;
+import com.gerard.githubreposcorer.scoring.rule.ForksScoringRule;
+import com.gerard.githubreposcorer.scoring.rule.FreshnessScoringRule;
+import com.gerard.githubreposcorer.scoring.rule.StarsScoringRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ScoringContextTest {
+
+    @Test
+    @DisplayName("Should return results in slot order")
+    void shouldReturnResultsInSlotOrder() {
+        // Given
+        var context = ScoringContext.builder().slots(2).build();
+
+        // When
+        context.recordFailure(3, "third", "boom");
+        context.recordSuccess(1, "second", 0.5, 0.4);
+        context.recordSuccess(0, "first", 1.0, 0.6);
+
+        // Then
+        assertThat(context.getResults()).containsExactly(
+                ScoringResult.success("first", 1.0, 0.6),
+                ScoringResult.success("second", 0.5, 0.4),
+                ScoringResult.failure("third", "boom")
+        );
+        assertThat(context.getWeightedScore()).isEqualTo(1.0 * 0.6 + 0.5 * 0.4);
+    }
+
+    @Test
+    @DisplayName("Should clear results and replace inputs on reset")
+    void shouldClearResultsAndReplaceInputsOnReset() {
+        // Given
+        var context = ScoringContext.builder().name("old").stars(1).forks(2).daysSinceUpdate(3).build();
+        context.recordSuccess(0, "rule", 1.0, 1.0);
+
+        // When
+        context.reset("new", 10, 20, 30);
+
+        // Then
+        assertThat(context.getResults()).isEmpty();
+        assertThat(context.getWeightedScore()).isZero();
+        assertThat(context.getName()).isEqualTo("new");
+        assertThat(context.getStars()).isEqualTo(10);
+        assertThat(context.getForks()).isEqualTo(20);
+        assertThat(context.getDaysSinceUpdate()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Should score repositories through a reused context without allocating")
+    void shouldScoreRepositoriesThroughAReusedContextWithoutAllocating() {
+        // Given
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+        var properties = new ScoringProperties();
+        var chain = new CompositeScoringRule(List.of(
+                new StarsScoringRule(properties.getStars()),
+                new ForksScoringRule(properties.getForks()),
+                new FreshnessScoringRule(properties.getFreshness())
+        ), ForkJoinPool.commonPool());
+        var context = ScoringContext.builder().slots(chain.getSlotCount()).build();
+        int repositories = 200_000;
+
+        double warmup = score(chain, context, repositories);
+        long threadId = Thread.currentThread().threadId();
+
+        // When
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        double total = score(chain, context, repositories);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        // Then
+        assertThat(total).isEqualTo(warmup);
+        assertThat(allocated / repositories)
+                .as("bytes allocated per scored repository (%d bytes in total)", allocated)
+                .isZero();
+    }
+
+    private static double score(CompositeScoringRule chain, ScoringContext context, int repositories) {
+        double total = 0.0;
+        for (int i = 0; i < repositories; i++) {
+            context.reset(null, i % 20_000, i % 5_000, i % 400);
+            chain.execute(context);
+            total += context.getWeightedScore();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,64 @@
+package com.gerard.githubreposcorer.scoring.reload;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.strategy.ScoringStrategyV1;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScoringWeightsEndpointTest {
+
+    private ScoringStrategyV1 scoringStrategy;
+    private ScoringWeightsEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        scoringStrategy = new ScoringStrategyV1(new ScoringProperties(), ForkJoinPool.commonPool());
+        scoringStrategy.afterSingletonsInstantiated();
+        endpoint = new ScoringWeightsEndpoint(scoringStrategy);
+    }
+
+    @Test
+    @DisplayName("Should update the given weights and keep the others")
+    void shouldUpdateTheGivenWeightsAndKeepTheOthers() {
+        // When
+        var weights = endpoint.updateWeights(0.5, 5000, 0.15, null, null, 30);
+
+        // Then
+        assertThat(weights.stars().getWeight()).isEqualTo(0.5);
+        assertThat(weights.stars().getCap()).isEqualTo(5000);
+        assertThat(weights.forks().getWeight()).isEqualTo(0.15);
+        assertThat(weights.forks().getCap()).isEqualTo(10000);
+        assertThat(weights.freshness().getWeight()).isEqualTo(0.35);
+        assertThat(weights.freshness().getHalfLifeDays()).isEqualTo(30);
+        assertThat(scoringStrategy.getCurrentWeights().getStars().getCap()).isEqualTo(5000);
+    }
+
+    @Test
+    @DisplayName("Should reject weights that do not sum to one")
+    void shouldRejectWeightsThatDoNotSumToOne() {
+        // When & Then
+        assertThatThrownBy(() -> endpoint.updateWeights(0.9, null, null, null, null, null))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessageContaining("Weights must sum to 1.0");
+        assertThat(endpoint.weights().stars().getWeight()).isEqualTo(0.45);
+    }
+
+    @Test
+    @DisplayName("Should only expose the read operation unless access is granted")
+    void shouldOnlyExposeTheReadOperationUnlessAccessIsGranted() {
+        // When
+        Endpoint endpoint = ScoringWeightsEndpoint.class.getAnnotation(Endpoint.class);
+
+        // Then
+        assertThat(endpoint.defaultAccess()).isEqualTo(Access.READ_ONLY);
+    }
+}
@@ -0,0 +1,124 @@
+package com.gerard.githubreposcorer.scoring.reload;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.strategy.ScoringStrategyV1;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoringWeightsFileWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private ScoringProperties properties;
+    private ScoringStrategyV1 scoringStrategy;
+    private ScoringWeightsFileWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("weights.yaml");
+        properties = new ScoringProperties();
+        properties.getReload().setFile(file);
+        scoringStrategy = new ScoringStrategyV1(properties, ForkJoinPool.commonPool());
+        scoringStrategy.afterSingletonsInstantiated();
+        watcher = new ScoringWeightsFileWatcher(properties, scoringStrategy);
+    }
+
+    @AfterEach
+    void tearDown() {
+        watcher.stop();
+    }
+
+    @Test
+    @DisplayName("Should apply the weights file at startup")
+    void shouldApplyTheWeightsFileAtStartup() throws IOException {
+        // Given
+        writeWeights(0.6, 0.1, 0.3);
+
+        // When
+        watcher.start();
+
+        // Then
+        assertThat(scoringStrategy.getCurrentWeights().getStars().getWeight()).isEqualTo(0.6);
+        assertThat(scoringStrategy.getCurrentWeights().getStars().getCap()).isEqualTo(10000);
+        assertThat(watcher.isRunning()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reload the weights when the file changes")
+    void shouldReloadTheWeightsWhenTheFileChanges() throws Exception {
+        // Given
+        watcher.start();
+
+        // When
+        writeWeights(0.5, 0.25, 0.25);
+
+        // Then
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (scoringStrategy.getCurrentWeights().getStars().getWeight() != 0.5 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(scoringStrategy.getCurrentWeights().getStars().getWeight()).isEqualTo(0.5);
+        assertThat(scoringStrategy.getCurrentWeights().getFreshness().getWeight()).isEqualTo(0.25);
+    }
+
+    @Test
+    @DisplayName("Should keep the current weights when the file is invalid")
+    void shouldKeepTheCurrentWeightsWhenTheFileIsInvalid() throws IOException {
+        // Given
+        writeWeights(0.9, 0.9, 0.9);
+
+        // When
+        watcher.reloadFromFile();
+
+        // Then
+        assertThat(scoringStrategy.getCurrentWeights().getStars().getWeight()).isEqualTo(0.45);
+    }
+
+    @Test
+    @DisplayName("Should only read the weights sections of the file")
+    void shouldOnlyReadTheWeightsSectionsOfTheFile() throws IOException {
+        // Given
+        Files.writeString(file, """
+                scoring:
+                  stars:
+                    weight: 0.9
+                  cache:
+                    enabled: false
+                  ranking:
+                    upstream-pages: 1
+                """);
+
+        // When
+        watcher.reloadFromFile();
+
+        // Then
+        assertThat(scoringStrategy.getCurrentWeights().getStars().getWeight()).isEqualTo(0.45);
+        assertThat(properties.getStars().getWeight()).isEqualTo(0.45);
+        assertThat(properties.getCache().isEnabled()).isTrue();
+        assertThat(properties.getRanking().getUpstreamPages()).isEqualTo(10);
+    }
+
+    private void writeWeights(double stars, double forks, double freshness) throws IOException {
+        Files.writeString(file, """
+                scoring:
+                  stars:
+                    weight: %s
+                  forks:
+                    weight: %s
+                  freshness:
+                    weight: %s
+                """.formatted(stars, forks, freshness));
+    }
+}
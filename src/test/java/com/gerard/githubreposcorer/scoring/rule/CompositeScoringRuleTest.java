@@ -0,0 +1,574 @@
+package com.gerard.githubreposcorer.scoring.rule;
+
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import com.gerard.githubreposcorer.scoring.model.ScoringContext;
+import com.gerard.githubreposcorer.scoring.model.ScoringResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Offset.offset;
+
+class CompositeScoringRuleTest {
+
+    private ExecutorService executorService;
+    private final Map<String, Thread> executingThreads = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run cheap rules inline on the calling thread")
+    void shouldRunCheapRulesInlineOnTheCallingThread() {
+        // Given
+        var composite = new CompositeScoringRule(
+                List.of(rule("first", RuleCost.CHEAP, 0), rule("second", RuleCost.CHEAP, 0)),
+                executorService
+        );
+        var context = ScoringContext.builder().build();
+
+        // When
+        composite.execute(context);
+
+        // Then
+        assertThat(context.getResults()).hasSize(2).allMatch(ScoringResult::success);
+        assertThat(executingThreads.get("first")).isSameAs(Thread.currentThread());
+        assertThat(executingThreads.get("second")).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    @DisplayName("Should fan out expensive rules to the executor")
+    void shouldFanOutExpensiveRulesToTheExecutor() {
+        // Given
+        var composite = new CompositeScoringRule(
+                List.of(rule("cheap", RuleCost.CHEAP, 0), rule("expensive", RuleCost.EXPENSIVE, 0)),
+                executorService
+        );
+        var context = ScoringContext.builder().build();
+
+        // When
+        composite.execute(context);
+
+        // Then
+        assertThat(context.getResults()).hasSize(2);
+        assertThat(executingThreads.get("cheap")).isSameAs(Thread.currentThread());
+        assertThat(executingThreads.get("expensive")).isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    @DisplayName("Should fan out undeclared rules once their measured cost exceeds the threshold")
+    void shouldFanOutUndeclaredRulesOnceTheirMeasuredCostExceedsTheThreshold() {
+        // Given
+        var composite = new CompositeScoringRule(
+                List.of(rule("slow", RuleCost.UNKNOWN, 5), rule("fast", RuleCost.UNKNOWN, 0)),
+                executorService,
+                Duration.ofMillis(1)
+        );
+
+        // When
+        composite.execute(ScoringContext.builder().build());
+        boolean inlineBeforeMeasurement = executingThreads.get("slow") == Thread.currentThread();
+        composite.execute(ScoringContext.builder().build());
+
+        // Then
+        assertThat(inlineBeforeMeasurement).isTrue();
+        assertThat(executingThreads.get("slow")).isNotSameAs(Thread.currentThread());
+        assertThat(executingThreads.get("fast")).isSameAs(Thread.currentThread());
+        assertThat(composite.shouldFanOut(0)).isTrue();
+        assertThat(composite.shouldFanOut(1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should record failure result when an inline rule throws")
+    void shouldRecordFailureResultWhenAnInlineRuleThrows() {
+        // Given
+        ScoringRule failing = new TestRule("failing", RuleCost.CHEAP, 0) {
+            @Override
+            public void execute(ScoringContext context) {
+                throw new IllegalStateException("boom");
+            }
+        };
+        var composite = new CompositeScoringRule(List.of(failing, rule("ok", RuleCost.CHEAP, 0)), executorService);
+        var context = ScoringContext.builder().build();
+
+        // When
+        composite.execute(context);
+
+        // Then
+        assertThat(context.getResults()).hasSize(2);
+        assertThat(context.getResults())
+                .filteredOn(result -> result.ruleName().equals("failing"))
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.success()).isFalse();
+                    assertThat(result.errorMessage()).isEqualTo("boom");
+                });
+    }
+
+    @Test
+    @DisplayName("Should compose asynchronous rules without blocking the calling thread")
+    void shouldComposeAsynchronousRulesWithoutBlockingTheCallingThread() {
+        // Given
+        var response = new CompletableFuture<Double>();
+        var composite = new CompositeScoringRule(
+                List.of(rule("cheap", RuleCost.CHEAP, 0), asyncRule("contributors", context -> response)),
+                executorService
+        );
+        var context = ScoringContext.builder().build();
+
+        // When
+        CompletableFuture<Void> completion = composite.executeAsync(context).toCompletableFuture();
+        boolean doneBeforeResponse = completion.isDone();
+        response.complete(0.8);
+
+        // Then
+        assertThat(doneBeforeResponse).isFalse();
+        assertThat(completion).isCompleted();
+        assertThat(context.getResults()).hasSize(2).allMatch(ScoringResult::success);
+        assertThat(context.getWeightedScore()).isCloseTo(0.5 + 0.8 * 0.25, offset(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should record failure result when an asynchronous rule fails")
+    void shouldRecordFailureResultWhenAnAsynchronousRuleFails() {
+        // Given
+        var composite = new CompositeScoringRule(
+                List.of(asyncRule("contributors", context -> CompletableFuture.failedFuture(new IllegalStateException("timeout")))),
+                executorService
+        );
+        var context = ScoringContext.builder().build();
+
+        // When
+        composite.execute(context);
+
+        // Then
+        assertThat(context.getResults()).singleElement().satisfies(result -> {
+            assertThat(result.success()).isFalse();
+            assertThat(result.errorMessage()).isEqualTo("timeout");
+        });
+    }
+
+    @Test
+    @DisplayName("Should add asynchronous rule scores to a batch")
+    void shouldAddAsynchronousRuleScoresToABatch() {
+        // Given
+        var composite = new CompositeScoringRule(
+                List.of(rule("cheap", RuleCost.CHEAP, 0),
+                        asyncRule("contributors", context -> CompletableFuture.supplyAsync(
+                                () -> context.getName().equals("a/one") ? 0.1 : 0.5))),
+                executorService
+        );
+        var batch = new ScoringBatch(new int[2], new int[2], new int[2], new String[2], new String[]{"a/one", "a/two"});
+
+        // When
+        composite.calculateScores(batch);
+
+        // Then
+        assertThat(batch.getScore(0)).isCloseTo(0.5 + 0.1 * 0.25, offset(1e-12));
+        assertThat(batch.getScore(1)).isCloseTo(0.5 + 0.5 * 0.25, offset(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should skip expensive rules for repositories that cannot reach the score threshold")
+    void shouldSkipExpensiveRulesForRepositoriesThatCannotReachTheScoreThreshold() {
+        // Given
+        List<String> fetched = new ArrayList<>();
+        Map<String, Integer> skipped = new ConcurrentHashMap<>();
+        ScoringRule stars = new TestRule("stars", RuleCost.CHEAP, 0) {
+            @Override
+            public void calculateScores(ScoringBatch batch) {
+                for (int i = 0; i < batch.getSize(); i++) {
+                    batch.getScores()[i] += batch.getStars()[i] / 100.0;
+                }
+            }
+        };
+        ScoringRule contributors = asyncRule("contributors", context -> {
+            fetched.add(context.getName());
+            return CompletableFuture.completedFuture(1.0);
+        });
+        var composite = new CompositeScoringRule(List.of(stars, contributors), executorService,
+                CompositeScoringRule.DEFAULT_INLINE_THRESHOLD, rule -> RuleBudget.UNLIMITED, new RuleListener() {
+                    @Override
+                    public void onSkipped(ScoringRule rule, int repositories) {
+                        skipped.merge(rule.getName(), repositories, Integer::sum);
+                    }
+                });
+        var batch = new ScoringBatch(new int[]{10, 60, 30}, new int[3], new int[3], new String[3],
+                new String[]{"a/low", "a/high", "a/middle"});
+        // The contributors rule adds at most 0.25, so only repositories above 0.35 stars score can reach 0.6
+        batch.setScoreThreshold(0.6);
+
+        // When
+        composite.calculateScores(batch);
+
+        // Then
+        assertThat(fetched).containsExactly("a/high");
+        assertThat(skipped).containsExactly(Map.entry("contributors", 2));
+        assertThat(batch.isPruned(0)).isTrue();
+        assertThat(batch.isPruned(2)).isTrue();
+        assertThat(batch.getPrunedCount()).isEqualTo(2);
+        assertThat(batch.getScore(0)).isCloseTo(0.1, offset(1e-12));
+        assertThat(batch.getScore(1)).isCloseTo(0.6 + 0.25, offset(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should run dependent rules after their dependencies and share their results")
+    void shouldRunDependentRulesAfterTheirDependenciesAndShareTheirResults() {
+        // Given
+        ScoringRule ratio = dependentRule("ratio", Set.of("stars", "forks"),
+                context -> context.getRuleScore("forks") / context.getRuleScore("stars"));
+        var composite = new CompositeScoringRule(
+                List.of(ratio, rule("stars", RuleCost.CHEAP, 0), asyncRule("forks",
+                        context -> CompletableFuture.supplyAsync(() -> 0.5))),
+                executorService
+        );
+        var context = ScoringContext.builder().build();
+
+        // When
+        composite.execute(context);
+
+        // Then
+        assertThat(context.getRuleScore("ratio")).isCloseTo(0.5, offset(1e-12));
+        assertThat(context.getResults()).extracting(ScoringResult::ruleName)
+                .containsExactly("ratio", "stars", "forks");
+    }
+
+    @Test
+    @DisplayName("Should score batches through dependent rules")
+    void shouldScoreBatchesThroughDependentRules() {
+        // Given
+        ScoringRule doubled = dependentRule("doubled", Set.of("stars"), context -> 2 * context.getRuleScore("stars"));
+        var composite = new CompositeScoringRule(List.of(rule("stars", RuleCost.CHEAP, 0), doubled), executorService);
+        var batch = new ScoringBatch(new int[3], new int[3], new int[3]);
+
+        // When
+        composite.calculateScores(batch);
+
+        // Then
+        for (int i = 0; i < batch.getSize(); i++) {
+            assertThat(batch.getScore(i)).isCloseTo(1.0 * 0.5 + 2.0 * 0.5, offset(1e-12));
+        }
+    }
+
+    @Test
+    @DisplayName("Should group rules into dependency levels and reject cycles and unknown dependencies")
+    void shouldGroupRulesIntoDependencyLevelsAndRejectCyclesAndUnknownDependencies() {
+        // Given
+        ScoringRule stars = rule("stars", RuleCost.CHEAP, 0);
+        ScoringRule forks = rule("forks", RuleCost.CHEAP, 0);
+        ScoringRule ratio = dependentRule("ratio", Set.of("stars", "forks"), context -> 0.0);
+        ScoringRule trend = dependentRule("trend", Set.of("ratio"), context -> 0.0);
+
+        // When & Then
+        assertThat(CompositeScoringRule.buildLevels(List.of(trend, stars, ratio, forks)))
+                .isDeepEqualTo(new int[][]{{1, 3}, {2}, {0}});
+        assertThatThrownBy(() -> CompositeScoringRule.buildLevels(List.of(
+                dependentRule("a", Set.of("b"), context -> 0.0), dependentRule("b", Set.of("a"), context -> 0.0))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Cycle in the dependencies of scoring rule");
+        assertThatThrownBy(() -> CompositeScoringRule.buildLevels(List.of(ratio)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown dependency " + ratio.getDependencies().iterator().next() + " of scoring rule ratio");
+    }
+
+    @Test
+    @DisplayName("Should cancel a fanned out rule exceeding its budget and record its fallback score")
+    void shouldCancelAFannedOutRuleExceedingItsBudgetAndRecordItsFallbackScore() {
+        // Given
+        List<String> timedOut = new ArrayList<>();
+        var composite = new CompositeScoringRule(
+                List.of(rule("cheap", RuleCost.CHEAP, 0), rule("hung", RuleCost.EXPENSIVE, 60_000)),
+                executorService,
+                CompositeScoringRule.DEFAULT_INLINE_THRESHOLD,
+                rule -> rule.getName().equals("hung") ? new RuleBudget(Duration.ofMillis(50), 0.4) : RuleBudget.UNLIMITED,
+                timeoutRecorder(timedOut)
+        );
+        var context = ScoringContext.builder().build();
+
+        // When
+        long start = System.nanoTime();
+        composite.execute(context);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(elapsedMillis).isLessThan(5_000);
+        assertThat(timedOut).containsExactly("hung");
+        assertThat(context.getResults())
+                .filteredOn(result -> result.ruleName().equals("hung"))
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.success()).isFalse();
+                    assertThat(result.score()).isEqualTo(0.4);
+                    assertThat(result.errorMessage()).isEqualTo("Timed out after 50 ms");
+                });
+        assertThat(context.getWeightedScore()).isCloseTo(1.0 * 0.5 + 0.4 * 0.5, offset(1e-12));
+        // The interrupted rule frees the single executor thread for the next task
+        assertThat(CompletableFuture.supplyAsync(() -> true, executorService)).succeedsWithin(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should cancel the fetch of an asynchronous rule exceeding its budget")
+    void shouldCancelTheFetchOfAnAsynchronousRuleExceedingItsBudget() {
+        // Given
+        List<CompletableFuture<Double>> responses = new CopyOnWriteArrayList<>();
+        List<String> timedOut = new ArrayList<>();
+        var composite = new CompositeScoringRule(
+                List.of(asyncRule("contributors", context -> {
+                    var response = new CompletableFuture<Double>();
+                    responses.add(response);
+                    return response;
+                })),
+                executorService,
+                CompositeScoringRule.DEFAULT_INLINE_THRESHOLD,
+                rule -> new RuleBudget(Duration.ofMillis(50), 0.2),
+                timeoutRecorder(timedOut)
+        );
+        var batch = new ScoringBatch(new int[2], new int[2], new int[2]);
+        var context = ScoringContext.builder().build();
+
+        // When
+        composite.execute(context);
+        composite.calculateScores(batch);
+
+        // Then
+        assertThat(responses).hasSize(3).allMatch(CompletableFuture::isCancelled);
+        assertThat(timedOut).containsExactly("contributors", "contributors");
+        assertThat(context.getWeightedScore()).isCloseTo(0.2 * 0.25, offset(1e-12));
+        assertThat(batch.getScore(0)).isCloseTo(0.2 * 0.25, offset(1e-12));
+        assertThat(batch.getScore(1)).isCloseTo(0.2 * 0.25, offset(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should bound an expensive rule alone in its level by its budget")
+    void shouldBoundAnExpensiveRuleAloneInItsLevelByItsBudget() {
+        // Given
+        List<String> timedOut = new ArrayList<>();
+        var composite = new CompositeScoringRule(
+                List.of(rule("hung", RuleCost.EXPENSIVE, 60_000), dependentRule("after", Set.of("hung"), context -> {
+                    executingThreads.put("after", Thread.currentThread());
+                    return 1.0;
+                })),
+                executorService,
+                CompositeScoringRule.DEFAULT_INLINE_THRESHOLD,
+                rule -> new RuleBudget(Duration.ofMillis(50), 0.4),
+                timeoutRecorder(timedOut)
+        );
+        var context = ScoringContext.builder().build();
+
+        // When
+        composite.execute(context);
+
+        // Then
+        assertThat(timedOut).containsExactly("hung");
+        assertThat(context.getResults())
+                .filteredOn(result -> result.ruleName().equals("hung"))
+                .singleElement()
+                .satisfies(result -> assertThat(result.errorMessage()).isEqualTo("Timed out after 50 ms"));
+        // The next level continues on the executor, not on the JDK thread enforcing the timeout
+        assertThat(executingThreads.get("after").getName()).doesNotContain("Delay");
+    }
+
+    @Test
+    @DisplayName("Should bound the first run of a rule of unknown cost by its budget")
+    void shouldBoundTheFirstRunOfARuleOfUnknownCostByItsBudget() {
+        // Given - never measured, the rule cannot be known to be cheap
+        List<String> timedOut = new ArrayList<>();
+        var composite = new CompositeScoringRule(
+                List.of(rule("cheap", RuleCost.CHEAP, 0), rule("hung", RuleCost.UNKNOWN, 60_000)),
+                executorService,
+                CompositeScoringRule.DEFAULT_INLINE_THRESHOLD,
+                rule -> new RuleBudget(Duration.ofMillis(50), 0.4),
+                timeoutRecorder(timedOut)
+        );
+        var context = ScoringContext.builder().build();
+
+        // When
+        long start = System.nanoTime();
+        composite.execute(context);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(elapsedMillis).isLessThan(5_000);
+        assertThat(timedOut).containsExactly("hung");
+        assertThat(executingThreads.get("hung")).isNotSameAs(Thread.currentThread());
+        assertThat(context.getWeightedScore()).isCloseTo(1.0 * 0.5 + 0.4 * 0.5, offset(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should record the fallback score of a budgeted rule rejected by the saturated executor")
+    void shouldRecordTheFallbackScoreOfABudgetedRuleRejectedByTheSaturatedExecutor() throws InterruptedException {
+        // Given
+        var saturated = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                new ThreadPoolExecutor.AbortPolicy());
+        var release = new CountDownLatch(1);
+        saturated.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        List<String> rejected = new ArrayList<>();
+        var composite = new CompositeScoringRule(
+                List.of(rule("budgeted", RuleCost.EXPENSIVE, 0), rule("unbudgeted", RuleCost.EXPENSIVE, 0)),
+                saturated,
+                CompositeScoringRule.DEFAULT_INLINE_THRESHOLD,
+                rule -> rule.getName().equals("budgeted") ? new RuleBudget(Duration.ofSeconds(5), 0.4) : RuleBudget.UNLIMITED,
+                new RuleListener() {
+                    @Override
+                    public void onRejected(ScoringRule rule) {
+                        rejected.add(rule.getName());
+                    }
+                }
+        );
+        var context = ScoringContext.builder().build();
+
+        try {
+            // When
+            composite.execute(context);
+
+            // Then
+            assertThat(rejected).containsExactly("budgeted");
+            assertThat(context.getResults())
+                    .filteredOn(result -> result.ruleName().equals("budgeted"))
+                    .singleElement()
+                    .satisfies(result -> {
+                        assertThat(result.score()).isEqualTo(0.4);
+                        assertThat(result.errorMessage()).isEqualTo("Rejected by the saturated scoring executor");
+                    });
+            assertThat(executingThreads).doesNotContainKey("budgeted");
+            assertThat(executingThreads.get("unbudgeted")).isSameAs(Thread.currentThread());
+            assertThat(context.getWeightedScore()).isCloseTo(0.4 * 0.5 + 1.0 * 0.5, offset(1e-12));
+        } finally {
+            release.countDown();
+            saturated.shutdown();
+        }
+    }
+
+    private static RuleListener timeoutRecorder(List<String> timedOut) {
+        return new RuleListener() {
+            @Override
+            public void onTimeout(ScoringRule rule) {
+                synchronized (timedOut) {
+                    timedOut.add(rule.getName());
+                }
+            }
+        };
+    }
+
+    private ScoringRule dependentRule(String name, Set<String> dependencies, ToDoubleFunction<ScoringContext> score) {
+        return new TestRule(name, RuleCost.CHEAP, 0) {
+            @Override
+            public void execute(ScoringContext context) {
+                context.recordSuccess(getSlot(), name, score.applyAsDouble(context), getWeight());
+            }
+
+            @Override
+            public Set<String> getDependencies() {
+                return dependencies;
+            }
+        };
+    }
+
+    private ScoringRule asyncRule(String name, Function<ScoringContext, CompletionStage<Double>> fetch) {
+        return new AbstractAsyncScoringRule(0.25, 4) {
+            @Override
+            protected CompletionStage<Double> fetchScore(ScoringContext context) {
+                return fetch.apply(context);
+            }
+
+            @Override
+            public double getMaxScore() {
+                return 1.0;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+
+    private ScoringRule rule(String name, RuleCost cost, long sleepMillis) {
+        return new TestRule(name, cost, sleepMillis);
+    }
+
+    private class TestRule implements ScoringRule {
+        private final String name;
+        private final RuleCost cost;
+        private final long sleepMillis;
+        private int slot;
+
+        TestRule(String name, RuleCost cost, long sleepMillis) {
+            this.name = name;
+            this.cost = cost;
+            this.sleepMillis = sleepMillis;
+        }
+
+        @Override
+        public void execute(ScoringContext context) {
+            executingThreads.put(name, Thread.currentThread());
+            if (sleepMillis > 0) {
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            context.recordSuccess(slot, name, 1.0, 0.5);
+        }
+
+        @Override
+        public int bindSlots(int firstSlot) {
+            slot = firstSlot;
+            return firstSlot + 1;
+        }
+
+        int getSlot() {
+            return slot;
+        }
+
+        @Override
+        public RuleCost getCost() {
+            return cost;
+        }
+
+        @Override
+        public double getWeight() {
+            return 0.5;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -6,8 +6,6 @@ import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
-
 import static org.assertj.core.api.Assertions.assertThat;
 
 class ForksScoringRuleTest {
@@ -35,8 +33,8 @@ class ForksScoringRuleTest {
         var result = results.get(0);
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("ForksScoringRule");
-        assertThat(result.score()).isGreaterThan(BigDecimal.valueOf(0.8));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.2));
+        assertThat(result.score()).isGreaterThan(0.8);
+        assertThat(result.weight()).isEqualTo(0.2);
     }
 
     @Test
@@ -63,8 +61,8 @@ class ForksScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("ForksScoringRule");
         // With 10 forks out of 10000 cap, should be around 0.26
-        assertThat(result.score()).isCloseTo(BigDecimal.valueOf(0.26), Offset.offset(BigDecimal.valueOf(0.01)));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.2));
+        assertThat(result.score()).isCloseTo(0.26, Offset.offset(0.01));
+        assertThat(result.weight()).isEqualTo(0.2);
     }
 
     @Test
@@ -91,8 +89,8 @@ class ForksScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("ForksScoringRule");
         // At exactly the cap, the score should be 1.0
-        assertThat(result.score()).isCloseTo(BigDecimal.ONE, Offset.offset(BigDecimal.valueOf(0.0001)));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.2));
+        assertThat(result.score()).isCloseTo(1.0, Offset.offset(0.0001));
+        assertThat(result.weight()).isEqualTo(0.2);
     }
 
     @Test
@@ -119,8 +117,8 @@ class ForksScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("ForksScoringRule");
         // With 0 forks, the score should be 0
-        assertThat(result.score()).isCloseTo(BigDecimal.ZERO, Offset.offset(BigDecimal.valueOf(0.0001)));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.2));
+        assertThat(result.score()).isCloseTo(0.0, Offset.offset(0.0001));
+        assertThat(result.weight()).isEqualTo(0.2);
     }
 
     @Test
@@ -147,8 +145,8 @@ class ForksScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("ForksScoringRule");
         // Above cap, the score should be greater than 1.0
-        assertThat(result.score()).isGreaterThan(BigDecimal.ONE);
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.2));
+        assertThat(result.score()).isGreaterThan(1.0);
+        assertThat(result.weight()).isEqualTo(0.2);
     }
 
     @Test
@@ -175,8 +173,8 @@ class ForksScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("ForksScoringRule");
         // With 500 forks out of 1000 cap, should be around 0.9
-        assertThat(result.score()).isCloseTo(BigDecimal.valueOf(0.9), Offset.offset(BigDecimal.valueOf(0.1)));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.2));
+        assertThat(result.score()).isCloseTo(0.9, Offset.offset(0.1));
+        assertThat(result.weight()).isEqualTo(0.2);
     }
 
     @Test
@@ -203,8 +201,8 @@ class ForksScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("ForksScoringRule");
         // With zero cap, the score should be 0
-        assertThat(result.score()).isCloseTo(BigDecimal.ZERO, Offset.offset(BigDecimal.valueOf(0.0001)));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.2));
+        assertThat(result.score()).isCloseTo(0.0, Offset.offset(0.0001));
+        assertThat(result.weight()).isEqualTo(0.2);
     }
 
     @Test
@@ -220,7 +218,7 @@ class ForksScoringRuleTest {
         var weight = rule.getWeight();
 
         // Then
-        assertThat(weight).isEqualTo(BigDecimal.valueOf(0.2));
+        assertThat(weight).isEqualTo(0.2);
     }
 
     @Test
@@ -287,7 +285,7 @@ class ForksScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("ForksScoringRule");
         // With 2500 forks out of 10000 cap, should be around 0.85
-        assertThat(result.score()).isCloseTo(BigDecimal.valueOf(0.85), Offset.offset(BigDecimal.valueOf(0.05)));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.2));
+        assertThat(result.score()).isCloseTo(0.85, Offset.offset(0.05));
+        assertThat(result.weight()).isEqualTo(0.2);
     }
 }
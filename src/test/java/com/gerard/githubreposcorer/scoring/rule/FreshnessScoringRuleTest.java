@@ -7,8 +7,6 @@ import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
-
 import static org.assertj.core.api.Assertions.assertThat;
 
 class FreshnessScoringRuleTest {
@@ -36,8 +34,8 @@ class FreshnessScoringRuleTest {
         var result = results.get(0);
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("FreshnessScoringRule");
-        assertThat(result.score()).isGreaterThan(BigDecimal.valueOf(0.9));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.35));
+        assertThat(result.score()).isGreaterThan(0.9);
+        assertThat(result.weight()).isEqualTo(0.35);
     }
 
     @Test
@@ -63,8 +61,8 @@ class FreshnessScoringRuleTest {
         var result = results.get(0);
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("FreshnessScoringRule");
-        assertThat(result.score()).isLessThan(BigDecimal.valueOf(0.1));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.35));
+        assertThat(result.score()).isLessThan(0.1);
+        assertThat(result.weight()).isEqualTo(0.35);
     }
 
     @Test
@@ -91,8 +89,8 @@ class FreshnessScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("FreshnessScoringRule");
         // At exactly half-life, the score should be approximately 0.5
-        assertThat(result.score()).isCloseTo(BigDecimal.valueOf(0.5), Offset.offset(BigDecimal.valueOf(0.01)));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.35));
+        assertThat(result.score()).isCloseTo(0.5, Offset.offset(0.01));
+        assertThat(result.weight()).isEqualTo(0.35);
     }
 
     @Test
@@ -118,7 +116,7 @@ class FreshnessScoringRuleTest {
         var result = results.get(0);
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("FreshnessScoringRule");
-        assertThat(result.score()).isCloseTo(BigDecimal.ONE, Offset.offset(BigDecimal.valueOf(0.0001)));
+        assertThat(result.score()).isCloseTo(1.0, Offset.offset(0.0001));
     }
 
     @Test
@@ -134,7 +132,7 @@ class FreshnessScoringRuleTest {
         var weight = rule.getWeight();
 
         // Then
-        assertThat(weight).isEqualTo(BigDecimal.valueOf(0.35));
+        assertThat(weight).isEqualTo(0.35);
     }
 
     @Test
@@ -0,0 +1,79 @@
+package com.gerard.githubreposcorer.scoring.rule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InFlightLimiterTest {
+
+    @Test
+    @DisplayName("Should start waiting requests only as earlier ones complete")
+    void shouldStartWaitingRequestsOnlyAsEarlierOnesComplete() {
+        // Given
+        var limiter = new InFlightLimiter(2);
+        List<CompletableFuture<Integer>> responses = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            results.add(limiter.submit(() -> {
+                var response = new CompletableFuture<Integer>();
+                responses.add(response);
+                return response;
+            }));
+        }
+        int startedBeforeCompletion = responses.size();
+        responses.get(0).complete(0);
+
+        // Then
+        assertThat(startedBeforeCompletion).isEqualTo(2);
+        assertThat(responses).hasSize(3);
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(results.get(0)).isCompletedWithValue(0);
+        assertThat(results.get(2)).isNotDone();
+    }
+
+    @Test
+    @DisplayName("Should not recurse when requests complete synchronously")
+    void shouldNotRecurseWhenRequestsCompleteSynchronously() {
+        // Given
+        var limiter = new InFlightLimiter(1);
+        var blocker = new CompletableFuture<Integer>();
+        limiter.submit(() -> blocker);
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            int value = i;
+            results.add(limiter.submit(() -> CompletableFuture.completedFuture(value)));
+        }
+
+        // When
+        blocker.complete(-1);
+
+        // Then
+        assertThat(results).allMatch(CompletableFuture::isDone);
+        assertThat(results.get(99_999)).isCompletedWithValue(99_999);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally and release the permit when a request throws")
+    void shouldCompleteExceptionallyAndReleaseThePermitWhenARequestThrows() {
+        // Given
+        var limiter = new InFlightLimiter(1);
+
+        // When
+        CompletableFuture<Integer> failed = limiter.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<Integer> next = limiter.submit(() -> CompletableFuture.completedFuture(1));
+
+        // Then
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(next).isCompletedWithValue(1);
+    }
+}
@@ -1,13 +1,12 @@
 package com.gerard.githubreposcorer.scoring.rule;
 
 import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
 import com.gerard.githubreposcorer.scoring.model.ScoringContext;
 import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
-
 import static org.assertj.core.api.Assertions.assertThat;
 
 class StarsScoringRuleTest {
@@ -35,8 +34,8 @@ class StarsScoringRuleTest {
         var result = results.get(0);
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("StarsScoringRule");
-        assertThat(result.score()).isGreaterThan(BigDecimal.valueOf(0.8));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.45));
+        assertThat(result.score()).isGreaterThan(0.8);
+        assertThat(result.weight()).isEqualTo(0.45);
     }
 
     @Test
@@ -63,8 +62,8 @@ class StarsScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("StarsScoringRule");
         // With 10 stars out of 10000 cap, should be around 0.26
-        assertThat(result.score()).isCloseTo(BigDecimal.valueOf(0.26), Offset.offset(BigDecimal.valueOf(0.01)));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.45));
+        assertThat(result.score()).isCloseTo(0.26, Offset.offset(0.01));
+        assertThat(result.weight()).isEqualTo(0.45);
     }
 
     @Test
@@ -91,8 +90,8 @@ class StarsScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("StarsScoringRule");
         // At exactly the cap, the score should be 1.0
-        assertThat(result.score()).isCloseTo(BigDecimal.ONE, Offset.offset(BigDecimal.valueOf(0.0001)));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.45));
+        assertThat(result.score()).isCloseTo(1.0, Offset.offset(0.0001));
+        assertThat(result.weight()).isEqualTo(0.45);
     }
 
     @Test
@@ -119,8 +118,8 @@ class StarsScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("StarsScoringRule");
         // With 0 stars, the score should be 0
-        assertThat(result.score()).isCloseTo(BigDecimal.ZERO, Offset.offset(BigDecimal.valueOf(0.0001)));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.45));
+        assertThat(result.score()).isCloseTo(0.0, Offset.offset(0.0001));
+        assertThat(result.weight()).isEqualTo(0.45);
     }
 
     @Test
@@ -147,8 +146,8 @@ class StarsScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("StarsScoringRule");
         // Above cap, the score should be greater than 1.0
-        assertThat(result.score()).isGreaterThan(BigDecimal.ONE);
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.45));
+        assertThat(result.score()).isGreaterThan(1.0);
+        assertThat(result.weight()).isEqualTo(0.45);
     }
 
     @Test
@@ -175,8 +174,8 @@ class StarsScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("StarsScoringRule");
         // With 500 stars out of 1000 cap, should be around 0.9
-        assertThat(result.score()).isCloseTo(BigDecimal.valueOf(0.9), Offset.offset(BigDecimal.valueOf(0.1)));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.45));
+        assertThat(result.score()).isCloseTo(0.9, Offset.offset(0.1));
+        assertThat(result.weight()).isEqualTo(0.45);
     }
 
     @Test
@@ -203,8 +202,8 @@ class StarsScoringRuleTest {
         assertThat(result.success()).isTrue();
         assertThat(result.ruleName()).isEqualTo("StarsScoringRule");
         // With zero cap, the score should be 0
-        assertThat(result.score()).isCloseTo(BigDecimal.ZERO, Offset.offset(BigDecimal.valueOf(0.0001)));
-        assertThat(result.weight()).isEqualTo(BigDecimal.valueOf(0.45));
+        assertThat(result.score()).isCloseTo(0.0, Offset.offset(0.0001));
+        assertThat(result.weight()).isEqualTo(0.45);
     }
 
     @Test
@@ -220,7 +219,7 @@ class StarsScoringRuleTest {
         var weight = rule.getWeight();
 
         // Then
-        assertThat(weight).isEqualTo(BigDecimal.valueOf(0.45));
+        assertThat(weight).isEqualTo(0.45);
     }
 
     @Test
@@ -262,4 +261,25 @@ class StarsScoringRuleTest {
         assertThat(result.ruleName()).isEqualTo("StarsScoringRule");
         assertThat(result.errorMessage()).isNotNull();
     }
+
+    @Test
+    @DisplayName("Should accumulate weighted stars scores for a batch")
+    void shouldAccumulateWeightedStarsScoresForABatch() {
+        // Given
+        var starsConfig = new ScoringProperties.Stars();
+        starsConfig.setCap(10000);
+        starsConfig.setWeight(0.45);
+
+        var rule = new StarsScoringRule(starsConfig);
+        var batch = new ScoringBatch(new int[]{0, 10000, -100}, new int[3], new int[3]);
+
+        // When
+        rule.calculateScores(batch);
+
+        // Then
+        assertThat(batch.getScore(0)).isCloseTo(0.0, Offset.offset(0.0001));
+        assertThat(batch.getScore(1)).isCloseTo(0.45, Offset.offset(0.0001));
+        // A failing repository gets no contribution, like a failed rule result
+        assertThat(batch.getScore(2)).isZero();
+    }
 }
@@ -0,0 +1,129 @@
+package com.gerard.githubreposcorer.scoring.sketch;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LanguageSketchesTest {
+
+    private ScoringProperties scoringProperties;
+
+    @BeforeEach
+    void setUp() {
+        scoringProperties = new ScoringProperties();
+        scoringProperties.getPercentile().setEnabled(true);
+        scoringProperties.getPercentile().setMinSamples(10);
+    }
+
+    @Test
+    @DisplayName("Should use the language distributions once they have enough samples")
+    void shouldUseTheLanguageDistributionsOnceTheyHaveEnoughSamples() {
+        // Given
+        var sketches = new LanguageSketches(scoringProperties);
+        for (int i = 0; i < 10; i++) {
+            sketches.record("java/repo-" + i, "Java", i * 100, i);
+        }
+        for (int i = 0; i < 5; i++) {
+            sketches.record("go/repo-" + i, "Go", i, i);
+        }
+
+        // When & Then
+        assertThat(sketches.find("java")).isNotNull().isNotSameAs(sketches.find("Go"));
+        assertThat(sketches.find("java").stars().getCount()).isEqualTo(10);
+        assertThat(sketches.find("Go").stars().getCount()).isEqualTo(15);
+        assertThat(sketches.find(null).stars().getCount()).isEqualTo(15);
+        assertThat(sketches.getLanguageCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should record a repository only once and nothing while disabled")
+    void shouldRecordARepositoryOnlyOnceAndNothingWhileDisabled() {
+        // Given
+        var sketches = new LanguageSketches(scoringProperties);
+        var disabled = new LanguageSketches(new ScoringProperties());
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            sketches.record("spring-projects/spring-boot", "Java", 78600, 41500);
+            disabled.record("spring-projects/spring-boot", "Java", 78600, 41500);
+        }
+
+        // Then
+        assertThat(sketches.getRecordedCount()).isEqualTo(1);
+        assertThat(sketches.find("Java")).isNull();
+        assertThat(disabled.getRecordedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should advance the epoch as the distributions grow")
+    void shouldAdvanceTheEpochAsTheDistributionsGrow() {
+        // Given
+        var sketches = new LanguageSketches(scoringProperties);
+
+        // When
+        for (int i = 0; i < 9; i++) {
+            sketches.record("org/repo-" + i, "Java", i, i);
+        }
+        long epochBefore = sketches.getEpoch();
+        sketches.record("org/repo-9", "Java", 9, 9);
+
+        // Then
+        assertThat(epochBefore).isZero();
+        assertThat(sketches.getEpoch()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should restart warm from a snapshot")
+    void shouldRestartWarmFromASnapshot(@TempDir Path directory) throws IOException {
+        // Given
+        var sketches = new LanguageSketches(scoringProperties);
+        for (int i = 0; i < 30; i++) {
+            sketches.record("org/repo-" + i, i % 2 == 0 ? "Java" : "Go", i * 10, i);
+        }
+        Path file = directory.resolve("sketches.bin");
+        sketches.writeSnapshot(file);
+
+        // When
+        var restarted = new LanguageSketches(scoringProperties);
+        restarted.loadSnapshot(file);
+        restarted.record("org/repo-0", "Java", 0, 0);
+
+        // Then
+        assertThat(restarted.getRecordedCount()).isEqualTo(30);
+        assertThat(restarted.getLanguageCount()).isEqualTo(2);
+        assertThat(restarted.find("Java").stars().percentile(150))
+                .isEqualTo(sketches.find("Java").stars().percentile(150));
+        assertThat(restarted.getEpoch()).isPositive();
+        assertThat(Files.list(directory)).containsExactly(file);
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot of another accuracy or format")
+    void shouldRejectASnapshotOfAnotherAccuracyOrFormat(@TempDir Path directory) throws IOException {
+        // Given
+        var sketches = new LanguageSketches(scoringProperties);
+        sketches.record("org/repo", "Java", 1, 1);
+        Path file = directory.resolve("sketches.bin");
+        sketches.writeSnapshot(file);
+        Path garbage = Files.writeString(directory.resolve("garbage.bin"), "not a snapshot");
+        scoringProperties.getPercentile().setRelativeAccuracy(0.05);
+        var otherAccuracy = new LanguageSketches(scoringProperties);
+
+        // When & Then
+        assertThatThrownBy(() -> otherAccuracy.loadSnapshot(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("relative accuracy");
+        assertThatThrownBy(() -> otherAccuracy.loadSnapshot(garbage))
+                .isInstanceOf(IOException.class);
+        assertThat(otherAccuracy.getRecordedCount()).isZero();
+    }
+}
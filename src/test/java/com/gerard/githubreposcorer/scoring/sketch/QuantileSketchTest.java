@@ -0,0 +1,129 @@
+package com.gerard.githubreposcorer.scoring.sketch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Offset.offset;
+
+class QuantileSketchTest {
+
+    @Test
+    @DisplayName("Should estimate percentiles of a skewed distribution")
+    void shouldEstimatePercentilesOfASkewedDistribution() {
+        // Given
+        var sketch = new QuantileSketch(0.02);
+        var random = new SplittableRandom(7);
+        int[] values = new int[50_000];
+        for (int i = 0; i < values.length; i++) {
+            // Stars like distribution: most repositories have few, a handful have a lot
+            values[i] = (int) Math.exp(random.nextDouble() * 12);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        // When & Then
+        for (int probe : new int[]{1, 10, 100, 1_000, 10_000, 100_000}) {
+            // Mid-rank, values equal to the probe counting for half
+            double exact = (countBelow(values, probe) + countBelow(values, probe + 1)) / 2.0 / values.length;
+            assertThat(sketch.percentile(probe)).isCloseTo(exact, offset(0.02));
+        }
+        assertThat(sketch.getCount()).isEqualTo(values.length);
+    }
+
+    @Test
+    @DisplayName("Should keep constant memory whatever the number of values")
+    void shouldKeepConstantMemoryWhateverTheNumberOfValues() {
+        // Given
+        var sketch = new QuantileSketch(0.02);
+        long memoryBefore = sketch.memoryBytes();
+
+        // When
+        for (int i = 0; i < 1_000_000; i++) {
+            sketch.add(i);
+        }
+
+        // Then
+        assertThat(sketch.memoryBytes()).isEqualTo(memoryBefore).isLessThan(8 * 1024);
+    }
+
+    @Test
+    @DisplayName("Should merge into the same percentiles as a single sketch")
+    void shouldMergeIntoTheSamePercentilesAsASingleSketch() {
+        // Given
+        var single = new QuantileSketch(0.02);
+        var first = new QuantileSketch(0.02);
+        var second = new QuantileSketch(0.02);
+        for (int i = 0; i < 1_000; i++) {
+            single.add(i);
+            (i % 2 == 0 ? first : second).add(i);
+        }
+
+        // When
+        first.merge(second);
+
+        // Then
+        assertThat(first.getCount()).isEqualTo(1_000);
+        for (int probe : new int[]{0, 5, 50, 500, 999}) {
+            assertThat(first.percentile(probe)).isEqualTo(single.percentile(probe));
+        }
+        assertThatThrownBy(() -> first.merge(new QuantileSketch(0.05)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should restore the same sketch from its serialized form")
+    void shouldRestoreTheSameSketchFromItsSerializedForm() throws IOException {
+        // Given
+        var sketch = new QuantileSketch(0.02);
+        for (int i = 0; i < 500; i += 3) {
+            sketch.add(i * i);
+        }
+        var bytes = new ByteArrayOutputStream();
+        sketch.writeTo(new DataOutputStream(bytes));
+
+        // When
+        var restored = QuantileSketch.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Then
+        assertThat(restored.getCount()).isEqualTo(sketch.getCount());
+        assertThat(restored.getRelativeAccuracy()).isEqualTo(0.02);
+        for (int probe : new int[]{0, 100, 10_000, 200_000}) {
+            assertThat(restored.percentile(probe)).isEqualTo(sketch.percentile(probe));
+        }
+    }
+
+    @Test
+    @DisplayName("Should return NaN for an empty sketch and ignore negative values")
+    void shouldReturnNaNForAnEmptySketchAndIgnoreNegativeValues() {
+        // Given
+        var sketch = new QuantileSketch(0.02);
+
+        // When
+        sketch.add(-1);
+
+        // Then
+        assertThat(sketch.getCount()).isZero();
+        assertThat(sketch.percentile(10)).isNaN();
+    }
+
+    private static int countBelow(int[] sortedValues, int value) {
+        int index = Arrays.binarySearch(sortedValues, value);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && sortedValues[index - 1] == value) {
+            index--;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,87 @@
+package com.gerard.githubreposcorer.scoring.strategy;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import com.gerard.githubreposcorer.scoring.model.ScoringContext;
+import com.gerard.githubreposcorer.scoring.sketch.LanguageSketches;
+import com.gerard.githubreposcorer.util.MathUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+class PercentileScoringStrategyTest {
+
+    private ScoringProperties scoringProperties;
+    private LanguageSketches languageSketches;
+
+    @BeforeEach
+    void setUp() {
+        scoringProperties = new ScoringProperties();
+        scoringProperties.getPercentile().setEnabled(true);
+        scoringProperties.getPercentile().setMinSamples(100);
+        languageSketches = new LanguageSketches(scoringProperties);
+    }
+
+    @Test
+    @DisplayName("Should score like v1 until enough repositories are recorded")
+    void shouldScoreLikeV1UntilEnoughRepositoriesAreRecorded() {
+        // Given
+        var strategy = new PercentileScoringStrategy(scoringProperties, languageSketches);
+        var v1 = new ScoringStrategyV1(scoringProperties, ForkJoinPool.commonPool());
+        v1.afterSingletonsInstantiated();
+        var context = ScoringContext.builder().stars(1000).forks(500).daysSinceUpdate(30).build();
+
+        // When
+        double score = strategy.calculateScore(context);
+
+        // Then
+        assertThat(score).isCloseTo(v1.calculateScore(context), offset(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should rank a niche language repository against its own language")
+    void shouldRankANicheLanguageRepositoryAgainstItsOwnLanguage() {
+        // Given
+        for (int i = 0; i < 100; i++) {
+            languageSketches.record("java/repo-" + i, "Java", 1_000 + i * 1_000, 100 + i * 100);
+            languageSketches.record("zig/repo-" + i, "Zig", i * 5, i);
+        }
+        var strategy = new PercentileScoringStrategy(scoringProperties, languageSketches);
+        var batch = new ScoringBatch(new int[]{400, 400}, new int[]{80, 80}, new int[]{0, 0}, new String[]{"Zig", "Java"});
+
+        // When
+        strategy.calculateScores(batch);
+
+        // Then
+        double freshness = scoringProperties.getFreshness().getWeight() * MathUtils.freshnessFromDays(0, 90);
+        // 400 stars and 80 forks beat most Zig repositories but no Java one
+        assertThat(batch.getScore(0) - freshness).isGreaterThan(0.5);
+        assertThat(batch.getScore(1) - freshness).isLessThan(0.05);
+    }
+
+    @Test
+    @DisplayName("Should change fingerprint when the distributions move or the weights change")
+    void shouldChangeFingerprintWhenTheDistributionsMoveOrTheWeightsChange() {
+        // Given
+        var strategy = new PercentileScoringStrategy(scoringProperties, languageSketches);
+        long fingerprint = strategy.getWeightsFingerprint();
+        var weights = scoringProperties.copyWithWeights();
+        weights.getStars().setWeight(0.5);
+        weights.getForks().setWeight(0.15);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            languageSketches.record("org/repo-" + i, "Java", i, i);
+        }
+
+        // Then
+        assertThat(strategy.getWeightsFingerprint()).isNotEqualTo(fingerprint);
+        assertThat(strategy.withWeights(weights).getWeightsFingerprint()).isNotEqualTo(strategy.getWeightsFingerprint());
+        assertThat(strategy.withWeights(weights).getVersion()).isEqualTo("percentile");
+    }
+}
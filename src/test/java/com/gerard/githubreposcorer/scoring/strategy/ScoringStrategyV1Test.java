@@ -2,15 +2,23 @@ package com.gerard.githubreposcorer.scoring.strategy;
 
 import com.gerard.githubreposcorer.config.ScoringProperties;
 import com.gerard.githubreposcorer.scoring.exception.InvalidWeightsException;
+import com.gerard.githubreposcorer.scoring.model.RuleContribution;
+import com.gerard.githubreposcorer.scoring.model.ScoreExplanation;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
 import com.gerard.githubreposcorer.scoring.model.ScoringContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
 import java.util.concurrent.ForkJoinPool;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Offset.offset;
 import static org.mockito.Mockito.mock;
 
 class ScoringStrategyV1Test {
@@ -34,11 +42,11 @@ class ScoringStrategyV1Test {
                 .build();
 
         // When
-        BigDecimal score = scoringStrategy.calculateScore(context);
+        double score = scoringStrategy.calculateScore(context);
 
         // Then
         assertThat(score).isNotNull();
-        assertThat(score).isBetween(BigDecimal.ZERO, BigDecimal.ONE);
+        assertThat(score).isBetween(0.0, 1.0);
     }
 
     @Test
@@ -75,6 +83,210 @@ class ScoringStrategyV1Test {
                 .hasMessage("Weights must sum to 1.0, but sum is: 2.05");
     }
 
+    @Test
+    @DisplayName("Should calculate identical scores with lookup tables enabled")
+    void shouldCalculateIdenticalScoresWithLookupTablesEnabled() {
+        // Given
+        var directProperties = new ScoringProperties();
+        var tableProperties = new ScoringProperties();
+        tableProperties.getLookupTables().setEnabled(true);
+        tableProperties.getLookupTables().setFreshnessHorizonDays(365);
+
+        var directStrategy = new ScoringStrategyV1(directProperties, ForkJoinPool.commonPool());
+        var tableStrategy = new ScoringStrategyV1(tableProperties, ForkJoinPool.commonPool());
+        directStrategy.afterSingletonsInstantiated();
+        tableStrategy.afterSingletonsInstantiated();
+
+        // When & Then
+        int[][] samples = {{0, 0, 0}, {1000, 500, 30}, {10000, 10000, 365}, {250000, 40000, 2000}};
+        for (int[] sample : samples) {
+            assertThat(tableStrategy.calculateScore(context(sample[0], sample[1], sample[2])))
+                    .isEqualTo(directStrategy.calculateScore(context(sample[0], sample[1], sample[2])));
+        }
+        assertThat(directStrategy.getLookupTablesMemoryBytes()).isZero();
+        assertThat(tableStrategy.getLookupTablesMemoryBytes()).isEqualTo((10001L + 10001L + 366L) * Double.BYTES);
+    }
+
+    @Test
+    @DisplayName("Should report the lookup tables of weight profile strategies built before the registry is bound")
+    void shouldReportTheLookupTablesOfWeightProfileStrategiesBuiltBeforeTheRegistryIsBound() {
+        // Given
+        var properties = new ScoringProperties();
+        properties.getLookupTables().setEnabled(true);
+        properties.getLookupTables().setFreshnessHorizonDays(365);
+        var scoringStrategy = new ScoringStrategyV1(properties, ForkJoinPool.commonPool());
+        scoringStrategy.afterSingletonsInstantiated();
+        var profile = new ScoringProperties.WeightProfile();
+        profile.setStars(starsConfig(0.45, 1000));
+        profile.setForks(forksConfig(0.2, 1000));
+        profile.setFreshness(freshnessConfig(0.35, 30));
+        var profileStrategy = (ScoringStrategyV1) scoringStrategy.withWeights(properties.copyWithProfile(profile));
+        var registry = new SimpleMeterRegistry();
+
+        // When
+        scoringStrategy.bindTo(registry);
+
+        // Then
+        assertThat(profileStrategy.getLookupTablesMemoryBytes()).isEqualTo((1001L + 1001L + 366L) * Double.BYTES);
+        assertThat(registry.get("scoring.lookup.tables.memory").gauge().value())
+                .isEqualTo((double) scoringStrategy.getLookupTablesMemoryBytes() + profileStrategy.getLookupTablesMemoryBytes());
+    }
+
+    @Test
+    @DisplayName("Should calculate batch scores matching single repository scores")
+    void shouldCalculateBatchScoresMatchingSingleRepositoryScores() {
+        // Given
+        var scoringStrategy = new ScoringStrategyV1(new ScoringProperties(), ForkJoinPool.commonPool());
+        scoringStrategy.afterSingletonsInstantiated();
+
+        int[] stars = {0, 1000, 10000, 250000};
+        int[] forks = {0, 500, 10000, 40000};
+        int[] days = {0, 30, 365, 2000};
+        var batch = new ScoringBatch(stars, forks, days);
+
+        // When
+        scoringStrategy.calculateScores(batch);
+
+        // Then
+        for (int i = 0; i < stars.length; i++) {
+            assertThat(batch.getScore(i))
+                    .isCloseTo(scoringStrategy.calculateScore(context(stars[i], forks[i], days[i])), offset(1e-12));
+        }
+    }
+
+    @Test
+    @DisplayName("Should calculate identical scores with compiled and interpreted rule chains")
+    void shouldCalculateIdenticalScoresWithCompiledAndInterpretedRuleChains() {
+        // Given
+        var compiledProperties = new ScoringProperties();
+        var interpretedProperties = new ScoringProperties();
+        interpretedProperties.getStrategy().setCompileRules(false);
+
+        var compiledStrategy = new ScoringStrategyV1(compiledProperties, ForkJoinPool.commonPool());
+        var interpretedStrategy = new ScoringStrategyV1(interpretedProperties, ForkJoinPool.commonPool());
+        compiledStrategy.afterSingletonsInstantiated();
+        interpretedStrategy.afterSingletonsInstantiated();
+
+        // When & Then
+        int[][] samples = {{0, 0, 0}, {1000, 500, 30}, {10000, 10000, 365}, {250000, 40000, 2000}, {-5, 100, 10}};
+        for (int[] sample : samples) {
+            assertThat(compiledStrategy.calculateScore(context(sample[0], sample[1], sample[2])))
+                    .isCloseTo(interpretedStrategy.calculateScore(context(sample[0], sample[1], sample[2])), offset(1e-12));
+        }
+    }
+
+    @Test
+    @DisplayName("Should round random scores to the cents of the decimal scoring except at half-cent boundaries")
+    void shouldRoundRandomScoresToTheCentsOfTheDecimalScoringExceptAtHalfCentBoundaries() {
+        // Given - lookup tables and the compiled chain, as in application.yaml
+        var properties = new ScoringProperties();
+        properties.getLookupTables().setEnabled(true);
+        var scoringStrategy = new ScoringStrategyV1(properties, ForkJoinPool.commonPool());
+        scoringStrategy.afterSingletonsInstantiated();
+        var random = new Random(42);
+
+        // When & Then
+        for (int i = 0; i < 200_000; i++) {
+            int stars = random.nextInt(100_000);
+            int forks = random.nextInt(20_000);
+            int days = random.nextInt(5_000);
+            BigDecimal decimal = decimalScore(properties, stars, forks, days);
+            BigDecimal score = BigDecimal.valueOf(scoringStrategy.calculateScore(context(stars, forks, days)))
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            BigDecimal distanceToHalfCent = decimal.movePointRight(2).remainder(BigDecimal.ONE)
+                    .subtract(new BigDecimal("0.5")).abs().movePointLeft(2);
+            if (distanceToHalfCent.compareTo(new BigDecimal("1e-9")) > 0) {
+                assertThat(score).isEqualTo(decimal.setScale(2, RoundingMode.HALF_UP));
+            } else {
+                assertThat(score.subtract(decimal.setScale(2, RoundingMode.HALF_UP)).abs())
+                        .isLessThanOrEqualTo(new BigDecimal("0.01"));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should round a score a fraction of a nanocent below a half cent down unlike the decimal scoring")
+    void shouldRoundAScoreAFractionOfANanocentBelowAHalfCentDownUnlikeTheDecimalScoring() {
+        // Given
+        var properties = new ScoringProperties();
+        var scoringStrategy = new ScoringStrategyV1(properties, ForkJoinPool.commonPool());
+        scoringStrategy.afterSingletonsInstantiated();
+
+        // When
+        double score = scoringStrategy.calculateScore(context(286, 1573, 325));
+
+        // Then - 10 significant digit rule scores sum to exactly 0.465, the doubles to 0.46499999991
+        assertThat(decimalScore(properties, 286, 1573, 325)).isEqualByComparingTo("0.465");
+        assertThat(score).isCloseTo(0.465, offset(1e-9));
+        assertThat(BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP)).isEqualByComparingTo("0.46");
+    }
+
+    @Test
+    @DisplayName("Should explain the contribution of every rule with the compiled chain enabled")
+    void shouldExplainTheContributionOfEveryRuleWithTheCompiledChainEnabled() {
+        // Given
+        var scoringStrategy = new ScoringStrategyV1(new ScoringProperties(), ForkJoinPool.commonPool());
+        scoringStrategy.afterSingletonsInstantiated();
+
+        // When
+        ScoreExplanation explanation = scoringStrategy.explain(context(1000, -5, 30));
+
+        // Then
+        assertThat(explanation.strategyVersion()).isEqualTo("v1");
+        assertThat(explanation.score()).isCloseTo(scoringStrategy.calculateScore(context(1000, -5, 30)), offset(1e-12));
+        assertThat(explanation.rules()).extracting(RuleContribution::rule)
+                .containsExactly("StarsScoringRule", "ForksScoringRule", "FreshnessScoringRule");
+        RuleContribution stars = explanation.rules().get(0);
+        assertThat(stars.weight()).isEqualTo(0.45);
+        assertThat(stars.weightedScore()).isCloseTo(stars.score() * 0.45, offset(1e-12));
+        assertThat(stars.inputs()).containsEntry("stars", 1000.0).containsEntry("cap", 10000.0);
+        RuleContribution forks = explanation.rules().get(1);
+        assertThat(forks.error()).isNotNull();
+        assertThat(forks.weightedScore()).isZero();
+        assertThat(explanation.rules().stream().mapToDouble(RuleContribution::weightedScore).sum())
+                .isCloseTo(explanation.score(), offset(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should score with new weights after reload")
+    void shouldScoreWithNewWeightsAfterReload() {
+        // Given
+        var scoringStrategy = new ScoringStrategyV1(new ScoringProperties(), ForkJoinPool.commonPool());
+        scoringStrategy.afterSingletonsInstantiated();
+        long fingerprintBefore = scoringStrategy.getWeightsFingerprint();
+        var weights = scoringStrategy.getCurrentWeights();
+        weights.getStars().setWeight(1.0);
+        weights.getForks().setWeight(0.0);
+        weights.getFreshness().setWeight(0.0);
+
+        // When
+        scoringStrategy.reload(weights);
+
+        // Then
+        assertThat(scoringStrategy.calculateScore(context(10000, 0, 10000))).isCloseTo(1.0, offset(1e-12));
+        assertThat(scoringStrategy.getCurrentWeights().getStars().getWeight()).isEqualTo(1.0);
+        assertThat(scoringStrategy.getWeightsFingerprint()).isNotEqualTo(fingerprintBefore);
+    }
+
+    @Test
+    @DisplayName("Should keep current weights when reloading invalid weights")
+    void shouldKeepCurrentWeightsWhenReloadingInvalidWeights() {
+        // Given
+        var scoringStrategy = new ScoringStrategyV1(new ScoringProperties(), ForkJoinPool.commonPool());
+        scoringStrategy.afterSingletonsInstantiated();
+        double before = scoringStrategy.calculateScore(context(1000, 500, 30));
+        var weights = scoringStrategy.getCurrentWeights();
+        weights.getStars().setWeight(0.9);
+
+        // When & Then
+        assertThatThrownBy(() -> scoringStrategy.reload(weights))
+                .isInstanceOf(InvalidWeightsException.class)
+                .hasMessageContaining("Weights must sum to 1.0");
+        assertThat(scoringStrategy.calculateScore(context(1000, 500, 30))).isEqualTo(before);
+        assertThat(scoringStrategy.getCurrentWeights().getStars().getWeight()).isEqualTo(0.45);
+    }
+
     @Test
     @DisplayName("Should return correct version")
     void shouldReturnCorrectVersion() {
@@ -86,6 +298,34 @@ class ScoringStrategyV1Test {
         assertThat(version).isEqualTo("v1");
     }
 
+    /**
+     * Score of the former BigDecimal rule chain, which rounded every rule score and partial sum to 10 significant digits
+     */
+    private static BigDecimal decimalScore(ScoringProperties properties, int stars, int forks, int daysSinceUpdate) {
+        MathContext mathContext = new MathContext(10, RoundingMode.HALF_UP);
+        BigDecimal starsScore = BigDecimal.valueOf(Math.log1p(stars))
+                .divide(BigDecimal.valueOf(Math.log1p(properties.getStars().getCap())), mathContext);
+        BigDecimal forksScore = BigDecimal.valueOf(Math.log1p(forks))
+                .divide(BigDecimal.valueOf(Math.log1p(properties.getForks().getCap())), mathContext);
+        BigDecimal lambda = BigDecimal.valueOf(Math.log(2.0))
+                .divide(BigDecimal.valueOf(Math.max(1, properties.getFreshness().getHalfLifeDays())), mathContext);
+        double exponent = lambda.negate().multiply(BigDecimal.valueOf(Math.max(0, daysSinceUpdate)), mathContext).doubleValue();
+        BigDecimal freshnessScore = BigDecimal.valueOf(Math.exp(exponent)).setScale(10, RoundingMode.HALF_UP);
+
+        return BigDecimal.ZERO
+                .add(starsScore.multiply(BigDecimal.valueOf(properties.getStars().getWeight())), mathContext)
+                .add(forksScore.multiply(BigDecimal.valueOf(properties.getForks().getWeight())), mathContext)
+                .add(freshnessScore.multiply(BigDecimal.valueOf(properties.getFreshness().getWeight())), mathContext);
+    }
+
+    private static ScoringContext context(int stars, int forks, int daysSinceUpdate) {
+        return ScoringContext.builder()
+                .stars(stars)
+                .forks(forks)
+                .daysSinceUpdate(daysSinceUpdate)
+                .build();
+    }
+
     private static ScoringProperties.Stars starsConfig(double weight, int cap) {
         ScoringProperties.Stars stars = new ScoringProperties.Stars();
         stars.setWeight(weight);
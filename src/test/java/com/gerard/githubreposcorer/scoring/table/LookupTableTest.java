@@ -0,0 +1,61 @@
+package com.gerard.githubreposcorer.scoring.table;
+
+import com.gerard.githubreposcorer.util.MathUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LookupTableTest {
+
+    @Test
+    @DisplayName("Should precompute normalized log for every value up to cap")
+    void shouldPrecomputeNormalizedLogForEveryValueUpToCap() {
+        // Given
+        var table = LookupTable.normLog(1000, 1_000_000);
+
+        // Then
+        assertThat(table.size()).isEqualTo(1001);
+        for (int stars = 0; stars <= 1000; stars++) {
+            assertThat(table.applyAsDouble(stars)).isEqualTo(MathUtils.normLog(stars, 1000));
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to direct computation outside the table")
+    void shouldFallBackToDirectComputationOutsideTheTable() {
+        // Given
+        var table = LookupTable.normLog(1000, 1_000_000);
+
+        // When & Then
+        assertThat(table.applyAsDouble(50_000)).isEqualTo(MathUtils.normLog(50_000, 1000));
+        assertThatThrownBy(() -> table.applyAsDouble(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should precompute freshness up to the horizon")
+    void shouldPrecomputeFreshnessUpToTheHorizon() {
+        // Given
+        var table = LookupTable.freshness(90, 365, 1_000_000);
+
+        // Then
+        assertThat(table.size()).isEqualTo(366);
+        assertThat(table.applyAsDouble(90)).isEqualTo(MathUtils.freshnessFromDays(90, 90));
+        assertThat(table.applyAsDouble(1000)).isEqualTo(MathUtils.freshnessFromDays(1000, 90));
+        assertThat(table.applyAsDouble(-10)).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should limit table size to max entries and report memory usage")
+    void shouldLimitTableSizeToMaxEntriesAndReportMemoryUsage() {
+        // Given
+        var table = LookupTable.normLog(100_000, 1000);
+
+        // Then
+        assertThat(table.size()).isEqualTo(1000);
+        assertThat(table.memoryBytes()).isEqualTo(1000L * Double.BYTES);
+        assertThat(table.applyAsDouble(5000)).isEqualTo(MathUtils.normLog(5000, 100_000));
+    }
+}
@@ -0,0 +1,165 @@
+package com.gerard.githubreposcorer.service;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.data.RepositoriesSource;
+import com.gerard.githubreposcorer.domain.model.GitHubRepository;
+import com.gerard.githubreposcorer.domain.model.RepositoryScore;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchRequest;
+import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
+import com.gerard.githubreposcorer.scoring.ScoringStrategy;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RepositoryRankingServiceTest {
+
+    private final ScoringStrategy strategy = mock(ScoringStrategy.class);
+    private ScoringService scoringService;
+    private ScoringProperties scoringProperties;
+    private ExecutorService fetchExecutor;
+
+    @BeforeEach
+    void setUp() {
+        scoringProperties = new ScoringProperties();
+        scoringProperties.getRanking().setUpstreamPages(3);
+        scoringProperties.getRanking().setUpstreamPageSize(4);
+        fetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+        // Scores each repository with its forks, so that the best scored ones are not the most starred
+        scoringService = mock(ScoringService.class);
+        when(scoringService.calculateScores(any(ScoringBatch.class), any(), any())).thenAnswer(invocation -> {
+            ScoringBatch batch = invocation.getArgument(0);
+            return IntStream.range(0, batch.getSize())
+                    .mapToObj(i -> BigDecimal.valueOf(batch.getForks()[i]))
+                    .toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should rank repositories by score across all upstream pages")
+    void shouldRankRepositoriesByScoreAcrossAllUpstreamPages() {
+        // Given
+        var service = new RepositoryRankingService(upstream(), scoringService, scoringProperties, fetchExecutor);
+        var request = RepositorySearchRequest.builder().page(0).size(3).ranked(true).build();
+
+        // When
+        var page = service.rankRepositories(request, strategy);
+
+        // Then
+        assertThat(page.getContent())
+                .extracting(RepositoryScore::getName)
+                .containsExactly("repo-11", "repo-10", "repo-9");
+        assertThat(page.getTotalPages()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve later pages of the ranking")
+    void shouldServeLaterPagesOfTheRanking() {
+        // Given
+        var service = new RepositoryRankingService(upstream(), scoringService, scoringProperties, fetchExecutor);
+        var request = RepositorySearchRequest.builder().page(1).size(5).ranked(true).build();
+
+        // When
+        var page = service.rankRepositories(request, strategy);
+
+        // Then
+        assertThat(page.getContent())
+                .extracting(RepositoryScore::getName)
+                .containsExactly("repo-6", "repo-5", "repo-4", "repo-3", "repo-2");
+        assertThat(page.getPage()).isEqualTo(1);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should only fetch the upstream pages holding the candidates of the requested page")
+    void shouldOnlyFetchTheUpstreamPagesHoldingTheCandidatesOfTheRequestedPage() {
+        // Given
+        scoringProperties.getRanking().setCandidatesPerResult(2);
+        List<Integer> fetchedPages = new CopyOnWriteArrayList<>();
+        RepositoriesSource upstream = upstream();
+        RepositoriesSource countingSource = request -> {
+            fetchedPages.add(request.getPage());
+            return upstream.searchRepositories(request);
+        };
+        var service = new RepositoryRankingService(countingSource, scoringService, scoringProperties, fetchExecutor);
+        var request = RepositorySearchRequest.builder().page(0).size(2).ranked(true).build();
+
+        // When
+        var page = service.rankRepositories(request, strategy);
+
+        // Then
+        assertThat(fetchedPages).containsExactly(0);
+        assertThat(page.getContent())
+                .extracting(RepositoryScore::getName)
+                .containsExactly("repo-3", "repo-2");
+    }
+
+    @Test
+    @DisplayName("Should reject a page beyond the ranked candidates")
+    void shouldRejectAPageBeyondTheRankedCandidates() {
+        // Given
+        var service = new RepositoryRankingService(upstream(), scoringService, scoringProperties, fetchExecutor);
+        var request = RepositorySearchRequest.builder().page(2).size(5).ranked(true).build();
+
+        // When & Then
+        assertThatThrownBy(() -> service.rankRepositories(request, strategy))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Ranked results are limited to the first 12 repositories");
+    }
+
+    @Test
+    @DisplayName("Should propagate an upstream failure")
+    void shouldPropagateAnUpstreamFailure() {
+        // Given
+        RepositoriesSource failingSource = request -> {
+            throw new RuntimeException("Failed to fetch repositories from GitHub API");
+        };
+        var service = new RepositoryRankingService(failingSource, scoringService, scoringProperties, fetchExecutor);
+        var request = RepositorySearchRequest.builder().page(0).size(5).ranked(true).build();
+
+        // When & Then
+        assertThatThrownBy(() -> service.rankRepositories(request, strategy))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Failed to fetch repositories from GitHub API");
+    }
+
+    /**
+     * 12 repositories over 3 upstream pages of 4 in descending stars order, repo-i having i forks
+     */
+    private static RepositoriesSource upstream() {
+        return request -> {
+            List<GitHubRepository> items = new ArrayList<>();
+            for (int i = 0; i < request.getSize(); i++) {
+                int index = request.getPage() * request.getSize() + i;
+                items.add(GitHubRepository.builder()
+                        .name("repo-" + index)
+                        .fullName("org/repo-" + index)
+                        .stars(1000 - index)
+                        .forks(index)
+                        .build());
+            }
+            return new RepositorySearchResponse(12, items);
+        };
+    }
+}
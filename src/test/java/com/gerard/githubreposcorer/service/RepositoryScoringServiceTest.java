@@ -6,7 +6,9 @@ import com.gerard.githubreposcorer.domain.model.RepositoryScore;
 import com.gerard.githubreposcorer.domain.model.RepositoryScorePage;
 import com.gerard.githubreposcorer.domain.model.RepositorySearchRequest;
 import com.gerard.githubreposcorer.domain.model.RepositorySearchResponse;
-import com.gerard.githubreposcorer.scoring.model.ScoringContext;
+import com.gerard.githubreposcorer.scoring.ScoringStrategy;
+import com.gerard.githubreposcorer.scoring.model.ScoreExplanation;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,8 +21,12 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,6 +40,9 @@ class RepositoryScoringServiceTest {
     @Mock
     private ScoringService scoringService;
 
+    @Mock
+    private RepositoryRankingService repositoryRankingService;
+
     @InjectMocks
     private RepositoryScoringService repositoryScoringService;
 
@@ -68,8 +77,8 @@ class RepositoryScoringServiceTest {
     void shouldScoreRepositoriesSuccessfullyWithValidRequest() {
         // Given
         when(repositoriesSource.searchRepositories(searchRequest)).thenReturn(searchResponse);
-        when(scoringService.calculateScore(any(ScoringContext.class)))
-                .thenReturn(BigDecimal.valueOf(0.85));
+        when(scoringService.calculateScores(any(ScoringBatch.class), any(), any()))
+                .thenReturn(List.of(BigDecimal.valueOf(0.85)));
 
         // When
         RepositoryScorePage result = repositoryScoringService.scoreRepositories(searchRequest);
@@ -88,7 +97,7 @@ class RepositoryScoringServiceTest {
         assertThat(scoredRepo.getScore()).isEqualTo(BigDecimal.valueOf(0.85));
 
         verify(repositoriesSource).searchRepositories(searchRequest);
-        verify(scoringService).calculateScore(any(ScoringContext.class));
+        verify(scoringService).calculateScores(any(ScoringBatch.class), any(), any());
     }
 
     @Test
@@ -115,9 +124,8 @@ class RepositoryScoringServiceTest {
         );
 
         when(repositoriesSource.searchRepositories(searchRequest)).thenReturn(multiRepoResponse);
-        when(scoringService.calculateScore(any(ScoringContext.class)))
-                .thenReturn(BigDecimal.valueOf(0.75))
-                .thenReturn(BigDecimal.valueOf(0.65));
+        when(scoringService.calculateScores(any(ScoringBatch.class), any(), any()))
+                .thenReturn(List.of(BigDecimal.valueOf(0.75), BigDecimal.valueOf(0.65)));
 
         // When
         RepositoryScorePage result = repositoryScoringService.scoreRepositories(searchRequest);
@@ -132,7 +140,7 @@ class RepositoryScoringServiceTest {
         assertThat(result.getContent().get(1).getName()).isEqualTo("spring-framework");
         assertThat(result.getContent().get(1).getScore()).isEqualTo(BigDecimal.valueOf(0.65));
 
-        verify(scoringService, times(2)).calculateScore(any(ScoringContext.class));
+        verify(scoringService).calculateScores(argThat(batch -> batch.getSize() == 2), any(), any());
     }
 
     @Test
@@ -156,25 +164,26 @@ class RepositoryScoringServiceTest {
         assertThat(result.getSize()).isEqualTo(10);
 
         verify(repositoriesSource).searchRepositories(searchRequest);
-        verify(scoringService, times(0)).calculateScore(any(ScoringContext.class));
+        verify(scoringService).calculateScores(argThat(batch -> batch.getSize() == 0), any(), any());
     }
 
     @Test
-    @DisplayName("Should create correct scoring context for repository")
-    void shouldCreateCorrectScoringContextForRepository() {
+    @DisplayName("Should create correct scoring batch for repository")
+    void shouldCreateCorrectScoringBatchForRepository() {
         // Given
         when(repositoriesSource.searchRepositories(searchRequest)).thenReturn(searchResponse);
-        when(scoringService.calculateScore(any(ScoringContext.class)))
-                .thenReturn(BigDecimal.valueOf(0.90));
+        when(scoringService.calculateScores(any(ScoringBatch.class), any(), any()))
+                .thenReturn(List.of(BigDecimal.valueOf(0.90)));
 
         // When
         repositoryScoringService.scoreRepositories(searchRequest);
 
         // Then
-        verify(scoringService).calculateScore(argThat(context -> 
-                context.getStars() == 78600 && 
-                context.getForks() == 41500
-        ));
+        verify(scoringService).calculateScores(argThat(batch ->
+                batch.getSize() == 1 &&
+                batch.getStars()[0] == 78600 &&
+                batch.getForks()[0] == 41500
+        ), any(), any());
     }
 
     @Test
@@ -201,9 +210,11 @@ class RepositoryScoringServiceTest {
         );
 
         when(repositoriesSource.searchRepositories(searchRequest)).thenReturn(mixedResponse);
-        when(scoringService.calculateScore(any(ScoringContext.class)))
-                .thenReturn(BigDecimal.valueOf(1.25))  // High score
-                .thenReturn(BigDecimal.valueOf(0.15)); // Low score
+        when(scoringService.calculateScores(any(ScoringBatch.class), any(), any()))
+                .thenReturn(List.of(
+                        BigDecimal.valueOf(1.25),  // High score
+                        BigDecimal.valueOf(0.15)   // Low score
+                ));
 
         // When
         RepositoryScorePage result = repositoryScoringService.scoreRepositories(searchRequest);
@@ -225,8 +236,8 @@ class RepositoryScoringServiceTest {
                 .build();
 
         when(repositoriesSource.searchRepositories(customRequest)).thenReturn(searchResponse);
-        when(scoringService.calculateScore(any(ScoringContext.class)))
-                .thenReturn(BigDecimal.valueOf(0.80));
+        when(scoringService.calculateScores(any(ScoringBatch.class), any(), any()))
+                .thenReturn(List.of(BigDecimal.valueOf(0.80)));
 
         // When
         RepositoryScorePage result = repositoryScoringService.scoreRepositories(customRequest);
@@ -253,8 +264,8 @@ class RepositoryScoringServiceTest {
         );
 
         when(repositoriesSource.searchRepositories(searchRequest)).thenReturn(zeroResponse);
-        when(scoringService.calculateScore(any(ScoringContext.class)))
-                .thenReturn(BigDecimal.ZERO);
+        when(scoringService.calculateScores(any(ScoringBatch.class), any(), any()))
+                .thenReturn(List.of(BigDecimal.ZERO));
 
         // When
         RepositoryScorePage result = repositoryScoringService.scoreRepositories(searchRequest);
@@ -263,10 +274,11 @@ class RepositoryScoringServiceTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getScore()).isEqualTo(BigDecimal.ZERO);
         
-        verify(scoringService).calculateScore(argThat(context -> 
-                context.getStars() == 0 && 
-                context.getForks() == 0
-        ));
+        verify(scoringService).calculateScores(argThat(batch ->
+                batch.getSize() == 1 &&
+                batch.getStars()[0] == 0 &&
+                batch.getForks()[0] == 0
+        ), any(), any());
     }
 
     @Test
@@ -286,8 +298,8 @@ class RepositoryScoringServiceTest {
         );
 
         when(repositoriesSource.searchRepositories(searchRequest)).thenReturn(largeResponse);
-        when(scoringService.calculateScore(any(ScoringContext.class)))
-                .thenReturn(BigDecimal.valueOf(2.50));
+        when(scoringService.calculateScores(any(ScoringBatch.class), any(), any()))
+                .thenReturn(List.of(BigDecimal.valueOf(2.50)));
 
         // When
         RepositoryScorePage result = repositoryScoringService.scoreRepositories(searchRequest);
@@ -296,9 +308,90 @@ class RepositoryScoringServiceTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getScore()).isEqualTo(BigDecimal.valueOf(2.50));
         
-        verify(scoringService).calculateScore(argThat(context -> 
-                context.getStars() == 1_000_000 && 
-                context.getForks() == 500_000
-        ));
+        verify(scoringService).calculateScores(argThat(batch ->
+                batch.getSize() == 1 &&
+                batch.getStars()[0] == 1_000_000 &&
+                batch.getForks()[0] == 500_000
+        ), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should score with the strategy resolved for the request")
+    void shouldScoreWithTheStrategyResolvedForTheRequest() {
+        // Given
+        var strategy = mock(ScoringStrategy.class);
+        var request = RepositorySearchRequest.builder()
+                .page(0)
+                .size(10)
+                .strategyVersion("v2")
+                .weightProfile("popularity")
+                .build();
+        when(scoringService.resolveStrategy("v2", "popularity")).thenReturn(strategy);
+        when(repositoriesSource.searchRepositories(request)).thenReturn(searchResponse);
+        when(scoringService.calculateScores(any(ScoringBatch.class), same(strategy), any()))
+                .thenReturn(List.of(BigDecimal.valueOf(0.42)));
+
+        // When
+        RepositoryScorePage result = repositoryScoringService.scoreRepositories(request);
+
+        // Then
+        assertThat(result.getContent().get(0).getScore()).isEqualTo(BigDecimal.valueOf(0.42));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown strategy before calling the repositories source")
+    void shouldRejectAnUnknownStrategyBeforeCallingTheRepositoriesSource() {
+        // Given
+        var request = RepositorySearchRequest.builder().strategyVersion("v9").build();
+        when(scoringService.resolveStrategy("v9", null))
+                .thenThrow(new IllegalArgumentException("Unknown scoring strategy version: v9"));
+
+        // When & Then
+        assertThatThrownBy(() -> repositoryScoringService.scoreRepositories(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown scoring strategy version: v9");
+        verify(repositoriesSource, never()).searchRepositories(any());
+    }
+
+    @Test
+    @DisplayName("Should delegate ranked requests to the ranking service")
+    void shouldDelegateRankedRequestsToTheRankingService() {
+        // Given
+        var strategy = mock(ScoringStrategy.class);
+        var request = RepositorySearchRequest.builder().page(0).size(10).ranked(true).build();
+        var rankedPage = RepositoryScorePage.builder().content(List.of()).build();
+        when(scoringService.resolveStrategy(null, null)).thenReturn(strategy);
+        when(repositoryRankingService.rankRepositories(request, strategy)).thenReturn(rankedPage);
+
+        // When
+        RepositoryScorePage result = repositoryScoringService.scoreRepositories(request);
+
+        // Then
+        assertThat(result).isSameAs(rankedPage);
+        verify(repositoriesSource, never()).searchRepositories(any());
+    }
+
+    @Test
+    @DisplayName("Should explain each returned repository only when requested")
+    void shouldExplainEachReturnedRepositoryOnlyWhenRequested() {
+        // Given
+        var strategy = mock(ScoringStrategy.class);
+        var explanation = new ScoreExplanation("v1", 0.42, List.of());
+        var explainRequest = searchRequest.toBuilder().explain(true).build();
+        when(scoringService.resolveStrategy(null, null)).thenReturn(strategy);
+        when(repositoriesSource.searchRepositories(any(RepositorySearchRequest.class))).thenReturn(searchResponse);
+        when(scoringService.calculateScores(any(ScoringBatch.class), same(strategy), any()))
+                .thenReturn(List.of(BigDecimal.valueOf(0.42)));
+        when(strategy.explain(argThat(context -> context.getStars() == sampleRepository.getStars()
+                && context.getDaysSinceUpdate() >= 0))).thenReturn(explanation);
+
+        // When
+        RepositoryScorePage explained = repositoryScoringService.scoreRepositories(explainRequest);
+        RepositoryScorePage plain = repositoryScoringService.scoreRepositories(searchRequest);
+
+        // Then
+        assertThat(explained.getContent().get(0).getExplanation()).isSameAs(explanation);
+        assertThat(plain.getContent().get(0).getExplanation()).isNull();
+        verify(strategy, times(1)).explain(any());
     }
 }
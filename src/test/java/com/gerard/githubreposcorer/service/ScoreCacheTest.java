@@ -0,0 +1,197 @@
+package com.gerard.githubreposcorer.service;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.domain.model.GitHubRepository;
+import com.gerard.githubreposcorer.scoring.ScoringStrategy;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import com.gerard.githubreposcorer.scoring.model.ScoringContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScoreCacheTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+    private ScoringProperties scoringProperties;
+    private CountingStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        scoringProperties = new ScoringProperties();
+        strategy = new CountingStrategy(1L);
+    }
+
+    @Test
+    @DisplayName("Should score only the repositories missing from the cache")
+    void shouldScoreOnlyTheRepositoriesMissingFromTheCache() {
+        // Given
+        var scoreCache = new ScoreCache(scoringProperties);
+        var meterRegistry = new SimpleMeterRegistry();
+        scoreCache.bindTo(meterRegistry);
+        scoreCache.calculateScores(List.of(repository("a/one", 10)), batch(10), strategy);
+
+        // When
+        var batch = batch(10, 20);
+        scoreCache.calculateScores(List.of(repository("a/one", 10), repository("a/two", 20)), batch, strategy);
+
+        // Then
+        assertThat(strategy.scoredBatchSizes).containsExactly(1, 1);
+        assertThat(batch.getScore(0)).isEqualTo(10.0);
+        assertThat(batch.getScore(1)).isEqualTo(20.0);
+        assertThat(scoreCache.estimatedSize()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should miss when metrics or weights change")
+    void shouldMissWhenMetricsOrWeightsChange() {
+        // Given
+        var scoreCache = new ScoreCache(scoringProperties);
+        scoreCache.calculateScores(List.of(repository("a/one", 10)), batch(10), strategy);
+
+        // When
+        scoreCache.calculateScores(List.of(repository("a/one", 11)), batch(11), strategy);
+        scoreCache.calculateScores(List.of(repository("a/one", 10)), batch(10), new CountingStrategy(2L, strategy));
+        scoreCache.calculateScores(List.of(repository("a/one", 10)), batch(10), strategy);
+
+        // Then
+        assertThat(strategy.scoredBatchSizes).containsExactly(1, 1, 1);
+    }
+
+    @Test
+    @DisplayName("Should always score repositories without a full name")
+    void shouldAlwaysScoreRepositoriesWithoutAFullName() {
+        // Given
+        var scoreCache = new ScoreCache(scoringProperties);
+
+        // When
+        scoreCache.calculateScores(List.of(repository(null, 10)), batch(10), strategy);
+        scoreCache.calculateScores(List.of(repository(null, 10)), batch(10), strategy);
+
+        // Then
+        assertThat(strategy.scoredBatchSizes).containsExactly(1, 1);
+        assertThat(scoreCache.estimatedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not cache scores of a failed batch")
+    void shouldNotCacheScoresOfAFailedBatch() {
+        // Given
+        var scoreCache = new ScoreCache(scoringProperties);
+        strategy.failing = true;
+
+        // When & Then
+        assertThatThrownBy(() -> scoreCache.calculateScores(List.of(repository("a/one", 10)), batch(10), strategy))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(scoreCache.estimatedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not cache pruned scores")
+    void shouldNotCachePrunedScores() {
+        // Given
+        var scoreCache = new ScoreCache(scoringProperties);
+        strategy.pruneBelow = 15;
+
+        // When
+        var batch = batch(10, 20);
+        scoreCache.calculateScores(List.of(repository("a/one", 10), repository("a/two", 20)), batch, strategy);
+
+        // Then
+        assertThat(batch.isPruned(0)).isTrue();
+        assertThat(batch.isPruned(1)).isFalse();
+        assertThat(scoreCache.estimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should score every repository when the cache is disabled")
+    void shouldScoreEveryRepositoryWhenTheCacheIsDisabled() {
+        // Given
+        scoringProperties.getCache().setEnabled(false);
+        var scoreCache = new ScoreCache(scoringProperties);
+
+        // When
+        scoreCache.calculateScores(List.of(repository("a/one", 10)), batch(10), strategy);
+        scoreCache.calculateScores(List.of(repository("a/one", 10)), batch(10), strategy);
+
+        // Then
+        assertThat(strategy.scoredBatchSizes).containsExactly(1, 1);
+        assertThat(scoreCache.estimatedSize()).isZero();
+    }
+
+    private static GitHubRepository repository(String fullName, int stars) {
+        return GitHubRepository.builder()
+                .fullName(fullName)
+                .stars(stars)
+                .updatedAt(UPDATED_AT)
+                .build();
+    }
+
+    private static ScoringBatch batch(int... stars) {
+        var batch = new ScoringBatch(stars.length);
+        for (int star : stars) {
+            batch.add(star, 0, 30);
+        }
+        return batch;
+    }
+
+    /**
+     * Scores each repository with its stars and records the size of every scored batch
+     */
+    private static class CountingStrategy implements ScoringStrategy {
+
+        private final long weightsFingerprint;
+        private final List<Integer> scoredBatchSizes;
+        private boolean failing;
+        private int pruneBelow = Integer.MIN_VALUE;
+
+        CountingStrategy(long weightsFingerprint) {
+            this.weightsFingerprint = weightsFingerprint;
+            this.scoredBatchSizes = new ArrayList<>();
+        }
+
+        CountingStrategy(long weightsFingerprint, CountingStrategy shared) {
+            this.weightsFingerprint = weightsFingerprint;
+            this.scoredBatchSizes = shared.scoredBatchSizes;
+        }
+
+        @Override
+        public double calculateScore(ScoringContext context) {
+            return context.getStars();
+        }
+
+        @Override
+        public void calculateScores(ScoringBatch batch) {
+            if (failing) {
+                throw new IllegalStateException("Scoring failed");
+            }
+            scoredBatchSizes.add(batch.getSize());
+            ScoringStrategy.super.calculateScores(batch);
+            for (int i = 0; i < batch.getSize(); i++) {
+                if (batch.getStars()[i] < pruneBelow) {
+                    batch.markPruned(i);
+                }
+            }
+        }
+
+        @Override
+        public long getWeightsFingerprint() {
+            return weightsFingerprint;
+        }
+
+        @Override
+        public String getVersion() {
+            return "test";
+        }
+    }
+}
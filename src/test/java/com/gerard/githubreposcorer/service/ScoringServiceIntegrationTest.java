@@ -1,6 +1,7 @@
 package com.gerard.githubreposcorer.service;
 
 import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
 import com.gerard.githubreposcorer.scoring.model.ScoringContext;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -70,6 +72,23 @@ class ScoringServiceIntegrationTest {
         assertThat(actualScore).isEqualTo(BigDecimal.valueOf(expectedScore));
     }
 
+    @Test
+    @DisplayName("Should calculate batch scores for top repositories")
+    void shouldCalculateBatchScoresForTopRepositories() {
+        // Given
+        List<Object[]> repositories = repos().map(Arguments::get).toList();
+        ScoringBatch batch = new ScoringBatch(repositories.size());
+        repositories.forEach(repository -> batch.add((int) repository[1], (int) repository[2], (int) repository[3]));
+
+        // When
+        List<BigDecimal> actualScores = scoringService.calculateScores(batch);
+
+        // Then
+        assertThat(actualScores).containsExactlyElementsOf(repositories.stream()
+                .map(repository -> BigDecimal.valueOf((double) repository[4]))
+                .toList());
+    }
+
     @Test
     @DisplayName("Should handle zero values correctly")
     void shouldHandleZeroValuesCorrectly() {
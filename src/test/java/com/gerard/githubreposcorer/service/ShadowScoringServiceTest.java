@@ -0,0 +1,178 @@
+package com.gerard.githubreposcorer.service;
+
+import com.gerard.githubreposcorer.config.ScoringProperties;
+import com.gerard.githubreposcorer.scoring.ScoringStrategy;
+import com.gerard.githubreposcorer.scoring.ScoringStrategyFactory;
+import com.gerard.githubreposcorer.scoring.model.ScoringBatch;
+import com.gerard.githubreposcorer.scoring.model.ScoringContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Offset.offset;
+
+class ShadowScoringServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ScoringProperties scoringProperties;
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        scoringProperties = new ScoringProperties();
+        scoringProperties.getStrategy().getFormulas().put("candidate", "stars + forks");
+        scoringProperties.getShadow().setVersion("candidate");
+        scoringProperties.getShadow().setSampleRate(1.0);
+        executorService = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should record rank correlation and latency of the candidate strategy")
+    void shouldRecordRankCorrelationAndLatencyOfTheCandidateStrategy() throws InterruptedException {
+        // Given
+        var shadowScoringService = shadowScoringService();
+        var batch = new ScoringBatch(new int[]{10, 20, 30}, new int[]{1, 2, 3}, new int[]{0, 0, 0});
+        System.arraycopy(new double[]{0.1, 0.2, 0.3}, 0, batch.getScores(), 0, 3);
+
+        // When
+        shadowScoringService.submit(batch, primary(0, new ArrayList<>()));
+        executorService.shutdown();
+        executorService.awaitTermination(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(meterRegistry.get("scoring.shadow.rank.correlation").summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("scoring.shadow.rank.correlation").summary().totalAmount()).isCloseTo(1.0, offset(1e-12));
+        assertThat(meterRegistry.get("scoring.shadow.latency").tag("role", "candidate").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("scoring.shadow.latency").tag("role", "primary").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("scoring.shadow.executions").tag("outcome", "completed").counter().count()).isEqualTo(1);
+        assertThat(batch.getScores()).containsExactly(0.1, 0.2, 0.3);
+    }
+
+    @Test
+    @DisplayName("Should time both strategies on the same unscored inputs rather than the request scoring")
+    void shouldTimeBothStrategiesOnTheSameUnscoredInputsRatherThanTheRequestScoring() throws InterruptedException {
+        // Given - scores already taken from the score cache, the primary strategy costing 50 ms a batch
+        var shadowScoringService = shadowScoringService();
+        var batch = new ScoringBatch(new int[]{10, 20, 30}, new int[]{1, 2, 3}, new int[]{0, 0, 0});
+        System.arraycopy(new double[]{0.1, 0.2, 0.3}, 0, batch.getScores(), 0, 3);
+        List<ScoringBatch> primaryBatches = new ArrayList<>();
+
+        // When
+        shadowScoringService.submit(batch, primary(50, primaryBatches));
+        executorService.shutdown();
+        executorService.awaitTermination(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(primaryBatches).singleElement().satisfies(primaryBatch -> {
+            assertThat(primaryBatch).isNotSameAs(batch);
+            assertThat(primaryBatch.getStars()).containsExactly(10, 20, 30);
+        });
+        assertThat(meterRegistry.get("scoring.shadow.latency").tag("role", "primary").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+        // The candidate formula takes microseconds against the 50 ms of the primary strategy
+        assertThat(meterRegistry.get("scoring.shadow.latency.ratio").summary().max()).isLessThan(1.0);
+    }
+
+    @Test
+    @DisplayName("Should drop shadow work when the executor is saturated")
+    void shouldDropShadowWorkWhenTheExecutorIsSaturated() {
+        // Given
+        var shadowScoringService = shadowScoringService();
+        var release = new CountDownLatch(1);
+        executorService.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        var batch = new ScoringBatch(new int[]{1, 2}, new int[]{1, 2}, new int[]{0, 0});
+
+        // When
+        shadowScoringService.submit(batch, primary(0, new ArrayList<>()));
+        release.countDown();
+
+        // Then
+        assertThat(meterRegistry.get("scoring.shadow.executions").tag("outcome", "dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("scoring.shadow.executions").tag("outcome", "completed").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not sample when no shadow version is configured")
+    void shouldNotSampleWhenNoShadowVersionIsConfigured() {
+        // Given
+        scoringProperties.getShadow().setVersion(null);
+        var shadowScoringService = shadowScoringService();
+
+        // When
+        shadowScoringService.submit(new ScoringBatch(new int[]{1}, new int[]{1}, new int[]{1}), primary(0, new ArrayList<>()));
+
+        // Then
+        assertThat(shadowScoringService.isEnabled()).isFalse();
+        assertThat(((ThreadPoolExecutor) executorService).getTaskCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fail fast on an unknown shadow version")
+    void shouldFailFastOnAnUnknownShadowVersion() {
+        // Given
+        scoringProperties.getShadow().setVersion("v9");
+
+        // When & Then
+        assertThatThrownBy(this::shadowScoringService)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("No scoring strategy found for shadow version: v9");
+    }
+
+    /**
+     * Primary strategy scoring repositories by stars, recording the batches it scores, their scores still unset
+     */
+    private static ScoringStrategy primary(long sleepMillis, List<ScoringBatch> scoredBatches) {
+        return new ScoringStrategy() {
+            @Override
+            public void calculateScores(ScoringBatch batch) {
+                assertThat(batch.getScores()).containsOnly(0.0);
+                scoredBatches.add(batch);
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                ScoringStrategy.super.calculateScores(batch);
+            }
+
+            @Override
+            public double calculateScore(ScoringContext context) {
+                return context.getStars();
+            }
+
+            @Override
+            public String getVersion() {
+                return "v1";
+            }
+        };
+    }
+
+    private ShadowScoringService shadowScoringService() {
+        var factory = new ScoringStrategyFactory(scoringProperties, List.of());
+        return new ShadowScoringService(scoringProperties, factory, executorService, meterRegistry);
+    }
+}
@@ -0,0 +1,73 @@
+package com.gerard.githubreposcorer.service;
+
+import com.gerard.githubreposcorer.domain.model.GitHubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKRankingTest {
+
+    @Test
+    @DisplayName("Should keep only the best scored repositories, best first")
+    void shouldKeepOnlyTheBestScoredRepositoriesBestFirst() {
+        // Given
+        var ranking = new TopKRanking(3);
+
+        // When
+        double[] scores = {0.4, 0.9, 0.1, 0.7, 0.5, 0.2};
+        for (int i = 0; i < scores.length; i++) {
+            ranking.offer(repository("org/repo-" + i, 10), BigDecimal.valueOf(scores[i]));
+        }
+
+        // Then
+        assertThat(ranking.size()).isEqualTo(3);
+        assertThat(ranking.toSortedList())
+                .extracting(ranked -> ranked.repository().getFullName())
+                .containsExactly("org/repo-1", "org/repo-3", "org/repo-4");
+    }
+
+    @Test
+    @DisplayName("Should break score ties by stars and ignore repositories already ranked")
+    void shouldBreakScoreTiesByStarsAndIgnoreRepositoriesAlreadyRanked() {
+        // Given
+        var ranking = new TopKRanking(2);
+
+        // When
+        ranking.offer(repository("org/few-stars", 10), BigDecimal.valueOf(0.5));
+        ranking.offer(repository("org/many-stars", 1000), BigDecimal.valueOf(0.5));
+        ranking.offer(repository("org/many-stars", 1000), BigDecimal.valueOf(0.5));
+        ranking.offer(repository("org/some-stars", 100), BigDecimal.valueOf(0.5));
+
+        // Then
+        assertThat(ranking.toSortedList())
+                .extracting(ranked -> ranked.repository().getFullName())
+                .containsExactly("org/many-stars", "org/some-stars");
+    }
+
+    @Test
+    @DisplayName("Should expose a score threshold once the ranking is full")
+    void shouldExposeAScoreThresholdOnceTheRankingIsFull() {
+        // Given
+        var ranking = new TopKRanking(2);
+
+        // When
+        ranking.offer(repository("org/first", 10), BigDecimal.valueOf(0.70));
+        double thresholdWhileFilling = ranking.getScoreThreshold();
+        ranking.offer(repository("org/second", 10), BigDecimal.valueOf(0.40));
+
+        // Then
+        assertThat(thresholdWhileFilling).isEqualTo(Double.NEGATIVE_INFINITY);
+        // A raw score of 0.395 still rounds to the worst ranked 0.40
+        assertThat(ranking.getScoreThreshold()).isLessThan(0.395).isGreaterThan(0.39);
+    }
+
+    private static GitHubRepository repository(String fullName, int stars) {
+        return GitHubRepository.builder()
+                .fullName(fullName)
+                .stars(stars)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.gerard.githubreposcorer.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Timing harness of the opt-in benchmarks, run with {@code -Dscoring.benchmarks=true}
+ */
+@Slf4j
+public class Benchmarks {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Runs the task {@code warmupRuns} times, then measures {@code runs} more runs
+     *
+     * @param warmupRuns The runs letting the JIT compile the task, not measured
+     * @param runs       The measured runs
+     * @param task       The task to measure
+     * @return The time and the bytes allocated by the calling thread over the measured runs
+     */
+    public static Measurement measure(int warmupRuns, int runs, Task task) throws Exception {
+        for (int i = 0; i < warmupRuns; i++) {
+            task.run();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long bytesBefore = THREAD_BEAN.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            task.run();
+        }
+        long nanos = System.nanoTime() - start;
+        return new Measurement(runs, nanos, THREAD_BEAN.getThreadAllocatedBytes(threadId) - bytesBefore);
+    }
+
+    /**
+     * @return Whether the JVM measures the bytes allocated by each thread
+     */
+    public static boolean isAllocationMeasured() {
+        return THREAD_BEAN.isThreadAllocatedMemorySupported() && THREAD_BEAN.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Logs a benchmark result
+     *
+     * @param format    The SLF4J message format
+     * @param arguments The message arguments
+     */
+    public static void report(String format, Object... arguments) {
+        log.info(format, arguments);
+    }
+
+    @FunctionalInterface
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    /**
+     * Time and allocations of the measured runs of a task
+     *
+     * @param runs           The measured runs
+     * @param nanos          The time of all runs
+     * @param allocatedBytes The bytes allocated by the calling thread over all runs
+     */
+    public record Measurement(int runs, long nanos, long allocatedBytes) {
+
+        public double nanosPerRun() {
+            return (double) nanos / runs;
+        }
+
+        public long allocatedBytesPerRun() {
+            return allocatedBytes / runs;
+        }
+
+        public double runsPerSecond() {
+            return runs / (nanos / 1e9);
+        }
+    }
+}
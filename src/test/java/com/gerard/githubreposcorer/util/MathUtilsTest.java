@@ -4,9 +4,8 @@ import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
-
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.data.Offset.offset;
 
 class MathUtilsTest {
@@ -18,7 +17,7 @@ class MathUtilsTest {
         var result = MathUtils.freshnessFromDays(0, 90);
 
         // Then
-        assertThat(result).isCloseTo(BigDecimal.ONE, offset(BigDecimal.valueOf(0.0001)));
+        assertThat(result).isCloseTo(1.0, offset(0.0001));
     }
 
     @Test
@@ -28,7 +27,7 @@ class MathUtilsTest {
         var result = MathUtils.freshnessFromDays(90, 90);
 
         // Then
-        assertThat(result).isCloseTo(BigDecimal.valueOf(0.5), Offset.offset(BigDecimal.valueOf(0.01)));
+        assertThat(result).isCloseTo(0.5, Offset.offset(0.01));
     }
 
     @Test
@@ -38,7 +37,7 @@ class MathUtilsTest {
         var result = MathUtils.freshnessFromDays(365, 90);
 
         // Then
-        assertThat(result).isLessThan(BigDecimal.valueOf(0.1));
+        assertThat(result).isLessThan(0.1);
     }
 
     @Test
@@ -48,7 +47,7 @@ class MathUtilsTest {
         var result = MathUtils.freshnessFromDays(-10, 90);
 
         // Then
-        assertThat(result).isCloseTo(BigDecimal.ONE, offset(BigDecimal.valueOf(0.0001)));
+        assertThat(result).isCloseTo(1.0, offset(0.0001));
     }
 
     @Test
@@ -59,7 +58,7 @@ class MathUtilsTest {
 
         // Then
         // With zero half-life, it should return a very small value, not 1
-        assertThat(result).isLessThan(BigDecimal.valueOf(0.1));
+        assertThat(result).isLessThan(0.1);
     }
 
     @Test
@@ -72,7 +71,79 @@ class MathUtilsTest {
         var result2 = MathUtils.freshnessFromDays(60, 30);
 
         // Then
-        assertThat(result1).isCloseTo(BigDecimal.valueOf(0.707), offset(BigDecimal.valueOf(0.01)));
-        assertThat(result2).isCloseTo(BigDecimal.valueOf(0.25), offset(BigDecimal.valueOf(0.01)));
+        assertThat(result1).isCloseTo(0.707, offset(0.01));
+        assertThat(result2).isCloseTo(0.25, offset(0.01));
+    }
+
+    @Test
+    @DisplayName("Should calculate normalized log relative to cap")
+    void shouldCalculateNormalizedLogRelativeToCap() {
+        // When
+        var atCap = MathUtils.normLog(10000, 10000);
+        var belowCap = MathUtils.normLog(10, 10000);
+
+        // Then
+        assertThat(atCap).isCloseTo(1.0, offset(0.0001));
+        assertThat(belowCap).isCloseTo(0.26, offset(0.01));
+    }
+
+    @Test
+    @DisplayName("Should return zero normalized log for non-positive cap")
+    void shouldReturnZeroNormalizedLogForNonPositiveCap() {
+        // When
+        var result = MathUtils.normLog(1000, 0);
+
+        // Then
+        assertThat(result).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject negative values in normalized log")
+    void shouldRejectNegativeValuesInNormalizedLog() {
+        // When & Then
+        assertThatThrownBy(() -> MathUtils.normLog(-100, 10000))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("-100");
+    }
+
+    @Test
+    @DisplayName("Should calculate rank correlation of 1.0 for the same ordering")
+    void shouldCalculateRankCorrelationOfOneForTheSameOrdering() {
+        // When
+        var result = MathUtils.spearman(new double[]{0.1, 0.5, 0.9, 0.3}, new double[]{1, 50, 900, 4});
+
+        // Then
+        assertThat(result).isCloseTo(1.0, offset(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should calculate rank correlation of -1.0 for the reversed ordering")
+    void shouldCalculateRankCorrelationOfMinusOneForTheReversedOrdering() {
+        // When
+        var result = MathUtils.spearman(new double[]{1, 2, 3, 4}, new double[]{40, 30, 20, 10});
+
+        // Then
+        assertThat(result).isCloseTo(-1.0, offset(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should give tied values their average rank")
+    void shouldGiveTiedValuesTheirAverageRank() {
+        // When
+        var result = MathUtils.spearman(new double[]{1, 2, 2, 3}, new double[]{1, 2, 3, 4});
+
+        // Then
+        // Ranks 1, 2.5, 2.5, 4 against 1, 2, 3, 4
+        assertThat(result).isCloseTo(4.5 / Math.sqrt(4.5 * 5.0), offset(1e-12));
+    }
+
+    @Test
+    @DisplayName("Should return NaN rank correlation for fewer than two values")
+    void shouldReturnNanRankCorrelationForFewerThanTwoValues() {
+        // When
+        var result = MathUtils.spearman(new double[]{1}, new double[]{2});
+
+        // Then
+        assertThat(result).isNaN();
     }
 }
@@ -3,6 +3,8 @@ package com.gerard.githubreposcorer.web.controller;
 import com.gerard.githubreposcorer.api.model.RepositoryScore;
 import com.gerard.githubreposcorer.api.model.RepositoryScorePage;
 import com.gerard.githubreposcorer.domain.model.RepositorySearchRequest;
+import com.gerard.githubreposcorer.scoring.model.RuleContribution;
+import com.gerard.githubreposcorer.scoring.model.ScoreExplanation;
 import com.gerard.githubreposcorer.service.RepositoryScoringService;
 import com.gerard.githubreposcorer.web.mapper.RepositoryScoringMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,8 +19,10 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -114,6 +118,69 @@ class RepositoryScoringControllerTest {
                 .andExpect(jsonPath("$.totalPages").value(1));
     }
 
+    @Test
+    @DisplayName("Should pass the requested strategy version and weight profile to the service")
+    void shouldPassTheRequestedStrategyVersionAndWeightProfileToTheService() throws Exception {
+        // Given
+        when(repositoryScoringService.scoreRepositories(argThat(request ->
+                "v1".equals(request.getStrategyVersion()) && "popularity".equals(request.getWeightProfile()))))
+                .thenReturn(mockDomainPage);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/repositories/scores")
+                        .param("strategyVersion", "v1")
+                        .param("weightProfile", "popularity")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return the rule breakdown of each repository when explain is requested")
+    void shouldReturnTheRuleBreakdownOfEachRepositoryWhenExplainIsRequested() throws Exception {
+        // Given
+        var explanation = new ScoreExplanation("v1", 0.3375, List.of(
+                RuleContribution.success("StarsScoringRule", 0.75, 0.45, Map.of("stars", 1000.0, "cap", 10000.0))));
+        var domainPage = com.gerard.githubreposcorer.domain.model.RepositoryScorePage.builder()
+                .content(List.of(com.gerard.githubreposcorer.domain.model.RepositoryScore.builder()
+                        .name("spring-boot")
+                        .url("https://github.com/spring-projects/spring-boot")
+                        .score(BigDecimal.valueOf(0.34))
+                        .explanation(explanation)
+                        .build()))
+                .page(0)
+                .size(20)
+                .totalElements(1)
+                .totalPages(1)
+                .build();
+        when(repositoryScoringService.scoreRepositories(argThat(RepositorySearchRequest::isExplain)))
+                .thenReturn(domainPage);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/repositories/scores")
+                        .param("explain", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].explanation.strategyVersion").value("v1"))
+                .andExpect(jsonPath("$.content[0].explanation.rules[0].rule").value("StarsScoringRule"))
+                .andExpect(jsonPath("$.content[0].explanation.rules[0].weightedScore").value(0.3375))
+                .andExpect(jsonPath("$.content[0].explanation.rules[0].inputs.cap").value(10000.0));
+    }
+
+    @Test
+    @DisplayName("Should return bad request for an unknown strategy version")
+    void shouldReturnBadRequestForAnUnknownStrategyVersion() throws Exception {
+        // Given
+        when(repositoryScoringService.scoreRepositories(any(RepositorySearchRequest.class)))
+                .thenThrow(new IllegalArgumentException("Unknown scoring strategy version: v9"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/repositories/scores")
+                        .param("strategyVersion", "v9")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should return empty page when no repositories found")
     void shouldReturnEmptyPageWhenNoRepositoriesFound() throws Exception {